@@ -0,0 +1,138 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.benchmark;
+
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Speed;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tec.uom.se.AbstractConverter;
+import tec.uom.se.ConverterCache;
+
+/**
+ * Benchmarks {@link javax.measure.Unit#getConverterTo(Unit)}, with and without the {@link ConverterCache} and from several threads, and the
+ * conversion of single values and arrays.
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+  @Param({ "1024" })
+  public int size;
+
+  @Param({ "0", "512" })
+  public int cacheSize;
+
+  private final Unit<Length> kilometre = KILO(METRE);
+  private final Unit<Length> centimetre = CENTI(METRE);
+  private final Unit<Speed> kilometrePerHour = KILO(METRE).divide(HOUR).asType(Speed.class);
+  private final Unit<Speed> metrePerSecond = METRES_PER_SECOND;
+
+  private AbstractConverter converter;
+  private double[] values;
+  private double[] results;
+
+  @Setup
+  public void setUp() {
+    ConverterCache.getInstance().setMaximumSize(cacheSize);
+    converter = (AbstractConverter) kilometrePerHour.getConverterTo(metrePerSecond);
+    values = new double[size];
+    results = new double[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = i * 0.5;
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    ConverterCache.getInstance().setMaximumSize(ConverterCache.DEFAULT_SIZE);
+  }
+
+  @Benchmark
+  public UnitConverter getConverterToPrefixed() {
+    return kilometre.getConverterTo(centimetre);
+  }
+
+  @Benchmark
+  public UnitConverter getConverterToProduct() {
+    return kilometrePerHour.getConverterTo(metrePerSecond);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public UnitConverter getConverterToProductContended() {
+    return kilometrePerHour.getConverterTo(metrePerSecond);
+  }
+
+  @Benchmark
+  public double convertDouble() {
+    return converter.convert(12.5d);
+  }
+
+  @Benchmark
+  public double[] convertArrayLoop() {
+    for (int i = 0; i < size; i++) {
+      results[i] = converter.convert(values[i]);
+    }
+    return results;
+  }
+
+  @Benchmark
+  public double[] convertArrayBulk() {
+    return converter.convert(values, results);
+  }
+}
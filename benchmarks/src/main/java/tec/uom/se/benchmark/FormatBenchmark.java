@@ -0,0 +1,209 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.format.UnitFormat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tec.uom.se.format.EBNFUnitFormat;
+import tec.uom.se.format.LocalUnitFormat;
+import tec.uom.se.format.QuantityBatchParser;
+import tec.uom.se.format.QuantityColumns;
+import tec.uom.se.format.QuantityFormat;
+import tec.uom.se.format.QuantityReader;
+import tec.uom.se.format.SimpleUnitFormat;
+import tec.uom.se.format.SymbolMap;
+import tec.uom.se.internal.format.TokenException;
+import tec.uom.se.internal.format.UnitExpressionParser;
+import tec.uom.se.internal.format.UnitFormatParser;
+
+/**
+ * Benchmarks unit and quantity parsing and formatting.
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+  private static final String PRODUCT_UNIT = "kg·m/s²";
+
+  private static final String EBNF_UNIT = "kg*m/s^2";
+
+  private final SimpleUnitFormat simpleFormat = SimpleUnitFormat.getInstance();
+  private final UnitFormat ebnfFormat = EBNFUnitFormat.getInstance();
+  private final UnitFormat localFormat = LocalUnitFormat.getInstance();
+  private final QuantityFormat quantityFormat = QuantityFormat.getInstance();
+
+  private final Unit<?> productUnit = ((UnitFormat) simpleFormat).parse(PRODUCT_UNIT);
+  private final Unit<?> singleUnit = ((UnitFormat) simpleFormat).parse("kW");
+
+  private final QuantityReader quantityReader = QuantityReader.of();
+  private final ByteBuffer quantityBytes = ByteBuffer.wrap("12.5 km".getBytes(StandardCharsets.UTF_8));
+
+  private static final int ROWS = 1000;
+  private final String[] rows = new String[ROWS];
+  private String csv;
+  private final QuantityBatchParser batchParser = QuantityBatchParser.of();
+
+  private final SymbolMap symbols = SymbolMap.of(ResourceBundle.getBundle("tec.uom.se.internal.format.messages"));
+  private final UnitExpressionParser expressionParser = new UnitExpressionParser(symbols);
+  @SuppressWarnings("deprecation")
+  private final UnitFormatParser javaccParser = new UnitFormatParser(symbols);
+
+  // 0 disables the parse caches.
+  @Param({ "0", "256" })
+  public int parseCacheSize;
+
+  @Setup
+  public void setUp() {
+    String[] units = { "kPa", "m", "km/h", "s" };
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < ROWS; i++) {
+      rows[i] = (i * 0.25) + " " + units[i % units.length];
+      text.append(rows[i]).append('\n');
+    }
+    csv = text.toString();
+    simpleFormat.getParseCache().setMaximumSize(parseCacheSize);
+    ((EBNFUnitFormat) ebnfFormat).getParseCache().setMaximumSize(parseCacheSize);
+  }
+
+  @TearDown
+  public void tearDown() {
+    simpleFormat.getParseCache().setMaximumSize(0);
+    ((EBNFUnitFormat) ebnfFormat).getParseCache().setMaximumSize(0);
+  }
+
+  @Benchmark
+  public Unit<?> simpleParse() {
+    return ((UnitFormat) simpleFormat).parse(PRODUCT_UNIT);
+  }
+
+  @Benchmark
+  public Unit<?> simpleParseProductUnit() {
+    return simpleFormat.parseProductUnit(PRODUCT_UNIT, new ParsePosition(0));
+  }
+
+  @Benchmark
+  public Unit<?> simpleParseSingleUnit() {
+    return simpleFormat.parseSingleUnit("km", new ParsePosition(0));
+  }
+
+  @Benchmark
+  public String simpleFormat() {
+    return simpleFormat.format(productUnit);
+  }
+
+  @Benchmark
+  public Quantity<?> quantityParse() {
+    return quantityFormat.parse("12.5 km");
+  }
+
+  @Benchmark
+  public Unit<?> ebnfParse() {
+    return ebnfFormat.parse(EBNF_UNIT);
+  }
+
+  @Benchmark
+  public Unit<?> expressionParser() {
+    return expressionParser.parse(EBNF_UNIT, new ParsePosition(0));
+  }
+
+  @Benchmark
+  @SuppressWarnings("deprecation")
+  public Unit<?> javaccParser() throws TokenException {
+    return javaccParser.parseUnit(EBNF_UNIT, 0, EBNF_UNIT.length());
+  }
+
+  @Benchmark
+  public double quantityReadBytes() {
+    quantityBytes.rewind();
+    quantityReader.read(quantityBytes);
+    return quantityReader.getValue();
+  }
+
+  @Benchmark
+  public Quantity<?> quantityParseBytes() {
+    quantityBytes.rewind();
+    return quantityReader.parse(quantityBytes);
+  }
+
+  @Benchmark
+  public double quantityParseRows() {
+    double sum = 0;
+    for (String row : rows) {
+      sum += quantityFormat.parse(row).getValue().doubleValue();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public QuantityColumns batchParseRows() throws IOException {
+    return batchParser.parse(new StringReader(csv));
+  }
+
+  @Benchmark
+  public Unit<?> ebnfRoundTrip() {
+    return ebnfFormat.parse(ebnfFormat.format(productUnit));
+  }
+
+  // LocalUnitFormatParser does not support parsing yet, only the formatting half of the round-trip is measured.
+  @Benchmark
+  public String localFormat() {
+    return localFormat.format(singleUnit);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.benchmark;
+
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.quantity.Length;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tec.uom.se.quantity.MutableDoubleQuantity;
+import tec.uom.se.quantity.Quantities;
+
+/**
+ * Benchmarks quantity arithmetic (<code>DoubleQuantity</code>, {@link MutableDoubleQuantity}) and {@link tec.uom.se.unit.ProductUnit} algebra.
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuantityBenchmark {
+
+  private final Quantity<Length> metres = Quantities.getQuantity(12.5d, METRE);
+  private final Quantity<Length> moreMetres = Quantities.getQuantity(7.25d, METRE);
+  private final Quantity<Length> kilometres = Quantities.getQuantity(0.5d, KILO(METRE));
+  private final Quantity<Length> counted = Quantities.getQuantity(12L, METRE);
+  private final Quantity<Length> moreCounted = Quantities.getQuantity(7L, METRE);
+
+  private final Unit<?> newton = KILOGRAM.multiply(METRE).divide(SECOND.pow(2));
+  private final Unit<?> hour = HOUR;
+
+  @Benchmark
+  public Quantity<Length> addSameUnit() {
+    return metres.add(moreMetres);
+  }
+
+  @Benchmark
+  public Quantity<Length> addOtherUnit() {
+    return metres.add(kilometres);
+  }
+
+  @Benchmark
+  public Quantity<Length> accumulateImmutable() {
+    Quantity<Length> sum = metres;
+    for (int i = 0; i < 100; i++) {
+      sum = sum.add(kilometres);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public Quantity<Length> accumulateMutable() {
+    MutableDoubleQuantity<Length> sum = MutableDoubleQuantity.of(metres);
+    for (int i = 0; i < 100; i++) {
+      sum.addAssign(kilometres);
+    }
+    return sum.freeze();
+  }
+
+  @Benchmark
+  public Quantity<Length> addLong() {
+    return counted.add(moreCounted);
+  }
+
+  @Benchmark
+  public Quantity<?> multiply() {
+    return metres.multiply(moreMetres);
+  }
+
+  @Benchmark
+  public Quantity<Length> to() {
+    return kilometres.to(METRE);
+  }
+
+  @Benchmark
+  public Unit<?> productUnitMultiply() {
+    return newton.multiply(METRE);
+  }
+
+  @Benchmark
+  public Unit<?> productUnitDivide() {
+    return newton.divide(hour);
+  }
+
+  @Benchmark
+  public Unit<?> productUnitBuild() {
+    return KILOGRAM.multiply(METRE).divide(SECOND.pow(2));
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.benchmark;
+
+import static tec.uom.se.unit.Units.*;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.measure.Unit;
+import javax.measure.quantity.Length;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tec.uom.se.internal.quantity.OldProxyQuantityFactory;
+
+/**
+ * Benchmarks the typed quantities of the quantity factories: reflective proxies against the pre-built classes of
+ * {@link tec.uom.se.internal.quantity.TypedQuantities}.
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ */
+@SuppressWarnings("deprecation")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuantityFactoryBenchmark {
+
+  private final OldProxyQuantityFactory<Length> proxyFactory = OldProxyQuantityFactory.getProxyInstance(Length.class);
+  private final OldProxyQuantityFactory<Length> typedFactory = OldProxyQuantityFactory.getInstance(Length.class);
+
+  private final Length proxy = proxyFactory.create(12.5d, METRE);
+  private final Length typed = typedFactory.create(12.5d, METRE);
+
+  @Benchmark
+  public Length createProxy() {
+    return proxyFactory.create(12.5d, METRE);
+  }
+
+  @Benchmark
+  public Length createTyped() {
+    return typedFactory.create(12.5d, METRE);
+  }
+
+  @Benchmark
+  public double readProxy() {
+    Unit<Length> unit = proxy.getUnit();
+    return proxy.getValue().doubleValue() + unit.hashCode();
+  }
+
+  @Benchmark
+  public double readTyped() {
+    Unit<Length> unit = typed.getUnit();
+    return typed.getValue().doubleValue() + unit.hashCode();
+  }
+}
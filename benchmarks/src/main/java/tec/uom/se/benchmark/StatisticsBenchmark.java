@@ -0,0 +1,157 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.benchmark;
+
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.quantity.Length;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tec.uom.se.function.QuantityFunctions;
+import tec.uom.se.function.QuantitySummaryStatistics;
+import tec.uom.se.function.Summation;
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.quantity.QuantityArray;
+
+/**
+ * Benchmarks the {@link QuantityFunctions} collectors and reducers.
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsBenchmark {
+
+  @Param({ "10000" })
+  public int size;
+
+  private List<Quantity<Length>> quantities;
+
+  private QuantityArray<Length> column;
+
+  @SuppressWarnings("unchecked")
+  @Setup
+  public void setUp() {
+    Unit<Length>[] units = new Unit[] { METRE, KILO(METRE), CENTI(METRE) };
+    quantities = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      quantities.add(Quantities.getQuantity(i * 0.25d, units[i % units.length]));
+    }
+    column = QuantityArray.of(quantities, KILO(METRE));
+  }
+
+  @Benchmark
+  public QuantitySummaryStatistics<Length> summarize() {
+    return quantities.stream().collect(QuantityFunctions.summarizeQuantity(METRE));
+  }
+
+  @Benchmark
+  public QuantitySummaryStatistics<Length> summarizePrimitive() {
+    return quantities.stream().collect(QuantityFunctions.summarizeQuantity(METRE, Summation.NAIVE));
+  }
+
+  @Benchmark
+  public QuantitySummaryStatistics<Length> summarizeParallel() {
+    return quantities.parallelStream().collect(QuantityFunctions.summarizeQuantity(METRE));
+  }
+
+  @Benchmark
+  public QuantitySummaryStatistics<Length> summarizeSpliteratorParallel() {
+    return column.doubleSpliterator().to(METRE).summaryStatistics(true);
+  }
+
+  @Benchmark
+  public long filterBetween() {
+    return quantities.stream().filter(QuantityFunctions.isBetween(Quantities.getQuantity(10, METRE), Quantities.getQuantity(1, KILO(METRE))))
+        .count();
+  }
+
+  @Benchmark
+  public List<Quantity<Length>> sortNatural() {
+    List<Quantity<Length>> sorted = new ArrayList<>(quantities);
+    sorted.sort(QuantityFunctions.sortNatural());
+    return sorted;
+  }
+
+  @Benchmark
+  public Quantity<Length> reduceSum() {
+    return quantities.stream().reduce(QuantityFunctions.sum(METRE)).get();
+  }
+
+  @Benchmark
+  public Quantity<Length> summingCompensated() {
+    return quantities.stream().collect(QuantityFunctions.summing(METRE, Summation.COMPENSATED));
+  }
+
+  @Benchmark
+  public Quantity<Length> summingExact() {
+    return quantities.stream().collect(QuantityFunctions.summing(METRE, Summation.EXACT));
+  }
+
+  @Benchmark
+  public Quantity<Length> quantileParallel() {
+    return quantities.parallelStream().collect(QuantityFunctions.quantile(METRE, 0.99));
+  }
+
+  @Benchmark
+  public Map<Unit<Length>, List<Quantity<Length>>> groupByUnit() {
+    return quantities.stream().collect(Collectors.groupingBy(QuantityFunctions.groupByUnit()));
+  }
+
+  @Benchmark
+  public Map<Unit<Length>, QuantityArray<Length>> groupingByUnit() {
+    return quantities.stream().collect(QuantityFunctions.groupingByUnit());
+  }
+}
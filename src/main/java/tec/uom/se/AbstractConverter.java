@@ -32,10 +32,13 @@ package tec.uom.se;
 import javax.measure.UnitConverter;
 
 import tec.uom.se.function.Converter;
+import tec.uom.se.function.ConverterNormalizer;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.nio.BufferOverflowException;
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -67,6 +70,11 @@ public abstract class AbstractConverter implements UnitConverter, Converter<Numb
    */
   public static final AbstractConverter IDENTITY = new Identity();
 
+  /**
+   * Holds the size of the intermediate array used to convert buffers not backed by an array.
+   */
+  private static final int BULK_CHUNK = 1024;
+
   /**
    * DefaultQuantityFactory constructor.
    */
@@ -75,14 +83,15 @@ public abstract class AbstractConverter implements UnitConverter, Converter<Numb
 
   /**
    * Concatenates this physics converter with another physics converter. The resulting converter is equivalent to first converting by the specified
-   * converter (right converter), and then converting by this converter (left converter).
+   * converter (right converter), and then converting by this converter (left converter). Scaling and offset steps are folded together by the
+   * {@link ConverterNormalizer}.
    *
    * @param that
    *          the other converter.
    * @return the concatenation of this converter with that converter.
    */
   public AbstractConverter concatenate(AbstractConverter that) {
-    return (that == IDENTITY) ? this : new Pair(this, that);
+    return (that == IDENTITY) ? this : ConverterNormalizer.concatenate(this, that);
   }
 
   @Override
@@ -101,7 +110,7 @@ public abstract class AbstractConverter implements UnitConverter, Converter<Numb
 
   @Override
   public UnitConverter concatenate(UnitConverter converter) {
-    return (converter == IDENTITY) ? this : new Pair(this, converter);
+    return (converter == IDENTITY) ? this : ConverterNormalizer.concatenate(this, converter);
   }
 
   @Override
@@ -131,6 +140,112 @@ public abstract class AbstractConverter implements UnitConverter, Converter<Numb
 
   public abstract BigDecimal convert(BigDecimal value, MathContext ctx) throws ArithmeticException;
 
+  /**
+   * Converts the specified values in place.
+   *
+   * @param values
+   *          the values to convert.
+   * @return <code>values</code> holding the converted values.
+   */
+  public final double[] convert(double[] values) {
+    convert(values, 0, values, 0, values.length);
+    return values;
+  }
+
+  /**
+   * Converts the values of the source array into the destination array.
+   *
+   * @param source
+   *          the values to convert.
+   * @param destination
+   *          the array receiving the converted values, at least as long as <code>source</code>.
+   * @return <code>destination</code>
+   * @throws IndexOutOfBoundsException
+   *           if the destination is shorter than the source.
+   */
+  public final double[] convert(double[] source, double[] destination) {
+    convert(source, 0, destination, 0, source.length);
+    return destination;
+  }
+
+  /**
+   * Converts a range of values from the source array into the destination array (the arrays can be the same, in which case the offsets should be
+   * equal).
+   *
+   * @param source
+   *          the values to convert.
+   * @param sourceOffset
+   *          the index of the first value to convert.
+   * @param destination
+   *          the array receiving the converted values.
+   * @param destinationOffset
+   *          the index of the first converted value.
+   * @param length
+   *          the number of values to convert.
+   * @throws IndexOutOfBoundsException
+   *           if a range is out of its array bounds.
+   */
+  public final void convert(double[] source, int sourceOffset, double[] destination, int destinationOffset, int length) {
+    if ((length < 0) || (sourceOffset < 0) || (sourceOffset > source.length - length) || (destinationOffset < 0)
+        || (destinationOffset > destination.length - length))
+      throw new IndexOutOfBoundsException("Invalid range: " + length + " values from " + sourceOffset + " to " + destinationOffset);
+    convertArray(source, sourceOffset, destination, destinationOffset, length);
+  }
+
+  /**
+   * Converts the remaining values of the source buffer into the destination buffer, advancing the position of both buffers.
+   *
+   * @param source
+   *          the values to convert.
+   * @param destination
+   *          the buffer receiving the converted values (can be the source buffer).
+   * @throws java.nio.BufferOverflowException
+   *           if the destination has less remaining space than the source has values.
+   */
+  public final void convert(DoubleBuffer source, DoubleBuffer destination) {
+    int length = source.remaining();
+    if (destination.remaining() < length)
+      throw new BufferOverflowException();
+    if (source == destination)
+      source = source.duplicate(); // Independent position.
+    if (source.hasArray() && destination.hasArray() && !destination.isReadOnly()) {
+      convertArray(source.array(), source.arrayOffset() + source.position(), destination.array(), destination.arrayOffset() + destination.position(),
+          length);
+      source.position(source.position() + length);
+      destination.position(destination.position() + length);
+      return;
+    }
+    double[] chunk = new double[Math.min(length, BULK_CHUNK)];
+    while (length > 0) {
+      int n = Math.min(length, chunk.length);
+      source.get(chunk, 0, n);
+      convertArray(chunk, 0, chunk, 0, n);
+      destination.put(chunk, 0, n);
+      length -= n;
+    }
+  }
+
+  /**
+   * Converts a range of values, the bounds having been checked. Subclasses should override this method with a loop the JIT compiler can unroll and
+   * vectorize; the default implementation calls {@link #convert(double)} for each value.
+   *
+   * @param source
+   *          the values to convert.
+   * @param sourceOffset
+   *          the index of the first value to convert.
+   * @param destination
+   *          the array receiving the converted values.
+   * @param destinationOffset
+   *          the index of the first converted value.
+   * @param length
+   *          the number of values to convert.
+   */
+  protected void convertArray(double[] source, int sourceOffset, double[] destination, int destinationOffset, int length) {
+    for (int i = 0; i < length; i++) {
+      destination[destinationOffset + i] = convert(source[sourceOffset + i]);
+    }
+  }
+
   /**
    * This class represents the identity converter (singleton).
    */
@@ -161,6 +276,12 @@ public abstract class AbstractConverter implements UnitConverter, Converter<Numb
       return value;
     }
 
+    @Override
+    protected void convertArray(double[] source, int sourceOffset, double[] destination, int destinationOffset, int length) {
+      if ((source != destination) || (sourceOffset != destinationOffset))
+        System.arraycopy(source, sourceOffset, destination, destinationOffset, length);
+    }
+
     @Override
     public UnitConverter concatenate(UnitConverter converter) {
       return converter;
@@ -251,6 +372,16 @@ public abstract class AbstractConverter implements UnitConverter, Converter<Numb
       return left.convert(right.convert(value));
     }
 
+    @Override
+    protected void convertArray(double[] source, int sourceOffset, double[] destination, int destinationOffset, int length) {
+      if (!(left instanceof AbstractConverter) || !(right instanceof AbstractConverter)) {
+        super.convertArray(source, sourceOffset, destination, destinationOffset, length);
+        return;
+      }
+      ((AbstractConverter) right).convertArray(source, sourceOffset, destination, destinationOffset, length);
+      ((AbstractConverter) left).convertArray(destination, destinationOffset, destination, destinationOffset, length);
+    }
+
     @Override
     public BigDecimal convert(BigDecimal value, MathContext ctx) {
       if (right instanceof AbstractConverter) {
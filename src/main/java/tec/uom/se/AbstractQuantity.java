@@ -31,7 +31,6 @@ package tec.uom.se;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
-import java.util.Comparator;
 import java.util.Objects;
 
 import javax.measure.Quantity;
@@ -230,8 +229,11 @@ public abstract class AbstractQuantity<Q extends Quantity<Q>> implements Compara
    */
   @Override
   public int compareTo(Quantity<Q> that) {
-    final Comparator<Quantity<Q>> comparator = new NaturalOrder<>();
-    return comparator.compare(this, that);
+    Unit<Q> unit = getUnit();
+    if (unit.equals(that.getUnit())) {
+      return Double.compare(getValue().doubleValue(), that.getValue().doubleValue());
+    }
+    return Double.compare(getValue().doubleValue(), that.getUnit().getConverterTo(unit).convert(that.getValue().doubleValue()));
   }
 
   /**
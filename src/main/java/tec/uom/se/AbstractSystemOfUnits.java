@@ -37,6 +37,7 @@ import javax.measure.spi.SystemOfUnits;
 import tec.uom.lib.common.function.Nameable;
 import tec.uom.se.format.SimpleUnitFormat;
 import tec.uom.se.format.UnitStyle;
+import tec.uom.se.unit.ProductUnit;
 
 import static tec.uom.se.format.UnitStyle.*;
 
@@ -130,6 +131,13 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits, Nameable {
 			return null;
 		}
 
+    /**
+     * Returns the unit to be named: product units are interned and shared by all the equal products, so a copy of them is named instead.
+     */
+    private static AbstractUnit<?> nameable(Unit<?> unit) {
+      return (unit instanceof ProductUnit) ? new ProductUnit<>(unit) : (AbstractUnit<?>) unit;
+    }
+
     /**
      * Adds a new named unit to the collection.
      * 
@@ -137,7 +145,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits, Nameable {
      *          the unit being added.
      * @param name
      *          the name of the unit.
-     * @return <code>unit</code>.
+     * @return <code>unit</code>, or the named copy of <code>unit</code> if it is a product unit.
      * @since 1.0
      */
     public static <U extends Unit<?>> U addUnit(Set<Unit<?>> units, U unit, String name) {
@@ -153,20 +161,20 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits, Nameable {
      *          the name of the unit.
      * @param name
      *          the symbol of the unit.
-     * @return <code>unit</code>.
+     * @return <code>unit</code>, or the named copy of <code>unit</code> if it is a product unit.
      * @since 1.0
      */
     @SuppressWarnings("unchecked")
     public static <U extends Unit<?>> U addUnit(Set<Unit<?>> units, U unit, String name, String symbol) {
       if (name != null && symbol != null && unit instanceof AbstractUnit) {
-        AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+        AbstractUnit<?> aUnit = nameable(unit);
         aUnit.setName(name);
         aUnit.setSymbol(symbol);
         units.add(aUnit);
         return (U) aUnit;
       }
       if (name != null && unit instanceof AbstractUnit) {
-        AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+        AbstractUnit<?> aUnit = nameable(unit);
         aUnit.setName(name);
         units.add(aUnit);
         return (U) aUnit;
@@ -186,7 +194,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits, Nameable {
      *          the symbol of the unit.
      * @param style
      *          style of the unit.
-     * @return <code>unit</code>.
+     * @return <code>unit</code>, or the named copy of <code>unit</code> if it is a product unit.
      * @since 1.0.1
      */
     @SuppressWarnings("unchecked")
@@ -196,7 +204,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits, Nameable {
         case SYMBOL:
         case SYMBOL_AND_LABEL:
           if (name != null && symbol != null && unit instanceof AbstractUnit) {
-            AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+            AbstractUnit<?> aUnit = nameable(unit);
             aUnit.setName(name);
             if (SYMBOL.equals(style) || SYMBOL_AND_LABEL.equals(style)) {
               aUnit.setSymbol(symbol);
@@ -208,7 +216,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits, Nameable {
             return (U) aUnit;
           }
           if (name != null && unit instanceof AbstractUnit) {
-            AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+            AbstractUnit<?> aUnit = nameable(unit);
             aUnit.setName(name);
             units.add(aUnit);
             return (U) aUnit;
@@ -239,7 +247,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits, Nameable {
      *          the text for the unit.
      * @param style
      *          style of the unit.
-     * @return <code>unit</code>.
+     * @return <code>unit</code>, or the named copy of <code>unit</code> if it is a product unit.
      * @since 1.0.1
      */
     @SuppressWarnings("unchecked")
@@ -247,7 +255,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits, Nameable {
       switch (style) {
         case NAME:
           if (text != null && unit instanceof AbstractUnit) {
-            AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+            AbstractUnit<?> aUnit = nameable(unit);
             aUnit.setName(text);
             units.add(aUnit);
             return (U) aUnit;
@@ -255,7 +263,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits, Nameable {
           break;
         case SYMBOL:
           if (text != null && unit instanceof AbstractUnit) {
-            AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+            AbstractUnit<?> aUnit = nameable(unit);
             aUnit.setSymbol(text);
             units.add(aUnit);
             return (U) aUnit;
@@ -263,7 +271,7 @@ public abstract class AbstractSystemOfUnits implements SystemOfUnits, Nameable {
           break;
         case SYMBOL_AND_LABEL:
           if (text != null && unit instanceof AbstractUnit) {
-            AbstractUnit<?> aUnit = (AbstractUnit<?>) unit;
+            AbstractUnit<?> aUnit = nameable(unit);
             aUnit.setSymbol(text);
             units.add(aUnit);
             SimpleUnitFormat.getInstance().label(aUnit, text);
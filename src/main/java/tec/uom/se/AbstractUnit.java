@@ -92,6 +92,11 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
    */
   private String symbol;
 
+  /**
+   * Holds the system unit (lazily computed, units are immutable).
+   */
+  private transient volatile AbstractUnit<Q> systemUnit;
+
   /**
    * Holds the unique symbols collection (base units or alternate units).
    */
@@ -118,7 +123,7 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
    * @return <code>equals(toSystemUnit())</code>
    */
   public boolean isSystemUnit() {
-    AbstractUnit<Q> si = this.toSystemUnit();
+    AbstractUnit<Q> si = this.getSystemUnit();
     return (this == si) || this.equals(si);
   }
 
@@ -209,11 +214,16 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
    * example:[code] static boolean isAngularVelocity(AbstractUnit<?> unit) { return unit.getSystemUnit().equals(RADIAN.divide(SECOND)); }
    * assert(REVOLUTION.divide(MINUTE).isAngularVelocity()); // Returns true. [/code]
    *
-   * @return the unscaled metric unit from which this unit is derived.
+   * @return the unscaled metric unit from which this unit is derived (computed once).
    */
   @Override
   public final AbstractUnit<Q> getSystemUnit() {
-    return toSystemUnit();
+    AbstractUnit<Q> unit = systemUnit;
+    if (unit == null) {
+      unit = toSystemUnit();
+      systemUnit = unit;
+    }
+    return unit;
   }
 
   /**
@@ -283,26 +293,46 @@ public abstract class AbstractUnit<Q extends Quantity<Q>> implements Unit<Q>, Co
     this.symbol = s;
   }
 
+  /**
+   * Returns the converter from this unit to the specified unit; converters are memoized by the shared {@link ConverterCache}.
+   */
   @Override
   public final UnitConverter getConverterTo(Unit<Q> that) throws UnconvertibleException {
     if ((this == that) || this.equals(that))
       return AbstractConverter.IDENTITY; // Shortcut.
+    ConverterCache cache = ConverterCache.getInstance();
+    int generation = cache.generation();
+    UnitConverter converter = cache.get(this, that);
+    if (converter != null)
+      return converter;
     Unit<Q> thisSystemUnit = this.getSystemUnit();
     Unit<Q> thatSystemUnit = that.getSystemUnit();
     if (!thisSystemUnit.equals(thatSystemUnit))
       try {
-        return getConverterToAny(that);
+        return cache.put(this, that, internalGetConverterToAny(that), generation);
       } catch (IncommensurableException e) {
         throw new UnconvertibleException(e);
       }
     UnitConverter thisToSI = this.getSystemConverter();
     UnitConverter thatToSI = that.getConverterTo(thatSystemUnit);
-    return thatToSI.inverse().concatenate(thisToSI);
+    return cache.put(this, that, thatToSI.inverse().concatenate(thisToSI), generation);
   }
 
-  @SuppressWarnings("rawtypes")
+  /**
+   * Returns the converter from this unit to the specified compatible unit; converters are memoized by the shared {@link ConverterCache}.
+   */
   @Override
   public final UnitConverter getConverterToAny(Unit<?> that) throws IncommensurableException, UnconvertibleException {
+    ConverterCache cache = ConverterCache.getInstance();
+    int generation = cache.generation();
+    UnitConverter converter = cache.get(this, that);
+    if (converter != null)
+      return converter;
+    return cache.put(this, that, internalGetConverterToAny(that), generation);
+  }
+
+  @SuppressWarnings("rawtypes")
+  private UnitConverter internalGetConverterToAny(Unit<?> that) throws IncommensurableException, UnconvertibleException {
     if (!isCompatible(that))
       throw new IncommensurableException(this + " is not compatible with " + that);
     AbstractUnit thatAbstr = (AbstractUnit) that; // Since both units are
@@ -0,0 +1,384 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+/**
+ * <p>
+ * A bounded, thread-safe cache of the converters returned by {@link AbstractUnit#getConverterTo(Unit)} and
+ * {@link AbstractUnit#getConverterToAny(Unit)}, keyed by the (source unit, target unit) pair.
+ * </p>
+ *
+ * <p>
+ * Lookups do not lock: a hit only reads the entry and marks it as recently used if it was not already marked. Once the cache is full, adding a
+ * converter evicts an entry not used since the previous eviction sweep (an approximation of least recently used, as in the CLOCK algorithm). The
+ * maximum size can be set at startup with the <code>tec.uom.se.converterCacheSize</code> system property or at runtime with
+ * {@link #setMaximumSize(int)}; a size of <code>0</code> disables caching.
+ * </p>
+ *
+ * <p>
+ * Hits and misses are only counted once {@link #setRecordingStatistics(boolean) statistics recording} is enabled, so that a hit does not update
+ * a shared counter by default.
+ * </p>
+ *
+ * <p>
+ * Changes which may affect unit resolution or conversion (a new label or alias in {@link tec.uom.se.format.SimpleUnitFormat}, a new
+ * {@link tec.uom.se.spi.DimensionalModel}) {@link #invalidate() invalidate} the cache; a converter computed before such a change is not cached.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.2, October 18, 2016
+ * @since 1.0.1
+ */
+public final class ConverterCache {
+
+  private static final Logger logger = Logger.getLogger(ConverterCache.class.getName());
+
+  /**
+   * The system property holding the initial maximum size.
+   */
+  public static final String SIZE_PROPERTY = "tec.uom.se.converterCacheSize";
+
+  /**
+   * The default maximum number of cached converters.
+   */
+  public static final int DEFAULT_SIZE = 512;
+
+  private static final ConverterCache INSTANCE = new ConverterCache(initialSize());
+
+  private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Incremented each time the cache is invalidated, converters computed under a former generation are not cached.
+   */
+  private final AtomicInteger generation = new AtomicInteger();
+
+  /**
+   * Guards the eviction sweep.
+   */
+  private final Object evictionLock = new Object();
+
+  /**
+   * Holds the position of the eviction sweep, resumed by the next eviction.
+   */
+  private Iterator<Entry> sweep;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder evictions = new LongAdder();
+
+  private volatile int maximumSize;
+
+  private volatile boolean recordingStatistics;
+
+  private ConverterCache(int maximumSize) {
+    setMaximumSize(maximumSize);
+  }
+
+  /**
+   * Returns the converter cache used by {@link AbstractUnit}.
+   *
+   * @return the shared converter cache.
+   */
+  public static ConverterCache getInstance() {
+    return INSTANCE;
+  }
+
+  private static int initialSize() {
+    String value = System.getProperty(SIZE_PROPERTY);
+    if (value != null) {
+      try {
+        return Math.max(0, Integer.parseInt(value.trim()));
+      } catch (NumberFormatException e) {
+        logger.log(Level.WARNING, "Invalid " + SIZE_PROPERTY + ": " + value + ", using " + DEFAULT_SIZE);
+      }
+    }
+    return DEFAULT_SIZE;
+  }
+
+  /**
+   * Returns the current generation, to be read before computing a converter and passed to {@link #put(Unit, Unit, UnitConverter, int)}.
+   */
+  int generation() {
+    return generation.get();
+  }
+
+  /**
+   * Returns the cached converter from the specified source unit to the specified target unit.
+   *
+   * @param source
+   *          the source unit.
+   * @param target
+   *          the target unit.
+   * @return the cached converter or <code>null</code> if none.
+   */
+  UnitConverter get(Unit<?> source, Unit<?> target) {
+    if (maximumSize == 0)
+      return null;
+    Entry entry = entries.get(new Key(source, target));
+    if (entry == null) {
+      if (recordingStatistics)
+        misses.increment();
+      return null;
+    }
+    if (!entry.used) // Avoids writing to a shared entry on every hit.
+      entry.used = true;
+    if (recordingStatistics)
+      hits.increment();
+    return entry.converter;
+  }
+
+  /**
+   * Caches the converter from the specified source unit to the specified target unit, unless the cache was invalidated since the converter
+   * computation started.
+   *
+   * @param source
+   *          the source unit.
+   * @param target
+   *          the target unit.
+   * @param converter
+   *          the converter to cache.
+   * @param computeGeneration
+   *          the {@link #generation()} read before computing the converter.
+   * @return the specified converter.
+   */
+  UnitConverter put(Unit<?> source, Unit<?> target, UnitConverter converter, int computeGeneration) {
+    if (maximumSize == 0 || computeGeneration != generation.get())
+      return converter;
+    Key key = new Key(source, target);
+    Entry entry = new Entry(converter);
+    if (entries.putIfAbsent(key, entry) == null) {
+      // An invalidation racing with the put may already have cleared the cache, do not let the stale converter survive it.
+      if (computeGeneration != generation.get())
+        entries.remove(key, entry);
+      else if (entries.size() > maximumSize)
+        evict();
+    }
+    return converter;
+  }
+
+  /**
+   * Removes entries until the cache is back to its maximum size, skipping (and unmarking) those used since the previous sweep.
+   */
+  private void evict() {
+    synchronized (evictionLock) {
+      int passes = 0;
+      while (entries.size() > maximumSize) {
+        if (sweep == null || !sweep.hasNext()) {
+          if (passes++ > 2) // Concurrent puts keep refilling the cache.
+            return;
+          sweep = entries.values().iterator();
+          if (!sweep.hasNext())
+            return;
+        }
+        Entry entry = sweep.next();
+        if (entry.used) {
+          entry.used = false;
+        } else {
+          sweep.remove();
+          evictions.increment();
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes all the cached converters.
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+    entries.clear();
+  }
+
+  /**
+   * Sets the maximum number of converters held by this cache; existing entries are discarded.
+   *
+   * @param maximumSize
+   *          the maximum number of cached converters, <code>0</code> to disable caching.
+   * @throws IllegalArgumentException
+   *           if the specified size is negative.
+   */
+  public void setMaximumSize(int maximumSize) {
+    if (maximumSize < 0)
+      throw new IllegalArgumentException("Negative cache size: " + maximumSize);
+    this.maximumSize = maximumSize;
+    invalidate();
+  }
+
+  /**
+   * Returns the maximum number of converters held by this cache.
+   *
+   * @return the maximum size, <code>0</code> if caching is disabled.
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Returns the number of converters currently cached.
+   *
+   * @return the number of cache entries.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Enables or disables the counting of hits and misses, disabled by default.
+   *
+   * @param recordingStatistics
+   *          <code>true</code> to count hits and misses.
+   */
+  public void setRecordingStatistics(boolean recordingStatistics) {
+    this.recordingStatistics = recordingStatistics;
+  }
+
+  /**
+   * Indicates if hits and misses are counted.
+   *
+   * @return <code>true</code> if statistics are recorded.
+   */
+  public boolean isRecordingStatistics() {
+    return recordingStatistics;
+  }
+
+  /**
+   * Returns the number of lookups which found a cached converter.
+   *
+   * @return the hit count.
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of lookups which did not find a cached converter.
+   *
+   * @return the miss count.
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the number of converters evicted because the cache was full.
+   *
+   * @return the eviction count.
+   */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * Returns the ratio of lookups which found a cached converter.
+   *
+   * @return <code>hits / (hits + misses)</code>, or <code>0</code> if there was no lookup.
+   */
+  public double getHitRatio() {
+    long h = hits.sum();
+    long total = h + misses.sum();
+    return (total == 0) ? 0 : (double) h / total;
+  }
+
+  /**
+   * Resets the hit, miss and eviction counters.
+   */
+  public void resetStatistics() {
+    hits.reset();
+    misses.reset();
+    evictions.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "ConverterCache[size=" + size() + ", maximumSize=" + maximumSize + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+        + ", evictions=" + getEvictionCount() + "]";
+  }
+
+  /**
+   * A cached converter and its recently used mark.
+   */
+  private static final class Entry {
+
+    private final UnitConverter converter;
+
+    private volatile boolean used;
+
+    Entry(UnitConverter converter) {
+      this.converter = converter;
+    }
+  }
+
+  /**
+   * The (source unit, target unit) pair identifying a conversion.
+   */
+  private static final class Key {
+
+    private final Unit<?> source;
+
+    private final Unit<?> target;
+
+    private final int hash;
+
+    Key(Unit<?> source, Unit<?> target) {
+      this.source = source;
+      this.target = target;
+      this.hash = 31 * source.hashCode() + target.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (!(obj instanceof Key))
+        return false;
+      Key that = (Key) obj;
+      return (hash == that.hash) && Objects.equals(source, that.source) && Objects.equals(target, that.target);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -59,6 +59,11 @@ import tec.uom.se.AbstractUnit;
 @SuppressWarnings("rawtypes")
 public abstract class AbstractUnitFormat implements UnitFormat, Parser<CharSequence, Unit> {
 
+  /**
+   * Holds the units parsed by this format, disabled unless sized.
+   */
+  private final transient ParsedUnitCache parseCache = new ParsedUnitCache();
+
   /**
    * Returns the {@link SymbolMap} for this unit format.
    *
@@ -106,6 +111,38 @@ public abstract class AbstractUnitFormat implements UnitFormat, Parser<CharSeque
     // do nothing, if subclasses want to use it, override there
   }
 
+  /**
+   * Returns the cache of the units parsed from whole character sequences by this format.
+   *
+   * @return the parse cache of this format.
+   * @since 1.0.1
+   */
+  public ParsedUnitCache getParseCache() {
+    return parseCache;
+  }
+
+  /**
+   * Parses the specified <code>CharSequence</code> with {@link #parse(CharSequence, int)}, unless the unit parsed from the same source is held by the
+   * {@link #getParseCache() parse cache}.
+   *
+   * @param csq
+   *          the <code>CharSequence</code> to parse.
+   * @return the unit parsed from the specified character sequence.
+   * @throws IllegalArgumentException
+   *           if any problem occurs while parsing the specified character sequence (e.g. illegal syntax).
+   */
+  protected final Unit<?> parseCached(CharSequence csq) throws IllegalArgumentException {
+    ParsedUnitCache cache = parseCache;
+    if (!cache.isEnabled())
+      return parse(csq, 0);
+    String source = csq.toString();
+    int generation = ParsedUnitCache.generation();
+    Unit<?> unit = cache.get(source);
+    if (unit == null)
+      unit = cache.put(source, parse(source, 0), generation);
+    return unit;
+  }
+
   /**
    * Parses a portion of the specified <code>CharSequence</code> from the specified position to produce a unit. If there is no unit to parse
    * {@link AbstractUnit#ONE} is returned.
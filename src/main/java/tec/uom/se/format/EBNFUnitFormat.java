@@ -30,15 +30,12 @@
 package tec.uom.se.format;
 
 import tec.uom.se.AbstractUnit;
-import tec.uom.se.internal.format.TokenException;
-import tec.uom.se.internal.format.TokenMgrError;
-import tec.uom.se.internal.format.UnitFormatParser;
+import tec.uom.se.internal.format.UnitExpressionParser;
 import tec.uom.se.unit.AnnotatedUnit;
 import javax.measure.Unit;
 import javax.measure.format.ParserException;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.text.ParsePosition;
 import java.util.Locale;
 import java.util.ResourceBundle;
@@ -201,6 +198,11 @@ public class EBNFUnitFormat extends AbstractUnitFormat {
    */
   private final transient SymbolMap symbolMap;
 
+  /**
+   * Holds the parser of each thread, reused from one parse to the next.
+   */
+  private final transient ThreadLocal<UnitExpressionParser> parsers;
+
   // ////////////////
   // Constructors //
   // ////////////////
@@ -222,6 +224,7 @@ public class EBNFUnitFormat extends AbstractUnitFormat {
    */
   private EBNFUnitFormat(SymbolMap symbols, Locale loc) {
     symbolMap = symbols;
+    parsers = ThreadLocal.withInitial(() -> new UnitExpressionParser(symbols));
   }
 
   // //////////////////////
@@ -264,30 +267,25 @@ public class EBNFUnitFormat extends AbstractUnitFormat {
     if (end <= start) {
       return AbstractUnit.ONE;
     }
-    String source = csq.subSequence(start, end).toString().trim();
-    if (source.length() == 0) {
+    while ((start < end) && (csq.charAt(start) <= ' ')) { // Trims the source, as String.trim().
+      start++;
+    }
+    while ((end > start) && (csq.charAt(end - 1) <= ' ')) {
+      end--;
+    }
+    if (start == end) {
       return AbstractUnit.ONE;
     }
-    try {
-      UnitFormatParser parser = new UnitFormatParser(symbolMap, new StringReader(source));
-      Unit<?> result = parser.parseUnit();
-      // if (cursor != null)
-      // cursor.setIndex(end);
-      return result;
-    } catch (TokenException | TokenMgrError e) {
-      // if (cursor != null) {
-      // if (e.currentToken != null) {
-      // cursor.setErrorIndex(start + e.currentToken.endColumn);
-      // } else {
-      // cursor.setErrorIndex(start);
-      // }
-      // }
-      throw new ParserException(e);
+    ParsePosition cursor = new ParsePosition(start);
+    Unit<?> result = parsers.get().parse(csq, end, cursor);
+    if (result == null) {
+      throw new ParserException("Unexpected token", csq, cursor.getErrorIndex());
     }
+    return result;
   }
 
   public Unit<?> parse(CharSequence csq) throws ParserException {
-    return parse(csq, 0);
+    return parseCached(csq);
   }
 
   @Override
@@ -51,7 +51,6 @@ import javax.measure.UnitConverter;
 import javax.measure.format.ParserException;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.math.BigInteger;
 import java.text.ParsePosition;
 import java.util.Locale;
@@ -225,6 +224,11 @@ public class LocalUnitFormat extends AbstractUnitFormat {
    */
   private final transient SymbolMap symbolMap;
 
+  /**
+   * Holds the parser of each thread, reused from one parse to the next.
+   */
+  private final transient ThreadLocal<LocalUnitFormatParser> parsers;
+
   // ////////////////
   // Constructors //
   // ////////////////
@@ -236,6 +240,7 @@ public class LocalUnitFormat extends AbstractUnitFormat {
    */
   private LocalUnitFormat(SymbolMap symbols) {
     symbolMap = symbols;
+    parsers = ThreadLocal.withInitial(() -> new LocalUnitFormatParser(symbols));
   }
 
   // //////////////////////
@@ -280,13 +285,19 @@ public class LocalUnitFormat extends AbstractUnitFormat {
     if (end <= start) {
       return AbstractUnit.ONE;
     }
-    String source = csq.subSequence(start, end).toString().trim();
-    if (source.length() == 0) {
+    int from = start;
+    int to = end;
+    while ((from < to) && (csq.charAt(from) <= ' ')) { // Trims the source, as String.trim().
+      from++;
+    }
+    while ((to > from) && (csq.charAt(to - 1) <= ' ')) {
+      to--;
+    }
+    if (from == to) {
       return AbstractUnit.ONE;
     }
     try {
-      LocalUnitFormatParser parser = new LocalUnitFormatParser(symbolMap, new StringReader(source));
-      Unit<?> result = parser.parseUnit();
+      Unit<?> result = parsers.get().parseUnit(csq, from, to);
       cursor.setIndex(end);
       return result;
     } catch (TokenException e) {
@@ -306,7 +317,7 @@ public class LocalUnitFormat extends AbstractUnitFormat {
 
   @Override
   public Unit<? extends Quantity<?>> parse(CharSequence csq) throws ParserException {
-    return parse(csq, new ParsePosition(0));
+    return parseCached(csq);
   }
 
   /**
@@ -0,0 +1,335 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.measure.Unit;
+
+/**
+ * <p>
+ * A bounded, thread-safe cache of the units parsed by an {@link AbstractUnitFormat}, keyed by the source string.
+ * </p>
+ *
+ * <p>
+ * Each format has its own cache, see {@link AbstractUnitFormat#getParseCache()}. The cache is split into independently locked segments, each of
+ * them evicting its least recently used entry once the segment is full. The maximum size can be set at startup with the
+ * <code>tec.uom.se.unitParseCacheSize</code> system property or at runtime with {@link #setMaximumSize(int)}; the default size of <code>0</code>
+ * disables caching. Sources which fail to parse are never cached.
+ * </p>
+ *
+ * <p>
+ * A new label or alias in any {@link SymbolMap} (hence in any unit format) invalidates all the parse caches.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public final class ParsedUnitCache {
+
+  private static final Logger logger = Logger.getLogger(ParsedUnitCache.class.getName());
+
+  /**
+   * The system property holding the initial maximum size.
+   */
+  public static final String SIZE_PROPERTY = "tec.uom.se.unitParseCacheSize";
+
+  /**
+   * The default maximum number of cached units (caching disabled).
+   */
+  public static final int DEFAULT_SIZE = 0;
+
+  private static final int SEGMENTS = 16;
+
+  private static final int INITIAL_SIZE = initialSize();
+
+  /**
+   * Incremented each time a symbol changes, caches seeing a new generation discard their entries.
+   */
+  private static final AtomicInteger generation = new AtomicInteger();
+
+  private final Segment[] segments = new Segment[SEGMENTS];
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder evictions = new LongAdder();
+
+  private volatile int maximumSize;
+
+  private volatile int validGeneration = generation.get();
+
+  ParsedUnitCache() {
+    for (int i = 0; i < SEGMENTS; i++) {
+      segments[i] = new Segment();
+    }
+    setMaximumSize(INITIAL_SIZE);
+  }
+
+  private static int initialSize() {
+    String value = System.getProperty(SIZE_PROPERTY);
+    if (value != null) {
+      try {
+        return Math.max(0, Integer.parseInt(value.trim()));
+      } catch (NumberFormatException e) {
+        logger.log(Level.WARNING, "Invalid " + SIZE_PROPERTY + ": " + value + ", using " + DEFAULT_SIZE);
+      }
+    }
+    return DEFAULT_SIZE;
+  }
+
+  /**
+   * Invalidates the parse caches of all the unit formats.
+   */
+  static void invalidateAll() {
+    generation.incrementAndGet();
+  }
+
+  /**
+   * Returns the current symbol generation, incremented by {@link #invalidateAll()}.
+   */
+  static int generation() {
+    return generation.get();
+  }
+
+  /**
+   * Indicates if this cache holds any unit.
+   *
+   * @return <code>true</code> if the maximum size is greater than <code>0</code>.
+   */
+  boolean isEnabled() {
+    return maximumSize != 0;
+  }
+
+  /**
+   * Returns the unit cached for the specified source.
+   *
+   * @param source
+   *          the parsed string.
+   * @return the cached unit or <code>null</code> if none.
+   */
+  Unit<?> get(String source) {
+    int current = generation.get();
+    if (current != validGeneration) {
+      invalidate();
+      validGeneration = current;
+    }
+    Unit<?> unit = segmentFor(source).get(source);
+    if (unit != null)
+      hits.increment();
+    else
+      misses.increment();
+    return unit;
+  }
+
+  /**
+   * Caches the unit parsed from the specified source, unless a symbol changed since the parse started.
+   *
+   * @param source
+   *          the parsed string.
+   * @param unit
+   *          the unit to cache.
+   * @param parseGeneration
+   *          the {@link #generation()} read before parsing.
+   * @return the specified unit.
+   */
+  Unit<?> put(String source, Unit<?> unit, int parseGeneration) {
+    if (maximumSize != 0 && unit != null && parseGeneration == generation.get()) {
+      Segment segment = segmentFor(source);
+      segment.put(source, unit);
+      // A symbol change racing with the put may already have cleared the caches, do not let the stale unit survive it.
+      if (parseGeneration != generation.get())
+        segment.remove(source, unit);
+    }
+    return unit;
+  }
+
+  private Segment segmentFor(String source) {
+    int h = source.hashCode();
+    return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+  }
+
+  /**
+   * Removes all the cached units.
+   */
+  public void invalidate() {
+    for (Segment segment : segments) {
+      segment.clear();
+    }
+  }
+
+  /**
+   * Sets the maximum number of units held by this cache; existing entries are discarded.
+   *
+   * @param maximumSize
+   *          the maximum number of cached units, <code>0</code> to disable caching.
+   * @throws IllegalArgumentException
+   *           if the specified size is negative.
+   */
+  public void setMaximumSize(int maximumSize) {
+    if (maximumSize < 0)
+      throw new IllegalArgumentException("Negative cache size: " + maximumSize);
+    int segmentSize = (maximumSize + SEGMENTS - 1) / SEGMENTS;
+    for (Segment segment : segments) {
+      segment.resize(segmentSize);
+    }
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Returns the maximum number of units held by this cache.
+   *
+   * @return the maximum size, <code>0</code> if caching is disabled.
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Returns the number of units currently cached.
+   *
+   * @return the number of cache entries.
+   */
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  /**
+   * Returns the number of lookups which found a cached unit.
+   *
+   * @return the hit count.
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of lookups which did not find a cached unit.
+   *
+   * @return the miss count.
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the number of units evicted because the cache was full.
+   *
+   * @return the eviction count.
+   */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * Returns the ratio of lookups which found a cached unit.
+   *
+   * @return <code>hits / (hits + misses)</code>, or <code>0</code> if there was no lookup.
+   */
+  public double getHitRatio() {
+    long h = hits.sum();
+    long total = h + misses.sum();
+    return (total == 0) ? 0 : (double) h / total;
+  }
+
+  /**
+   * Resets the hit, miss and eviction counters.
+   */
+  public void resetStatistics() {
+    hits.reset();
+    misses.reset();
+    evictions.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "ParsedUnitCache[size=" + size() + ", maximumSize=" + maximumSize + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+        + ", evictions=" + getEvictionCount() + "]";
+  }
+
+  /**
+   * A segment holding its entries in access order (least recently used first).
+   */
+  private final class Segment {
+
+    private final LinkedHashMap<String, Unit<?>> map = new LinkedHashMap<String, Unit<?>>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Unit<?>> eldest) {
+        if (size() > capacity) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+
+    private int capacity;
+
+    synchronized Unit<?> get(String source) {
+      return map.get(source);
+    }
+
+    synchronized void put(String source, Unit<?> unit) {
+      if (capacity > 0)
+        map.put(source, unit);
+    }
+
+    synchronized void remove(String source, Unit<?> unit) {
+      map.remove(source, unit);
+    }
+
+    synchronized void clear() {
+      map.clear();
+    }
+
+    synchronized void resize(int capacity) {
+      this.capacity = capacity;
+      map.clear();
+    }
+
+    synchronized int size() {
+      return map.size();
+    }
+  }
+}
@@ -0,0 +1,414 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.measure.format.ParserException;
+import javax.measure.format.UnitFormat;
+
+/**
+ * <p>
+ * Parses line-oriented text (CSV exports, logs) of delimited quantities such as <code>"12.5 kPa,3 m"</code> into {@link QuantityColumns}.
+ * </p>
+ *
+ * <p>
+ * The text is read from a {@link Reader} in blocks, or from a memory-mapped file as ASCII/UTF-8 bytes, optionally in parallel chunks split at line
+ * boundaries. Each field is read in place by a {@link QuantityReader}, so that a distinct unit string is only parsed once per reader and no
+ * <code>String</code>, <code>ParsePosition</code> or <code>Number</code> is created per row. Blank lines are skipped, any other line must hold a
+ * quantity in every selected field.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public final class QuantityBatchParser {
+
+  /**
+   * The supported field delimiters, none of them occurring in numbers or in the units of the unit formats.
+   */
+  public static final String DELIMITERS = ",;\t|";
+
+  private static final int READ_BUFFER_SIZE = 1 << 16;
+
+  /**
+   * The maximum size of a mapped chunk.
+   */
+  private static final long MAX_CHUNK_SIZE = 1 << 30;
+
+  /**
+   * The minimum size of a chunk parsed in parallel.
+   */
+  private static final long MIN_PARALLEL_CHUNK_SIZE = 1 << 20;
+
+  private final UnitFormat unitFormat;
+
+  private final char delimiter;
+
+  /**
+   * The index of the field to parse, <code>-1</code> for all the fields.
+   */
+  private final int column;
+
+  private final int skippedLines;
+
+  private QuantityBatchParser(UnitFormat unitFormat, char delimiter, int column, int skippedLines) {
+    this.unitFormat = unitFormat;
+    this.delimiter = delimiter;
+    this.column = column;
+    this.skippedLines = skippedLines;
+  }
+
+  /**
+   * Returns a parser of comma separated quantities, parsing units with {@link SimpleUnitFormat}.
+   *
+   * @return the corresponding parser.
+   */
+  public static QuantityBatchParser of() {
+    return of(',', SimpleUnitFormat.getInstance());
+  }
+
+  /**
+   * Returns a parser of quantities separated by the specified delimiter, parsing units with the specified format.
+   *
+   * @param delimiter
+   *          the field delimiter, one of {@value #DELIMITERS} (comma, semicolon, tab or vertical bar).
+   * @param unitFormat
+   *          the format of the units.
+   * @return the corresponding parser.
+   * @throws IllegalArgumentException
+   *           if the delimiter is not one of the supported delimiters, other characters being able to occur in a number or a unit.
+   */
+  public static QuantityBatchParser of(char delimiter, UnitFormat unitFormat) {
+    if (DELIMITERS.indexOf(delimiter) < 0)
+      throw new IllegalArgumentException("Invalid delimiter: " + delimiter);
+    return new QuantityBatchParser(unitFormat, delimiter, -1, 0);
+  }
+
+  /**
+   * Returns a parser reading only the specified field of each line (other fields can hold anything but the delimiter).
+   *
+   * @param index
+   *          the index of the field, starting at <code>0</code>.
+   * @return the corresponding parser.
+   */
+  public QuantityBatchParser column(int index) {
+    if (index < 0)
+      throw new IllegalArgumentException("Negative column: " + index);
+    return new QuantityBatchParser(unitFormat, delimiter, index, skippedLines);
+  }
+
+  /**
+   * Returns a parser ignoring the specified number of lines (e.g. headers) at the beginning of the text.
+   *
+   * @param count
+   *          the number of lines to skip.
+   * @return the corresponding parser.
+   */
+  public QuantityBatchParser skipLines(int count) {
+    if (count < 0)
+      throw new IllegalArgumentException("Negative line count: " + count);
+    return new QuantityBatchParser(unitFormat, delimiter, column, count);
+  }
+
+  /**
+   * Parses all the lines of the specified reader (which is not closed).
+   *
+   * @param in
+   *          the text to parse.
+   * @return the quantities read, line by line and field by field.
+   * @throws IOException
+   *           if an I/O error occurs.
+   * @throws ParserException
+   *           if a field is not a quantity (the message holds the line number).
+   */
+  public QuantityColumns parse(Reader in) throws IOException {
+    QuantityReader reader = QuantityReader.of(unitFormat);
+    QuantityColumns columns = new QuantityColumns();
+    char[] chars = new char[READ_BUFFER_SIZE];
+    CharBuffer view = CharBuffer.wrap(chars);
+    int length = 0; // The number of characters held.
+    int scanned = 0; // The number of characters already searched for a line end.
+    long line = 0;
+    for (boolean eof = false; !eof;) {
+      if (length == chars.length) { // A line longer than the buffer.
+        chars = Arrays.copyOf(chars, 2 * length);
+        view = CharBuffer.wrap(chars);
+      }
+      int n = in.read(chars, length, chars.length - length);
+      if (n < 0) {
+        eof = true;
+      } else {
+        length += n;
+      }
+      int lineStart = 0;
+      for (int i = scanned; i < length; i++) {
+        if (chars[i] == '\n') {
+          parseLine(reader, chars, view, lineStart, i, columns, line++);
+          lineStart = i + 1;
+        }
+      }
+      if (eof && (lineStart < length)) { // Last line without line end.
+        parseLine(reader, chars, view, lineStart, length, columns, line++);
+        lineStart = length;
+      }
+      System.arraycopy(chars, lineStart, chars, 0, length - lineStart);
+      length -= lineStart;
+      scanned = length;
+    }
+    return columns;
+  }
+
+  /**
+   * Parses all the lines of the specified file, see {@link #parse(Path, boolean)}.
+   *
+   * @param file
+   *          the ASCII or UTF-8 text file to parse.
+   * @return the quantities read, line by line and field by field.
+   * @throws IOException
+   *           if an I/O error occurs.
+   * @throws ParserException
+   *           if a field is not a quantity (the message holds its byte offset).
+   */
+  public QuantityColumns parse(Path file) throws IOException {
+    return parse(file, false);
+  }
+
+  /**
+   * Parses all the lines of the specified file, which is memory-mapped in chunks split at line boundaries. In parallel, the chunks are parsed by the
+   * common fork-join pool, each of them with its own {@link QuantityReader}, then concatenated in file order.
+   *
+   * @param file
+   *          the ASCII or UTF-8 text file to parse.
+   * @param parallel
+   *          <code>true</code> to parse the chunks in parallel.
+   * @return the quantities read, line by line and field by field.
+   * @throws IOException
+   *           if an I/O error occurs.
+   * @throws ParserException
+   *           if a field is not a quantity (the message holds its byte offset).
+   */
+  public QuantityColumns parse(Path file, boolean parallel) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long dataStart = 0; // The skipped lines are left out of the chunks.
+      for (int i = 0; i < skippedLines; i++) {
+        dataStart = nextLine(channel, dataStart, channel.size());
+      }
+      long[] bounds = chunkBounds(channel, dataStart, parallel);
+      IntStream chunks = IntStream.range(0, bounds.length - 1);
+      if (parallel) {
+        chunks = chunks.parallel();
+      }
+      List<QuantityColumns> parts = chunks.mapToObj(i -> parseChunk(channel, bounds[i], bounds[i + 1])).collect(Collectors.toList());
+      QuantityColumns columns = parts.isEmpty() ? new QuantityColumns() : parts.get(0);
+      for (int i = 1; i < parts.size(); i++) {
+        columns.addAll(parts.get(i));
+      }
+      return columns;
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Returns the offsets of the chunks of the file from the specified offset, each of them (but the last) ending after a line end.
+   */
+  private static long[] chunkBounds(FileChannel channel, long offset, boolean parallel) throws IOException {
+    long size = channel.size();
+    long chunkSize = MAX_CHUNK_SIZE;
+    if (parallel) {
+      chunkSize = Math.min(chunkSize, Math.max(MIN_PARALLEL_CHUNK_SIZE, (size - offset) / (4 * ForkJoinPool.getCommonPoolParallelism())));
+    }
+    List<Long> bounds = new ArrayList<>();
+    bounds.add(offset);
+    for (long start = offset; start + chunkSize < size;) {
+      start = nextLine(channel, start + chunkSize, size);
+      if (start >= size)
+        break;
+      bounds.add(start);
+    }
+    if (size > offset) {
+      bounds.add(size);
+    }
+    return bounds.stream().mapToLong(Long::longValue).toArray();
+  }
+
+  /**
+   * Returns the offset following the first line end at or after the specified offset.
+   */
+  private static long nextLine(FileChannel channel, long offset, long size) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(4096);
+    while (offset < size) {
+      buffer.clear();
+      int n = channel.read(buffer, offset);
+      if (n < 0)
+        break;
+      for (int i = 0; i < n; i++) {
+        if (buffer.get(i) == '\n')
+          return offset + i + 1;
+      }
+      offset += n;
+    }
+    return size;
+  }
+
+  private QuantityColumns parseChunk(FileChannel channel, long start, long end) {
+    ByteBuffer lines;
+    try {
+      lines = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    ByteBuffer field = lines.duplicate();
+    QuantityReader reader = QuantityReader.of(unitFormat);
+    QuantityColumns columns = new QuantityColumns();
+    int limit = lines.limit();
+    long line = skippedLines; // The chunks start after the skipped lines.
+    for (int lineStart = 0; lineStart < limit;) {
+      int lineEnd = lineStart;
+      while ((lineEnd < limit) && (lines.get(lineEnd) != '\n')) {
+        lineEnd++;
+      }
+      parseLine(reader, lines, field, lineStart, lineEnd, columns, line++, start);
+      lineStart = lineEnd + 1;
+    }
+    return columns;
+  }
+
+  /**
+   * Parses the line <code>text[start, end)</code>, reading its fields through the specified view of the text.
+   */
+  private void parseLine(QuantityReader reader, char[] text, CharBuffer field, int start, int end, QuantityColumns columns, long line) {
+    if (line < skippedLines)
+      return;
+    if ((end > start) && (text[end - 1] == '\r')) {
+      end--;
+    }
+    if (isBlank(text, start, end))
+      return;
+    int fieldIndex = 0;
+    for (int fieldStart = start; fieldStart <= end; fieldIndex++) {
+      int fieldEnd = fieldStart;
+      while ((fieldEnd < end) && (text[fieldEnd] != delimiter)) {
+        fieldEnd++;
+      }
+      if ((column < 0) || (fieldIndex == column)) {
+        field.clear();
+        field.position(fieldStart).limit(fieldEnd);
+        try {
+          reader.read(field);
+        } catch (ParserException e) {
+          throw new ParserException("Invalid quantity at line " + (line + 1) + ": " + e.getMessage(), null, fieldStart - start);
+        }
+        if (field.hasRemaining())
+          throw new ParserException("Invalid quantity at line " + (line + 1), null, field.position() - start);
+        columns.add(reader.getValue(), reader.getUnit());
+        if (fieldIndex == column)
+          return;
+      }
+      fieldStart = fieldEnd + 1;
+    }
+    if (column >= 0)
+      throw new ParserException("Missing column " + column + " at line " + (line + 1), null, 0);
+  }
+
+  /**
+   * Parses the line <code>bytes[start, end)</code>, reading its fields through the specified view of the bytes.
+   */
+  private void parseLine(QuantityReader reader, ByteBuffer bytes, ByteBuffer field, int start, int end, QuantityColumns columns, long line,
+      long offset) {
+    if (line < skippedLines)
+      return;
+    if ((end > start) && (bytes.get(end - 1) == '\r')) {
+      end--;
+    }
+    if (isBlank(bytes, start, end))
+      return;
+    int fieldIndex = 0;
+    for (int fieldStart = start; fieldStart <= end; fieldIndex++) {
+      int fieldEnd = fieldStart;
+      while ((fieldEnd < end) && (bytes.get(fieldEnd) != delimiter)) {
+        fieldEnd++;
+      }
+      if ((column < 0) || (fieldIndex == column)) {
+        field.clear();
+        field.position(fieldStart).limit(fieldEnd);
+        try {
+          reader.read(field);
+        } catch (ParserException e) {
+          throw new ParserException("Invalid quantity at offset " + (offset + fieldStart) + ": " + e.getMessage(), null, 0);
+        }
+        if (field.hasRemaining())
+          throw new ParserException("Invalid quantity at offset " + (offset + field.position()), null, 0);
+        columns.add(reader.getValue(), reader.getUnit());
+        if (fieldIndex == column)
+          return;
+      }
+      fieldStart = fieldEnd + 1;
+    }
+    if (column >= 0)
+      throw new ParserException("Missing column " + column + " at offset " + (offset + start), null, 0);
+  }
+
+  private static boolean isBlank(char[] text, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (text[i] > ' ')
+        return false;
+    }
+    return true;
+  }
+
+  private static boolean isBlank(ByteBuffer bytes, int start, int end) {
+    for (int i = start; i < end; i++) {
+      int b = bytes.get(i);
+      if ((b < 0) || (b > ' '))
+        return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.measure.Unit;
+
+import tec.uom.se.ComparableQuantity;
+import tec.uom.se.quantity.Quantities;
+
+/**
+ * <p>
+ * A growable columnar table of quantities: a <code>double</code> column of values and an <code>int</code> column of unit ids, indexing the table of
+ * the distinct units added (see {@link #getUnits()}). Filled by {@link QuantityBatchParser}.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public final class QuantityColumns {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private double[] values = new double[INITIAL_CAPACITY];
+
+  private int[] unitIds = new int[INITIAL_CAPACITY];
+
+  private int size;
+
+  private final List<Unit<?>> units = new ArrayList<>();
+
+  private final Map<Unit<?>, Integer> ids = new HashMap<>();
+
+  /**
+   * The ids of the unit instances already added, avoiding {@link Unit#hashCode()} for units read again from the same source.
+   */
+  private final Map<Unit<?>, Integer> instanceIds = new IdentityHashMap<>();
+
+  /**
+   * The last unit added and its id (rows often share the unit of the previous one).
+   */
+  private Unit<?> lastUnit;
+  private int lastId;
+
+  /**
+   * Appends a row.
+   *
+   * @param value
+   *          the value of the quantity.
+   * @param unit
+   *          the unit of the quantity.
+   */
+  public void add(double value, Unit<?> unit) {
+    int unitId = idOf(unit);
+    if (size == values.length) {
+      values = Arrays.copyOf(values, 2 * size);
+      unitIds = Arrays.copyOf(unitIds, 2 * size);
+    }
+    values[size] = value;
+    unitIds[size] = unitId;
+    size++;
+  }
+
+  /**
+   * Appends all the rows of the specified columns, mapping their unit ids to the ids of this table.
+   *
+   * @param other
+   *          the columns to append.
+   */
+  public void addAll(QuantityColumns other) {
+    int[] mapping = new int[other.units.size()];
+    for (int id = 0; id < mapping.length; id++) {
+      mapping[id] = idOf(other.units.get(id));
+    }
+    if (size + other.size > values.length) {
+      values = Arrays.copyOf(values, Math.max(size + other.size, 2 * size));
+      unitIds = Arrays.copyOf(unitIds, values.length);
+    }
+    System.arraycopy(other.values, 0, values, size, other.size);
+    for (int i = 0; i < other.size; i++) {
+      unitIds[size + i] = mapping[other.unitIds[i]];
+    }
+    size += other.size;
+  }
+
+  private int idOf(Unit<?> unit) {
+    if (unit == lastUnit)
+      return lastId;
+    Integer id = instanceIds.get(unit);
+    if (id == null) {
+      id = ids.get(unit);
+      if (id == null) {
+        id = units.size();
+        units.add(unit);
+        ids.put(unit, id);
+      }
+      instanceIds.put(unit, id);
+    }
+    lastUnit = unit;
+    lastId = id;
+    return lastId;
+  }
+
+  /**
+   * Returns the number of rows.
+   *
+   * @return the number of quantities held.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the value of the specified row.
+   *
+   * @param row
+   *          the row index.
+   * @return the value of the quantity at this row.
+   */
+  public double getValue(int row) {
+    checkRow(row);
+    return values[row];
+  }
+
+  /**
+   * Returns the unit id of the specified row.
+   *
+   * @param row
+   *          the row index.
+   * @return the index in {@link #getUnits()} of the unit at this row.
+   */
+  public int getUnitId(int row) {
+    checkRow(row);
+    return unitIds[row];
+  }
+
+  /**
+   * Returns the quantity of the specified row.
+   *
+   * @param row
+   *          the row index.
+   * @return the quantity at this row.
+   */
+  public ComparableQuantity<?> get(int row) {
+    checkRow(row);
+    return Quantities.getQuantity(values[row], units.get(unitIds[row]));
+  }
+
+  /**
+   * Returns the distinct units, indexed by unit id.
+   *
+   * @return the unmodifiable unit table.
+   */
+  public List<Unit<?>> getUnits() {
+    return Collections.unmodifiableList(units);
+  }
+
+  /**
+   * Returns a copy of the value column.
+   *
+   * @return the values of all the rows.
+   */
+  public double[] getValues() {
+    return Arrays.copyOf(values, size);
+  }
+
+  /**
+   * Returns a copy of the unit id column.
+   *
+   * @return the unit ids of all the rows.
+   */
+  public int[] getUnitIds() {
+    return Arrays.copyOf(unitIds, size);
+  }
+
+  private void checkRow(int row) {
+    if ((row < 0) || (row >= size))
+      throw new IndexOutOfBoundsException("Row: " + row + ", size: " + size);
+  }
+
+  @Override
+  public String toString() {
+    return "QuantityColumns[size=" + size + ", units=" + units + "]";
+  }
+}
@@ -0,0 +1,458 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+import javax.measure.Unit;
+import javax.measure.format.ParserException;
+import javax.measure.format.UnitFormat;
+
+import tec.uom.se.AbstractUnit;
+import tec.uom.se.ComparableQuantity;
+import tec.uom.se.quantity.Quantities;
+
+/**
+ * <p>
+ * Reads quantities made of a decimal number and an optional unit (e.g. <code>"12.5 km"</code>) directly from a {@link CharBuffer} or from the
+ * ASCII/UTF-8 bytes of a {@link ByteBuffer}, without building intermediate <code>String</code>s.
+ * </p>
+ *
+ * <p>
+ * The number (<code>[+-]digits[.digits][(e|E)[+-]digits]</code>) is parsed in place into a <code>double</code>, exactly as
+ * {@link Double#parseDouble(String)} would. The unit is the following run of non white space characters; it is resolved through an index of the
+ * units already read, keyed by their symbol, and only parsed with the {@link UnitFormat} (by default {@link SimpleUnitFormat}) the first time it is
+ * met. The index is discarded when a label or alias changes any {@link SymbolMap}.
+ * </p>
+ *
+ * <p>
+ * A reader is not thread-safe, each thread should use its own instance. {@link #read(ByteBuffer)} and {@link #read(CharBuffer)} allocate nothing
+ * once the units of the input are indexed, the value and unit read are then available through {@link #getValue()} and {@link #getUnit()}.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public final class QuantityReader {
+
+  /**
+   * The maximum number of units indexed (inputs with more distinct units are parsed anyway).
+   */
+  private static final int MAX_INDEXED_UNITS = 1024;
+
+  /**
+   * The powers of ten exactly represented as doubles.
+   */
+  private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+      1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+  /**
+   * The greatest mantissa exactly represented as a double.
+   */
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+  private final UnitFormat unitFormat;
+
+  private SymbolTrie<Unit<?>> units = SymbolTrie.empty();
+
+  private int unitCount;
+
+  private int generation = ParsedUnitCache.generation();
+
+  /**
+   * Holds the characters decoded from a byte buffer.
+   */
+  private char[] chars = new char[32];
+
+  private CharBuffer charView = CharBuffer.wrap(chars);
+
+  private double value;
+
+  private Unit<?> unit;
+
+  // Number scanning state.
+  private int state;
+  private boolean negative;
+  private long mantissa;
+  private int digits;
+  private int scale;
+  private int exponent;
+  private boolean negativeExponent;
+
+  private QuantityReader(UnitFormat unitFormat) {
+    this.unitFormat = unitFormat;
+  }
+
+  /**
+   * Returns a new reader parsing units with {@link SimpleUnitFormat}.
+   *
+   * @return a new quantity reader.
+   */
+  public static QuantityReader of() {
+    return new QuantityReader(SimpleUnitFormat.getInstance());
+  }
+
+  /**
+   * Returns a new reader parsing units with the specified format.
+   *
+   * @param unitFormat
+   *          the format of the units.
+   * @return a new quantity reader.
+   */
+  public static QuantityReader of(UnitFormat unitFormat) {
+    return new QuantityReader(unitFormat);
+  }
+
+  /**
+   * Reads a quantity from the specified buffer, see {@link #read(CharBuffer)}.
+   *
+   * @param buffer
+   *          the characters to read.
+   * @return the quantity read.
+   * @throws ParserException
+   *           if the characters are not a quantity.
+   */
+  public ComparableQuantity<?> parse(CharBuffer buffer) throws ParserException {
+    read(buffer);
+    return Quantities.getQuantity(value, unit);
+  }
+
+  /**
+   * Reads a quantity from the specified buffer, see {@link #read(ByteBuffer)}.
+   *
+   * @param buffer
+   *          the ASCII or UTF-8 bytes to read.
+   * @return the quantity read.
+   * @throws ParserException
+   *           if the bytes are not a quantity.
+   */
+  public ComparableQuantity<?> parse(ByteBuffer buffer) throws ParserException {
+    read(buffer);
+    return Quantities.getQuantity(value, unit);
+  }
+
+  /**
+   * Reads a number and an optional unit from the position of the specified buffer up to its limit. Leading and trailing white spaces are skipped,
+   * the buffer position is set after them.
+   *
+   * @param buffer
+   *          the characters to read.
+   * @throws ParserException
+   *           if the characters are not a quantity, the buffer position is then unchanged.
+   */
+  public void read(CharBuffer buffer) throws ParserException {
+    int length = buffer.remaining(); // CharBuffer indices are relative to the position.
+    int i = skipWhitespaces(buffer, 0, length);
+    int numberStart = i;
+    beginNumber();
+    while ((i < length) && scanNumber(buffer.charAt(i))) {
+      i++;
+    }
+    if (!isNumber())
+      throw new ParserException("Number cannot be parsed", buffer, buffer.position() + i);
+    double number = toDouble();
+    if (Double.isNaN(number)) {
+      number = Double.parseDouble(buffer.subSequence(numberStart, i).toString());
+    }
+    i = skipWhitespaces(buffer, i, length);
+    int unitStart = i;
+    while ((i < length) && (buffer.charAt(i) > ' ')) {
+      i++;
+    }
+    Unit<?> parsedUnit = unitFor(buffer, unitStart, i);
+    i = skipWhitespaces(buffer, i, length);
+    buffer.position(buffer.position() + i);
+    value = number;
+    unit = parsedUnit;
+  }
+
+  /**
+   * Reads a number and an optional unit from the position of the specified buffer up to its limit. The number must be ASCII, the unit can be any
+   * UTF-8 sequence. Leading and trailing white spaces are skipped, the buffer position is set after them.
+   *
+   * @param buffer
+   *          the ASCII or UTF-8 bytes to read.
+   * @throws ParserException
+   *           if the bytes are not a quantity, the buffer position is then unchanged.
+   */
+  public void read(ByteBuffer buffer) throws ParserException {
+    int limit = buffer.limit();
+    int i = skipWhitespaces(buffer, buffer.position(), limit);
+    int numberStart = i;
+    beginNumber();
+    while ((i < limit) && scanNumber(buffer.get(i))) {
+      i++;
+    }
+    if (!isNumber())
+      throw new ParserException("Number cannot be parsed", null, i);
+    double number = toDouble();
+    if (Double.isNaN(number)) {
+      number = Double.parseDouble(decode(buffer, numberStart, i).toString());
+    }
+    i = skipWhitespaces(buffer, i, limit);
+    int unitStart = i;
+    while ((i < limit) && ((buffer.get(i) < 0) || (buffer.get(i) > ' '))) { // Multi-bytes UTF-8 sequences have their high bit set.
+      i++;
+    }
+    CharBuffer symbol = decode(buffer, unitStart, i);
+    Unit<?> parsedUnit = unitFor(symbol, 0, symbol.remaining());
+    i = skipWhitespaces(buffer, i, limit);
+    buffer.position(i);
+    value = number;
+    unit = parsedUnit;
+  }
+
+  /**
+   * Returns the value of the last quantity read.
+   *
+   * @return the value read.
+   */
+  public double getValue() {
+    return value;
+  }
+
+  /**
+   * Returns the unit of the last quantity read ({@link AbstractUnit#ONE} if there was none).
+   *
+   * @return the unit read.
+   */
+  public Unit<?> getUnit() {
+    return unit;
+  }
+
+  private Unit<?> unitFor(CharSequence csq, int start, int end) {
+    if (start == end)
+      return AbstractUnit.ONE;
+    int current = ParsedUnitCache.generation();
+    if (current != generation) {
+      units = SymbolTrie.empty();
+      unitCount = 0;
+      generation = current;
+    }
+    Unit<?> result = units.get(csq, start, end);
+    if (result == null) {
+      String symbol = csq.subSequence(start, end).toString();
+      result = unitFormat.parse(symbol);
+      if (unitCount < MAX_INDEXED_UNITS) {
+        units = units.put(symbol, result);
+        unitCount++;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Decodes the UTF-8 bytes <code>buffer[start, end)</code> into the characters view (starting at index 0).
+   */
+  private CharBuffer decode(ByteBuffer buffer, int start, int end) {
+    if (chars.length < end - start) { // A UTF-8 sequence has at most as many chars as bytes.
+      chars = new char[Math.max(end - start, 2 * chars.length)];
+      charView = CharBuffer.wrap(chars);
+    }
+    int n = 0;
+    for (int i = start; i < end;) {
+      int b = buffer.get(i++);
+      if (b >= 0) {
+        chars[n++] = (char) b;
+        continue;
+      }
+      int lead = i - 1;
+      int more;
+      int codePoint;
+      int minimum; // The smallest code point needing this many bytes, smaller ones are overlong encodings.
+      if ((b & 0xe0) == 0xc0) {
+        more = 1;
+        codePoint = b & 0x1f;
+        minimum = 0x80;
+      } else if ((b & 0xf0) == 0xe0) {
+        more = 2;
+        codePoint = b & 0x0f;
+        minimum = 0x800;
+      } else if ((b & 0xf8) == 0xf0) {
+        more = 3;
+        codePoint = b & 0x07;
+        minimum = 0x10000;
+      } else {
+        throw new ParserException("Invalid UTF-8 sequence", null, lead);
+      }
+      if (i + more > end)
+        throw new ParserException("Truncated UTF-8 sequence", null, lead);
+      for (; more > 0; more--) {
+        int c = buffer.get(i++);
+        if ((c & 0xc0) != 0x80)
+          throw new ParserException("Invalid UTF-8 sequence", null, i - 1);
+        codePoint = (codePoint << 6) | (c & 0x3f);
+      }
+      if ((codePoint < minimum) || (codePoint > Character.MAX_CODE_POINT)
+          || ((codePoint >= Character.MIN_SURROGATE) && (codePoint <= Character.MAX_SURROGATE)))
+        throw new ParserException("Invalid UTF-8 sequence", null, lead);
+      n += Character.toChars(codePoint, chars, n);
+    }
+    charView.clear();
+    charView.limit(n);
+    return charView;
+  }
+
+  private static int skipWhitespaces(CharSequence csq, int index, int end) {
+    while ((index < end) && (csq.charAt(index) <= ' ')) {
+      index++;
+    }
+    return index;
+  }
+
+  private static int skipWhitespaces(ByteBuffer buffer, int index, int end) {
+    while ((index < end) && (buffer.get(index) >= 0) && (buffer.get(index) <= ' ')) {
+      index++;
+    }
+    return index;
+  }
+
+  //
+  // Number scanning: [+-]? digits* ('.' digits*)? ([eE] [+-]? digits+)? with at least one mantissa digit.
+  //
+
+  private void beginNumber() {
+    state = 0;
+    negative = false;
+    mantissa = 0;
+    digits = 0;
+    scale = 0;
+    exponent = 0;
+    negativeExponent = false;
+  }
+
+  /**
+   * Feeds the next character to the number scanner.
+   *
+   * @return <code>false</code> if the character does not belong to the number.
+   */
+  private boolean scanNumber(int c) {
+    boolean digit = (c >= '0') && (c <= '9');
+    switch (state) {
+      case 0: // Start.
+        if ((c == '+') || (c == '-')) {
+          negative = (c == '-');
+          state = 1;
+          return true;
+        }
+      case 1: // After the sign.
+        if (digit) {
+          mantissaDigit(c - '0', false);
+          state = 2;
+          return true;
+        }
+        if (c == '.') {
+          state = 3;
+          return true;
+        }
+        return false;
+      case 2: // Integer digits.
+        if (digit) {
+          mantissaDigit(c - '0', false);
+          return true;
+        }
+        if (c == '.') {
+          state = 4;
+          return true;
+        }
+        return isExponentMark(c);
+      case 3: // Decimal point without integer digits.
+        if (digit) {
+          mantissaDigit(c - '0', true);
+          state = 4;
+          return true;
+        }
+        return false;
+      case 4: // Fraction digits.
+        if (digit) {
+          mantissaDigit(c - '0', true);
+          return true;
+        }
+        return isExponentMark(c);
+      case 5: // After the exponent mark.
+        if ((c == '+') || (c == '-')) {
+          negativeExponent = (c == '-');
+          state = 6;
+          return true;
+        }
+      case 6: // After the exponent sign.
+      case 7: // Exponent digits.
+        if (digit) {
+          exponent = Math.min(exponent * 10 + (c - '0'), 9999);
+          state = 7;
+          return true;
+        }
+        return false;
+      default:
+        return false;
+    }
+  }
+
+  private boolean isExponentMark(int c) {
+    if ((c == 'e') || (c == 'E')) {
+      state = 5;
+      return true;
+    }
+    return false;
+  }
+
+  private void mantissaDigit(int digit, boolean fraction) {
+    if (fraction) {
+      scale--;
+    }
+    if ((mantissa == 0) && (digit == 0))
+      return; // Leading zero.
+    digits++;
+    if (digits <= 18) {
+      mantissa = mantissa * 10 + digit;
+    } else if (!fraction) {
+      scale++; // Dropped digit, toDouble() falls back to Double.parseDouble anyway.
+    }
+  }
+
+  private boolean isNumber() {
+    return (state == 2) || (state == 4) || (state == 7);
+  }
+
+  /**
+   * Returns the scanned number when it can be computed exactly from its mantissa and a power of ten, otherwise {@link Double#NaN}.
+   */
+  private double toDouble() {
+    if (mantissa == 0)
+      return negative ? -0d : 0d;
+    int power = (negativeExponent ? -exponent : exponent) + scale;
+    if ((digits > 18) || (mantissa > MAX_EXACT_MANTISSA) || (power < -22) || (power > 22))
+      return Double.NaN;
+    double result = (power >= 0) ? mantissa * POWERS_OF_TEN[power] : mantissa / POWERS_OF_TEN[-power];
+    return negative ? -result : result;
+  }
+}
@@ -39,6 +39,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import tec.uom.se.AbstractUnit;
+import tec.uom.se.ConverterCache;
 import tec.uom.se.function.AddConverter;
 import tec.uom.se.function.MultiplyConverter;
 import tec.uom.se.function.RationalConverter;
@@ -292,32 +293,24 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
   protected static class DefaultFormat extends SimpleUnitFormat {
 
     /**
-     * Holds the name to unit mapping.
+     * Holds the name to unit and unit to name mappings (thread-safe, lock-free lookups).
      */
-    final HashMap<String, Unit<?>> _nameToUnit = new HashMap<>();
-
-    /**
-     * Holds the unit to name mapping.
-     */
-    final HashMap<Unit<?>, String> _unitToName = new HashMap<>();
+    final SymbolMap symbolMap = SymbolMap.of();
 
     @Override
     public void label(Unit<?> unit, String label) {
       if (!isValidIdentifier(label))
         throw new IllegalArgumentException("Label: " + label + " is not a valid identifier.");
-      synchronized (this) {
-        _nameToUnit.put(label, unit);
-        _unitToName.put(unit, label);
-      }
+      symbolMap.label(unit, label);
+      ConverterCache.getInstance().invalidate();
     }
 
     @Override
     public void alias(Unit<?> unit, String alias) {
       if (!isValidIdentifier(alias))
         throw new IllegalArgumentException("Alias: " + alias + " is not a valid identifier.");
-      synchronized (this) {
-        _nameToUnit.put(alias, unit);
-      }
+      symbolMap.alias(unit, alias);
+      ConverterCache.getInstance().invalidate();
     }
 
     @Override
@@ -340,7 +333,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
     // Returns the name for the specified unit or null if product unit.
     public String nameFor(Unit<?> unit) {
       // Searches label database.
-      String label = _unitToName.get(unit);
+      String label = symbolMap.getSymbol(unit);
       if (label != null)
         return label;
       if (unit instanceof BaseUnit)
@@ -397,7 +390,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 
     // Returns the unit for the specified name.
     public Unit<?> unitFor(String name) {
-      Unit<?> unit = _nameToUnit.get(name);
+      Unit<?> unit = symbolMap.getUnit(name);
       if (unit != null)
         return unit;
       unit = SYMBOL_TO_UNIT.get(name);
@@ -406,12 +399,21 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 
     // //////////////////////////
     // Parsing.
+    // Returns the unit for the name made of the characters csq[start, end) or null if none.
+    Unit<?> unitFor(CharSequence csq, int start, int end) {
+      Unit<?> unit = symbolMap.getUnit(csq, start, end);
+      if (unit != null)
+        return unit;
+      return unitFor(csq.subSequence(start, end).toString());
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public Unit<? extends Quantity> parseSingleUnit(CharSequence csq, ParsePosition pos) throws ParserException {
       int startIndex = pos.getIndex();
-      String name = readIdentifier(csq, pos);
-      Unit unit = unitFor(name);
-      check(unit != null, name + " not recognized", csq, startIndex);
+      int endIndex = identifierEnd(csq, startIndex);
+      Unit unit = unitFor(csq, startIndex, endIndex);
+      check(unit != null, csq.subSequence(startIndex, endIndex) + " not recognized", csq, startIndex);
+      pos.setIndex(endIndex);
       return unit;
     }
 
@@ -653,14 +655,12 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
       return Double.parseDouble(csq.subSequence(start, end).toString());
     }
 
-    private String readIdentifier(CharSequence csq, ParsePosition pos) {
+    private static int identifierEnd(CharSequence csq, int start) {
       final int length = csq.length();
-      int start = pos.getIndex();
       int i = start;
       while ((++i < length) && isUnitIdentifierPart(csq.charAt(i))) {
       }
-      pos.setIndex(i);
-      return csq.subSequence(start, i).toString();
+      return i;
     }
 
     // //////////////////////////
@@ -748,7 +748,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
 
     @Override
     public Unit<?> parse(CharSequence csq) throws ParserException {
-      return parse(csq, 0);
+      return parseCached(csq);
     }
 
     @Override
@@ -774,7 +774,7 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
     @Override
     public String nameFor(Unit<?> unit) {
       // First search if specific ASCII name should be used.
-      String name = _unitToName.get(unit);
+      String name = symbolMap.getSymbol(unit);
       if (name != null)
         return name;
       // Else returns default name.
@@ -784,13 +784,23 @@ public abstract class SimpleUnitFormat extends AbstractUnitFormat {
     @Override
     public Unit<?> unitFor(String name) {
       // First search if specific ASCII name.
-      Unit<?> unit = _nameToUnit.get(name);
+      Unit<?> unit = symbolMap.getUnit(name);
       if (unit != null)
         return unit;
       // Else returns default mapping.
       return DEFAULT.unitFor(name);
     }
 
+    @Override
+    Unit<?> unitFor(CharSequence csq, int start, int end) {
+      // First search if specific ASCII name.
+      Unit<?> unit = symbolMap.getUnit(csq, start, end);
+      if (unit != null)
+        return unit;
+      // Else returns default mapping.
+      return DEFAULT.unitFor(csq, start, end);
+    }
+
     @Override
     public Appendable format(Unit<?> unit, Appendable appendable) throws IOException {
       String name = nameFor(unit);
@@ -38,10 +38,9 @@ import javax.measure.UnitConverter;
 
 import java.lang.reflect.Field;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -60,9 +59,15 @@ import java.util.logging.Logger;
  * whereas labels map in both directions. A given unit may have any number of aliases, but may have only one label.
  * </p>
  *
+ * <p>
+ * This class is thread-safe. Lookups are hash based and never lock, so that a symbol map can be shared by many parsing threads while being updated
+ * through {@link #label(Unit, String) label} or {@link #alias(Unit, String) alias}. Updates are serialized and each mapping is published
+ * atomically.
+ * </p>
+ *
  * @author <a href="mailto:eric-r@northwestern.edu">Eric Russell</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 5.3, March 20, 2014
+ * @version 5.4, October 18, 2016
  */
 @SuppressWarnings("rawtypes")
 public final class SymbolMap {
@@ -70,19 +75,34 @@ public final class SymbolMap {
 
   private final Map<String, Unit<?>> symbolToUnit;
   private final Map<Unit<?>, String> unitToSymbol;
-  private final Map<String, Object> symbolToPrefix;
-  private final Map<Object, String> prefixToSymbol;
+  private final Map<String, MetricPrefix> symbolToPrefix;
+  private final Map<MetricPrefix, String> prefixToSymbol;
   private final Map<UnitConverter, MetricPrefix> converterToPrefix;
 
+  /**
+   * Holds the length of the longest prefix symbol.
+   */
+  private volatile int maxPrefixLength;
+
+  /**
+   * Holds the unit symbols (labels and aliases) trie, extended on each update.
+   */
+  private volatile SymbolTrie<Unit<?>> unitTrie = SymbolTrie.empty();
+
+  /**
+   * Holds the prefix symbols trie, extended on each update.
+   */
+  private volatile SymbolTrie<MetricPrefix> prefixTrie = SymbolTrie.empty();
+
   /**
    * Creates an empty mapping.
    */
   private SymbolMap() {
-    symbolToUnit = new TreeMap<>();
-    unitToSymbol = new HashMap<>();
-    symbolToPrefix = new TreeMap<>();
-    prefixToSymbol = new HashMap<>();
-    converterToPrefix = new HashMap<>();
+    symbolToUnit = new ConcurrentHashMap<>();
+    unitToSymbol = new ConcurrentHashMap<>();
+    symbolToPrefix = new ConcurrentHashMap<>();
+    prefixToSymbol = new ConcurrentHashMap<>();
+    converterToPrefix = new ConcurrentHashMap<>();
   }
 
   /**
@@ -139,6 +159,13 @@ public final class SymbolMap {
     return new SymbolMap(rb);
   }
 
+  /**
+   * Creates an empty symbol map.
+   */
+  static SymbolMap of() {
+    return new SymbolMap();
+  }
+
   /**
    * Attaches a label to the specified unit. For example:[code] symbolMap.label(DAY.multiply(365), "year"); symbolMap.label(NonUnits.FOOT, "ft");
    * [/code]
@@ -148,9 +175,11 @@ public final class SymbolMap {
    * @param symbol
    *          the new symbol for the unit.
    */
-  public void label(Unit<?> unit, String symbol) {
+  public synchronized void label(Unit<?> unit, String symbol) {
     symbolToUnit.put(symbol, unit);
     unitToSymbol.put(unit, symbol);
+    unitTrie = unitTrie.put(symbol, unit);
+    ParsedUnitCache.invalidateAll();
   }
 
   /**
@@ -163,18 +192,24 @@ public final class SymbolMap {
    * @param symbol
    *          the new symbol for the unit.
    */
-  public void alias(Unit<?> unit, String symbol) {
+  public synchronized void alias(Unit<?> unit, String symbol) {
     symbolToUnit.put(symbol, unit);
+    unitTrie = unitTrie.put(symbol, unit);
+    ParsedUnitCache.invalidateAll();
   }
 
   /**
    * Attaches a label to the specified prefix. For example:[code] symbolMap.label(MetricPrefix.GIGA, "G"); symbolMap.label(MetricPrefix.MICRO, "µ");
    * [/code]
    */
-  public void label(MetricPrefix prefix, String symbol) {
+  public synchronized void label(MetricPrefix prefix, String symbol) {
+    if (symbol.length() > maxPrefixLength)
+      maxPrefixLength = symbol.length(); // Before publishing the symbol.
     symbolToPrefix.put(symbol, prefix);
     prefixToSymbol.put(prefix, symbol);
     converterToPrefix.put(prefix.getConverter(), prefix);
+    prefixTrie = prefixTrie.put(symbol, prefix);
+    ParsedUnitCache.invalidateAll();
   }
 
   /**
@@ -188,6 +223,50 @@ public final class SymbolMap {
     return symbolToUnit.get(symbol);
   }
 
+  /**
+   * Returns the unit for the symbol made of the characters <code>csq[start, end)</code>, without allocating.
+   *
+   * @param csq
+   *          the characters.
+   * @param start
+   *          the index of the first character of the symbol.
+   * @param end
+   *          the index after the last character of the symbol.
+   * @return the corresponding unit or <code>null</code> if none.
+   */
+  public Unit<?> getUnit(CharSequence csq, int start, int end) {
+    return unitTrie.get(csq, start, end);
+  }
+
+  /**
+   * Returns the unit for the symbol made of the characters <code>csq[start, end)</code>, optionally preceded by a prefix symbol. A unit symbol
+   * matching the whole range takes precedence (e.g. "Pa" or "min"); otherwise the longest prefix followed by a unit symbol is used (e.g. "km").
+   *
+   * @param csq
+   *          the characters.
+   * @param start
+   *          the index of the first character of the symbol.
+   * @param end
+   *          the index after the last character of the symbol.
+   * @return the corresponding (possibly prefixed) unit or <code>null</code> if none.
+   */
+  public Unit<?> getPrefixedUnit(CharSequence csq, int start, int end) {
+    SymbolTrie<Unit<?>> units = unitTrie;
+    Unit<?> unit = units.get(csq, start, end);
+    if (unit != null)
+      return unit;
+    SymbolTrie<MetricPrefix> prefixes = prefixTrie;
+    for (int n = Math.min(maxPrefixLength, end - start - 1); n > 0; n--) {
+      MetricPrefix prefix = prefixes.get(csq, start, start + n);
+      if (prefix != null) {
+        unit = units.get(csq, start + n, end);
+        if (unit instanceof AbstractUnit)
+          return ((AbstractUnit<?>) unit).transform(prefix.getConverter());
+      }
+    }
+    return null;
+  }
+
   /**
    * Returns the symbol (label) for the specified unit.
    *
@@ -200,17 +279,18 @@ public final class SymbolMap {
   }
 
   /**
-   * Returns the prefix (if any) for the specified symbol.
+   * Returns the prefix (if any) for the specified symbol. When several prefix symbols match (for example "d" and "da" for "dam"), the longest one
+   * is returned.
    *
    * @param symbol
    *          the unit symbol.
    * @return the corresponding prefix or <code>null</code> if none.
    */
   public MetricPrefix getPrefix(String symbol) {
-    for (String pfSymbol : symbolToPrefix.keySet()) {
-      if (symbol.startsWith(pfSymbol)) {
-        return (MetricPrefix) symbolToPrefix.get(pfSymbol);
-      }
+    for (int n = Math.min(maxPrefixLength, symbol.length()); n > 0; n--) {
+      MetricPrefix prefix = symbolToPrefix.get(symbol.substring(0, n));
+      if (prefix != null)
+        return prefix;
     }
     return null;
   }
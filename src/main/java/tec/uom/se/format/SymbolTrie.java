@@ -0,0 +1,155 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * An immutable character trie from symbols to values, used to resolve unit and prefix symbols directly from a {@link CharSequence} range without
+ * building a <code>String</code>.
+ * </p>
+ *
+ * <p>
+ * {@link #put(CharSequence, Object) put} returns a new trie which shares all the nodes not on the path of the inserted symbol (path copying), so
+ * that a trie can be extended incrementally and published to concurrent readers without locking.
+ * </p>
+ *
+ * @param <V>
+ *          the type of the values.
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+final class SymbolTrie<V> {
+
+  private static final char[] NO_KEYS = new char[0];
+
+  private static final Node<?>[] NO_CHILDREN = new Node<?>[0];
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static final SymbolTrie<?> EMPTY = new SymbolTrie(new Node(NO_KEYS, NO_CHILDREN, null));
+
+  /**
+   * Holds the root node.
+   */
+  private final Node<V> root;
+
+  private SymbolTrie(Node<V> root) {
+    this.root = root;
+  }
+
+  /**
+   * Returns the empty trie.
+   */
+  @SuppressWarnings("unchecked")
+  static <V> SymbolTrie<V> empty() {
+    return (SymbolTrie<V>) EMPTY;
+  }
+
+  /**
+   * Returns a trie holding the mappings of this trie plus the specified one (replacing any previous value for the same symbol).
+   *
+   * @param symbol
+   *          the non-empty symbol.
+   * @param value
+   *          the value for the symbol.
+   * @return the extended trie (this trie is not modified).
+   */
+  SymbolTrie<V> put(CharSequence symbol, V value) {
+    if (symbol.length() == 0)
+      throw new IllegalArgumentException("Empty symbol");
+    return new SymbolTrie<>(root.put(symbol, 0, value));
+  }
+
+  /**
+   * Returns the value for the symbol made of the characters <code>csq[start, end)</code>.
+   *
+   * @param csq
+   *          the characters.
+   * @param start
+   *          the index of the first character of the symbol.
+   * @param end
+   *          the index after the last character of the symbol.
+   * @return the corresponding value or <code>null</code> if none.
+   */
+  V get(CharSequence csq, int start, int end) {
+    if (start >= end)
+      return null;
+    Node<V> node = root;
+    for (int i = start; i < end; i++) {
+      node = node.child(csq.charAt(i));
+      if (node == null)
+        return null;
+    }
+    return node.value;
+  }
+
+  private static final class Node<V> {
+    final char[] keys; // Sorted.
+    final Node<V>[] children;
+    final V value;
+
+    Node(char[] keys, Node<V>[] children, V value) {
+      this.keys = keys;
+      this.children = children;
+      this.value = value;
+    }
+
+    Node<V> child(char c) {
+      int i = Arrays.binarySearch(keys, c);
+      return (i < 0) ? null : children[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    Node<V> put(CharSequence symbol, int index, V v) {
+      if (index == symbol.length())
+        return new Node<>(keys, children, v);
+      char c = symbol.charAt(index);
+      int i = Arrays.binarySearch(keys, c);
+      if (i >= 0) {
+        Node<V>[] newChildren = children.clone();
+        newChildren[i] = children[i].put(symbol, index + 1, v);
+        return new Node<>(keys, newChildren, value);
+      }
+      i = -i - 1;
+      char[] newKeys = new char[keys.length + 1];
+      Node<V>[] newChildren = new Node[children.length + 1];
+      System.arraycopy(keys, 0, newKeys, 0, i);
+      System.arraycopy(children, 0, newChildren, 0, i);
+      newKeys[i] = c;
+      newChildren[i] = new Node<V>(NO_KEYS, (Node<V>[]) NO_CHILDREN, null).put(symbol, index + 1, v);
+      System.arraycopy(keys, i, newKeys, i + 1, keys.length - i);
+      System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+      return new Node<>(newKeys, newChildren, value);
+    }
+  }
+}
@@ -34,8 +34,6 @@ import java.math.BigDecimal;
 import java.math.MathContext;
 import java.util.Objects;
 
-import javax.measure.UnitConverter;
-
 import tec.uom.lib.common.function.ValueSupplier;
 import tec.uom.se.AbstractConverter;
 
@@ -82,14 +80,6 @@ public final class AddConverter extends AbstractConverter implements ValueSuppli
     return offset;
   }
 
-  @Override
-  public UnitConverter concatenate(UnitConverter converter) {
-    if (!(converter instanceof AddConverter))
-      return super.concatenate(converter);
-    double newOffset = offset + ((AddConverter) converter).offset;
-    return newOffset == 0.0 ? IDENTITY : new AddConverter(newOffset);
-  }
-
   @Override
   public AddConverter inverse() {
     return new AddConverter(-offset);
@@ -100,6 +90,14 @@ public final class AddConverter extends AbstractConverter implements ValueSuppli
     return value + offset;
   }
 
+  @Override
+  protected void convertArray(double[] source, int sourceOffset, double[] destination, int destinationOffset, int length) {
+    double offset = this.offset;
+    for (int i = 0; i < length; i++) {
+      destination[destinationOffset + i] = source[sourceOffset + i] + offset;
+    }
+  }
+
   @Override
   public BigDecimal convert(BigDecimal value, MathContext ctx) throws ArithmeticException {
     return value.add(BigDecimal.valueOf(offset), ctx);
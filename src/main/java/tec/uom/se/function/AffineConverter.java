@@ -0,0 +1,156 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+
+import tec.uom.se.AbstractConverter;
+
+/**
+ * <p>
+ * This class represents an affine converter <code>y = a * x + b</code>, the linear part <code>a</code> being a scaling converter (e.g. a
+ * {@link RationalConverter} or a {@link MultiplyConverter}) and <code>b</code> a constant offset.
+ * </p>
+ * 
+ * <p>
+ * Instances are created by the normalization of converter chains (see {@link ConverterNormalizer}), e.g. when a scaled unit is shifted.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public final class AffineConverter extends AbstractConverter {
+
+  /**
+   * 
+   */
+  private static final long serialVersionUID = -3587420218557296380L;
+
+  /**
+   * Holds the linear part.
+   */
+  private final AbstractConverter linear;
+
+  /**
+   * Holds the offset (applied after the linear part).
+   */
+  private final double offset;
+
+  /**
+   * Creates an affine converter scaling with the specified linear converter, then adding the specified offset.
+   *
+   * @param linear
+   *          the linear part, not the identity.
+   * @param offset
+   *          the offset, not <code>0</code>.
+   * @throws IllegalArgumentException
+   *           if the linear part is not linear or is the identity, or if the offset is <code>0</code> (use an {@link AddConverter})
+   */
+  public AffineConverter(AbstractConverter linear, double offset) {
+    if (!linear.isLinear() || linear.isIdentity())
+      throw new IllegalArgumentException("Linear part must be a non-identity linear converter");
+    if (offset == 0.0)
+      throw new IllegalArgumentException("Zero offset, use the linear converter");
+    this.linear = linear;
+    this.offset = offset;
+  }
+
+  /**
+   * Returns the linear part of this converter.
+   *
+   * @return the scaling converter.
+   */
+  public AbstractConverter getLinear() {
+    return linear;
+  }
+
+  /**
+   * Returns the offset added after scaling.
+   *
+   * @return the offset.
+   */
+  public double getOffset() {
+    return offset;
+  }
+
+  @Override
+  public double convert(double value) {
+    return linear.convert(value) + offset;
+  }
+
+  @Override
+  protected void convertArray(double[] source, int sourceOffset, double[] destination, int destinationOffset, int length) {
+    linear.convert(source, sourceOffset, destination, destinationOffset, length);
+    double offset = this.offset;
+    for (int i = 0; i < length; i++) {
+      destination[destinationOffset + i] += offset;
+    }
+  }
+
+  @Override
+  public BigDecimal convert(BigDecimal value, MathContext ctx) throws ArithmeticException {
+    return linear.convert(value, ctx).add(BigDecimal.valueOf(offset), ctx);
+  }
+
+  @Override
+  public AbstractConverter inverse() {
+    return linear.inverse().concatenate(new AddConverter(-offset));
+  }
+
+  @Override
+  public final String toString() {
+    return "AffineConverter(" + linear + "," + offset + ")";
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof AffineConverter) {
+      AffineConverter that = (AffineConverter) obj;
+      return Objects.equals(linear, that.linear) && Objects.equals(offset, that.offset);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(linear, offset);
+  }
+
+  @Override
+  public boolean isLinear() {
+    return false;
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.measure.UnitConverter;
+
+import tec.uom.se.AbstractConverter;
+
+/**
+ * <p>
+ * This utility class normalizes converter chains. Adjacent {@link RationalConverter}, {@link MultiplyConverter}, {@link PiMultiplierConverter},
+ * {@link PowerOfPiConverter} and <code>1/π</code> converters are folded into a single scaling factor, {@link AddConverter} offsets into the same
+ * affine step, so that every linear (or affine) chain collapses to at most one <code>a * x + b</code> converter.
+ * </p>
+ * 
+ * <p>
+ * The result is exact whenever the factors are: rational factors stay a {@link RationalConverter}, rational and π factors a
+ * {@link PowerOfPiConverter}; only a <code>double</code> factor (a {@link MultiplyConverter}) yields a <code>double</code> based converter.
+ * Other converters (e.g. {@link LogConverter}) are kept as they are and delimit the folded runs.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public final class ConverterNormalizer {
+
+  private ConverterNormalizer() {
+  }
+
+  /**
+   * Returns the normalized concatenation of the specified converters, equivalent to first converting by the right converter, then by the left
+   * converter.
+   *
+   * @param left
+   *          the converter applied last.
+   * @param right
+   *          the converter applied first.
+   * @return the normalized concatenation.
+   */
+  public static AbstractConverter concatenate(UnitConverter left, UnitConverter right) {
+    List<UnitConverter> steps = new ArrayList<>(left.getConversionSteps());
+    steps.addAll(right.getConversionSteps());
+    return normalize(steps);
+  }
+
+  /**
+   * Returns the normalized form of the specified converter.
+   *
+   * @param converter
+   *          the converter to normalize.
+   * @return the normalized converter.
+   */
+  public static AbstractConverter normalize(UnitConverter converter) {
+    return normalize(new ArrayList<>(converter.getConversionSteps()));
+  }
+
+  /**
+   * Indicates if the specified converter can be folded into an affine step.
+   *
+   * @param converter
+   *          the converter to test.
+   * @return <code>true</code> if the converter is linear or affine with a known factor and offset; <code>false</code> otherwise.
+   */
+  public static boolean isAffine(UnitConverter converter) {
+    return converter.isIdentity() || (converter instanceof RationalConverter) || (converter instanceof MultiplyConverter)
+        || (converter instanceof AddConverter) || (converter instanceof PiMultiplierConverter) || (converter instanceof PiDivisorConverter)
+        || (converter instanceof PowerOfPiConverter) || (converter instanceof AffineConverter);
+  }
+
+  // Steps are in concatenation order, the last step is applied first.
+  private static AbstractConverter normalize(List<UnitConverter> steps) {
+    List<UnitConverter> result = new ArrayList<>(steps.size());
+    Affine run = null;
+    for (UnitConverter step : steps) {
+      if (isAffine(step)) {
+        Affine affine = Affine.of(step);
+        run = (run == null) ? affine : run.concatenate(affine);
+      } else {
+        if (run != null) {
+          add(result, run.toConverter());
+          run = null;
+        }
+        result.add(step);
+      }
+    }
+    if (run != null)
+      add(result, run.toConverter());
+    if (result.isEmpty())
+      return AbstractConverter.IDENTITY;
+    int last = result.size() - 1;
+    UnitConverter converter = result.get(last);
+    if (last == 0)
+      return (converter instanceof AbstractConverter) ? (AbstractConverter) converter : new AbstractConverter.Pair(AbstractConverter.IDENTITY,
+          converter);
+    for (int i = last - 1; i >= 0; i--) {
+      converter = new AbstractConverter.Pair(result.get(i), converter);
+    }
+    return (AbstractConverter) converter;
+  }
+
+  private static void add(List<UnitConverter> result, AbstractConverter converter) {
+    if (!converter.isIdentity())
+      result.add(converter);
+  }
+
+  /**
+   * An affine transform <code>(dividend / divisor) * π^piExponent * factor * x + offset</code>.
+   */
+  private static final class Affine {
+
+    private final BigInteger dividend;
+
+    private final BigInteger divisor;
+
+    private final int piExponent;
+
+    private final double factor;
+
+    private final double offset;
+
+    private Affine(BigInteger dividend, BigInteger divisor, int piExponent, double factor, double offset) {
+      BigInteger gcd = dividend.gcd(divisor);
+      if (divisor.signum() < 0)
+        gcd = gcd.negate();
+      this.dividend = dividend.divide(gcd);
+      this.divisor = divisor.divide(gcd);
+      this.piExponent = piExponent;
+      this.factor = factor;
+      this.offset = offset;
+    }
+
+    private static Affine scale(BigInteger dividend, BigInteger divisor, int piExponent) {
+      return new Affine(dividend, divisor, piExponent, 1.0, 0.0);
+    }
+
+    static Affine of(UnitConverter converter) {
+      if (converter instanceof RationalConverter) {
+        RationalConverter rational = (RationalConverter) converter;
+        return scale(rational.getDividend(), rational.getDivisor(), 0);
+      }
+      if (converter instanceof MultiplyConverter)
+        return new Affine(BigInteger.ONE, BigInteger.ONE, 0, ((MultiplyConverter) converter).getFactor(), 0.0);
+      if (converter instanceof AddConverter)
+        return new Affine(BigInteger.ONE, BigInteger.ONE, 0, 1.0, ((AddConverter) converter).getOffset());
+      if (converter instanceof PiMultiplierConverter)
+        return scale(BigInteger.ONE, BigInteger.ONE, 1);
+      if (converter instanceof PiDivisorConverter)
+        return scale(BigInteger.ONE, BigInteger.ONE, -1);
+      if (converter instanceof PowerOfPiConverter) {
+        PowerOfPiConverter pi = (PowerOfPiConverter) converter;
+        return scale(pi.getDividend(), pi.getDivisor(), pi.getExponent());
+      }
+      if (converter instanceof AffineConverter) {
+        AffineConverter affine = (AffineConverter) converter;
+        Affine linear = of(affine.getLinear());
+        return new Affine(linear.dividend, linear.divisor, linear.piExponent, linear.factor, affine.getOffset());
+      }
+      return scale(BigInteger.ONE, BigInteger.ONE, 0); // Identity.
+    }
+
+    // Returns this o that (that is applied first).
+    Affine concatenate(Affine that) {
+      return new Affine(dividend.multiply(that.dividend), divisor.multiply(that.divisor), piExponent + that.piExponent, factor * that.factor,
+          (that.offset == 0.0) ? offset : scale() * that.offset + offset);
+    }
+
+    private double scale() {
+      double value = dividend.doubleValue() / divisor.doubleValue() * factor;
+      return (piExponent == 0) ? value : value * Math.pow(Math.PI, piExponent);
+    }
+
+    AbstractConverter toConverter() {
+      AbstractConverter linear = linear();
+      if (offset == 0.0)
+        return linear;
+      return linear.isIdentity() ? new AddConverter(offset) : new AffineConverter(linear, offset);
+    }
+
+    private AbstractConverter linear() {
+      if (factor != 1.0) {
+        double value = scale();
+        return (value == 1.0) ? AbstractConverter.IDENTITY : new MultiplyConverter(value);
+      }
+      boolean unity = dividend.equals(divisor);
+      if (piExponent == 0)
+        return unity ? AbstractConverter.IDENTITY : new RationalConverter(dividend, divisor);
+      if (unity && (piExponent == 1))
+        return new PiMultiplierConverter();
+      if (unity && (piExponent == -1))
+        return new PiDivisorConverter();
+      return new PowerOfPiConverter(dividend, divisor, piExponent);
+    }
+  }
+}
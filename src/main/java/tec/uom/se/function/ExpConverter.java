@@ -122,6 +122,14 @@ public final class ExpConverter extends AbstractConverter implements ValueSuppli
     return Math.exp(logOfBase * amount);
   }
 
+  @Override
+  protected void convertArray(double[] source, int sourceOffset, double[] destination, int destinationOffset, int length) {
+    double logOfBase = this.logOfBase;
+    for (int i = 0; i < length; i++) {
+      destination[destinationOffset + i] = Math.exp(logOfBase * source[sourceOffset + i]);
+    }
+  }
+
   @Override
   public BigDecimal convert(BigDecimal value, MathContext ctx) throws ArithmeticException {
     return BigDecimal.valueOf(convert(value.doubleValue())); // Reverts to
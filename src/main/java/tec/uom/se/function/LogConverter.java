@@ -119,6 +119,14 @@ public final class LogConverter extends AbstractConverter implements ValueSuppli
     return Math.log(amount) / logOfBase;
   }
 
+  @Override
+  protected void convertArray(double[] source, int sourceOffset, double[] destination, int destinationOffset, int length) {
+    double logOfBase = this.logOfBase;
+    for (int i = 0; i < length; i++) {
+      destination[destinationOffset + i] = Math.log(source[sourceOffset + i]) / logOfBase;
+    }
+  }
+
   @Override
   public BigDecimal convert(BigDecimal value, MathContext ctx) throws ArithmeticException {
     return BigDecimal.valueOf(convert(value.doubleValue())); // Reverts to
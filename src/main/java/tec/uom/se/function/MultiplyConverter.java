@@ -29,8 +29,6 @@
  */
 package tec.uom.se.function;
 
-import javax.measure.UnitConverter;
-
 import tec.uom.lib.common.function.DoubleFactorSupplier;
 import tec.uom.lib.common.function.ValueSupplier;
 import tec.uom.se.AbstractConverter;
@@ -84,14 +82,6 @@ public final class MultiplyConverter extends AbstractConverter implements ValueS
     return factor;
   }
 
-  @Override
-  public UnitConverter concatenate(UnitConverter converter) {
-    if (!(converter instanceof MultiplyConverter))
-      return super.concatenate(converter);
-    double newfactor = factor * ((MultiplyConverter) converter).factor;
-    return newfactor == 1.0 ? IDENTITY : new MultiplyConverter(newfactor);
-  }
-
   @Override
   public MultiplyConverter inverse() {
     return new MultiplyConverter(1.0 / factor);
@@ -102,6 +92,14 @@ public final class MultiplyConverter extends AbstractConverter implements ValueS
     return value * factor;
   }
 
+  @Override
+  protected void convertArray(double[] source, int sourceOffset, double[] destination, int destinationOffset, int length) {
+    double factor = this.factor;
+    for (int i = 0; i < length; i++) {
+      destination[destinationOffset + i] = source[sourceOffset + i] * factor;
+    }
+  }
+
   @Override
   public BigDecimal convert(BigDecimal value, MathContext ctx) throws ArithmeticException {
     return value.multiply(BigDecimal.valueOf(factor), ctx);
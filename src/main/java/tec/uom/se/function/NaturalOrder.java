@@ -30,11 +30,16 @@
 package tec.uom.se.function;
 
 import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
 
 /**
- * Comparator to sort by natural order, looking both the unit and the value.
+ * Comparator to sort by natural order, looking both the unit and the value. Quantities in different units are compared in their system unit, the
+ * converter of each unit being resolved once per comparator.
  * 
  * @author <a href="mailto:werner@uom.technology">Werner Keil</a>
  * @author <a href="mailto:otaviopolianasantana@gmail.com">Otavio Santana</a>
@@ -57,11 +62,27 @@ import javax.measure.Quantity;
  */
 public class NaturalOrder<T extends Quantity<T>> implements Comparator<Quantity<T>> {
 
+  /**
+   * Holds the converters from the units compared so far to their system unit.
+   */
+  private final ConcurrentMap<Unit<T>, UnitConverter> converters = new ConcurrentHashMap<>();
+
   @Override
   public int compare(Quantity<T> q1, Quantity<T> q2) {
-    if (q1.getUnit().equals(q2.getUnit())) {
+    Unit<T> unit1 = q1.getUnit();
+    Unit<T> unit2 = q2.getUnit();
+    if (unit1.equals(unit2)) {
       return Double.compare(q1.getValue().doubleValue(), q2.getValue().doubleValue());
     }
-    return Double.compare(q1.getValue().doubleValue(), q2.to(q1.getUnit()).getValue().doubleValue());
+    return Double.compare(toSystemUnit(unit1).convert(q1.getValue().doubleValue()), toSystemUnit(unit2).convert(q2.getValue().doubleValue()));
+  }
+
+  private UnitConverter toSystemUnit(Unit<T> unit) {
+    UnitConverter converter = converters.get(unit);
+    if (converter == null) {
+      converter = unit.getConverterTo(unit.getSystemUnit());
+      converters.putIfAbsent(unit, converter);
+    }
+    return converter;
   }
 }
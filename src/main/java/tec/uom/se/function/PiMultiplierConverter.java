@@ -71,7 +71,7 @@ public final class PiMultiplierConverter extends AbstractConverter implements Va
     if (nbrDigits == 0)
       throw new ArithmeticException("Pi multiplication with unlimited precision");
     BigDecimal pi = Pi.pi(nbrDigits);
-    return value.multiply(pi, ctx).scaleByPowerOfTen(1 - nbrDigits);
+    return value.multiply(pi, ctx);
   }
 
   @Override
@@ -122,7 +122,7 @@ public final class PiMultiplierConverter extends AbstractConverter implements Va
       BigDecimal xpower = new BigDecimal(sum.toString());
       BigDecimal term = null;
       boolean add = false;
-      for (BigDecimal n = new BigDecimal("3"); term == null || !term.equals(BigDecimal.ZERO); n = n.add(TWO)) {
+      for (BigDecimal n = new BigDecimal("3"); term == null || term.signum() != 0; n = n.add(TWO)) {
         xpower = xpower.divide(x.pow(2), RoundingMode.DOWN);
         term = xpower.divide(n, RoundingMode.DOWN);
         sum = add ? sum.add(term) : sum.subtract(term);
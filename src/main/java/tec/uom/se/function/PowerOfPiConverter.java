@@ -0,0 +1,209 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Objects;
+
+import tec.uom.lib.common.function.DoubleFactorSupplier;
+import tec.uom.se.AbstractConverter;
+
+/**
+ * <p>
+ * This class represents a converter multiplying numeric values by an exact rational factor times an integer power of π (Pi), for example
+ * <code>π/180</code> for the conversion from degrees to radians.
+ * </p>
+ * 
+ * <p>
+ * Instances are created by the normalization of converter chains (see {@link ConverterNormalizer}), which folds rational and π factors together
+ * without losing exactness.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public final class PowerOfPiConverter extends AbstractConverter implements DoubleFactorSupplier {
+
+  /**
+   * 
+   */
+  private static final long serialVersionUID = 2417146253452313652L;
+
+  /**
+   * Holds the rational dividend.
+   */
+  private final BigInteger dividend;
+
+  /**
+   * Holds the rational divisor (always positive).
+   */
+  private final BigInteger divisor;
+
+  /**
+   * Holds the power of π.
+   */
+  private final int exponent;
+
+  /**
+   * Holds the scaling factor as a <code>double</code>.
+   */
+  private final double factor;
+
+  /**
+   * Creates a converter multiplying by <code>(dividend / divisor) * π^exponent</code>.
+   *
+   * @param dividend
+   *          the dividend.
+   * @param divisor
+   *          the positive divisor.
+   * @param exponent
+   *          the power of π.
+   * @throws IllegalArgumentException
+   *           if <code>divisor &lt;= 0</code>
+   * @throws IllegalArgumentException
+   *           if <code>exponent == 0</code> (use a {@link RationalConverter})
+   */
+  public PowerOfPiConverter(BigInteger dividend, BigInteger divisor, int exponent) {
+    if (divisor.signum() <= 0)
+      throw new IllegalArgumentException("Negative or zero divisor");
+    if (exponent == 0)
+      throw new IllegalArgumentException("Zero power of Pi, use a RationalConverter");
+    this.dividend = dividend;
+    this.divisor = divisor;
+    this.exponent = exponent;
+    this.factor = dividend.doubleValue() / divisor.doubleValue() * Math.pow(PI, exponent);
+  }
+
+  /**
+   * Convenience method equivalent to <code>new PowerOfPiConverter(BigInteger.ONE, BigInteger.ONE, exponent)</code>
+   *
+   * @param exponent
+   *          the power of π.
+   * @throws IllegalArgumentException
+   *           if <code>exponent == 0</code>
+   */
+  public static PowerOfPiConverter of(int exponent) {
+    return new PowerOfPiConverter(BigInteger.ONE, BigInteger.ONE, exponent);
+  }
+
+  /**
+   * Returns the integer dividend of the rational part.
+   *
+   * @return this converter dividend.
+   */
+  public BigInteger getDividend() {
+    return dividend;
+  }
+
+  /**
+   * Returns the integer (positive) divisor of the rational part.
+   *
+   * @return this converter divisor.
+   */
+  public BigInteger getDivisor() {
+    return divisor;
+  }
+
+  /**
+   * Returns the power of π.
+   *
+   * @return this converter exponent.
+   */
+  public int getExponent() {
+    return exponent;
+  }
+
+  @Override
+  public double getFactor() {
+    return factor;
+  }
+
+  @Override
+  public double convert(double value) {
+    return value * factor;
+  }
+
+  @Override
+  protected void convertArray(double[] source, int sourceOffset, double[] destination, int destinationOffset, int length) {
+    double factor = this.factor;
+    for (int i = 0; i < length; i++) {
+      destination[destinationOffset + i] = source[sourceOffset + i] * factor;
+    }
+  }
+
+  @Override
+  public BigDecimal convert(BigDecimal value, MathContext ctx) throws ArithmeticException {
+    int nbrDigits = ctx.getPrecision();
+    if (nbrDigits == 0)
+      throw new ArithmeticException("Pi multiplication with unlimited precision");
+    MathContext guard = new MathContext(nbrDigits + 2 * Math.abs(exponent), ctx.getRoundingMode());
+    BigDecimal pi = PiMultiplierConverter.Pi.pi(guard.getPrecision());
+    BigDecimal result = value.multiply(new BigDecimal(dividend), guard);
+    BigDecimal piPower = pi.pow(Math.abs(exponent), guard);
+    result = (exponent > 0) ? result.multiply(piPower, guard) : result.divide(piPower, guard);
+    return result.divide(new BigDecimal(divisor), ctx);
+  }
+
+  @Override
+  public PowerOfPiConverter inverse() {
+    return dividend.signum() == -1 ? new PowerOfPiConverter(divisor.negate(), dividend.negate(), -exponent) : new PowerOfPiConverter(divisor,
+        dividend, -exponent);
+  }
+
+  @Override
+  public final String toString() {
+    return "PowerOfPiConverter(" + dividend + "," + divisor + ",π^" + exponent + ")";
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof PowerOfPiConverter) {
+      PowerOfPiConverter that = (PowerOfPiConverter) obj;
+      return (exponent == that.exponent) && Objects.equals(dividend, that.dividend) && Objects.equals(divisor, that.divisor);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(dividend, divisor, exponent);
+  }
+
+  @Override
+  public boolean isLinear() {
+    return true;
+  }
+}
@@ -30,6 +30,7 @@
 package tec.uom.se.function;
 
 import java.util.Comparator;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
@@ -37,9 +38,12 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
 
+import javax.measure.Dimension;
 import javax.measure.Quantity;
 import javax.measure.Unit;
 
+import tec.uom.se.quantity.QuantityArray;
+
 /**
  * @author Otavio
  * @author Werner
@@ -239,6 +243,23 @@ public final class QuantityFunctions {
 		return (q1, q2) -> q1.to(unit).add(q2.to(unit));
 	}
 
+  /**
+   * Creates a Collector to sum converting to unit with the given summation strategy. Unlike reducing with {@link #sum(Unit)}, the compensated and
+   * exact strategies do not lose precision over long streams, and the partial sums of a parallel stream are merged without loss either.
+   * 
+   * @param unit
+   *          unit to be converting
+   * @param summation
+   *          the summation strategy, for example {@link Summation#COMPENSATED}
+   * @return the sum Collector converting to unit
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, QuantitySummaryStatistics<Q>, Quantity<Q>> summing(Unit<Q> unit,
+      Summation summation) {
+		Supplier<QuantitySummaryStatistics<Q>> supplier = () -> new QuantitySummaryStatistics<>(unit, summation);
+		return Collector.of(supplier, QuantitySummaryStatistics<Q>::accept, QuantitySummaryStatistics<Q>::combine,
+				QuantitySummaryStatistics<Q>::getSum);
+	}
+
   /**
    * Predicate to filter to one or more units
    * 
@@ -290,14 +311,15 @@ public final class QuantityFunctions {
 	}
 
   /**
-   * creates a filter to greater than the quantity measure
+   * creates a filter to greater than the quantity measure; the measure is converted once into each unit of the filtered quantities
    * 
    * @param quantity
    *          - the measure to be used in filter
    * @return the Predicate greater than this measure
    */
   public static <Q extends Quantity<Q>> Predicate<Quantity<Q>> isGreaterThan(Quantity<Q> quantity) {
-		return q -> q.to(quantity.getUnit()).getValue().doubleValue() > quantity.getValue().doubleValue();
+		QuantityThreshold<Q> threshold = new QuantityThreshold<>(quantity);
+		return q -> q.getValue().doubleValue() > threshold.valueIn(q.getUnit());
 	}
 
   /**
@@ -319,7 +341,8 @@ public final class QuantityFunctions {
    * @return the Predicate greater or equals than this measure
    */
   public static <Q extends Quantity<Q>> Predicate<Quantity<Q>> isGreaterThanOrEqualTo(Quantity<Q> quantity) {
-		return q -> q.to(quantity.getUnit()).getValue().doubleValue() >= quantity.getValue().doubleValue();
+		QuantityThreshold<Q> threshold = new QuantityThreshold<>(quantity);
+		return q -> q.getValue().doubleValue() >= threshold.valueIn(q.getUnit());
 	}
 
   /**
@@ -341,7 +364,8 @@ public final class QuantityFunctions {
    * @return the Predicate lesser than this measure
    */
   public static <Q extends Quantity<Q>> Predicate<Quantity<Q>> isLesserThan(Quantity<Q> quantity) {
-		return q -> q.to(quantity.getUnit()).getValue().doubleValue() < quantity.getValue().doubleValue();
+		QuantityThreshold<Q> threshold = new QuantityThreshold<>(quantity);
+		return q -> q.getValue().doubleValue() < threshold.valueIn(q.getUnit());
 	}
 
   /**
@@ -363,7 +387,8 @@ public final class QuantityFunctions {
    * @return the Predicate lesser or equals than this measure
    */
   public static <Q extends Quantity<Q>> Predicate<Quantity<Q>> isLesserThanOrEqualTo(Quantity<Q> quantity) {
-		return q -> q.to(quantity.getUnit()).getValue().doubleValue() <= quantity.getValue().doubleValue();
+		QuantityThreshold<Q> threshold = new QuantityThreshold<>(quantity);
+		return q -> q.getValue().doubleValue() <= threshold.valueIn(q.getUnit());
 	}
 
   /**
@@ -391,11 +416,17 @@ public final class QuantityFunctions {
    * @return the Predicate lesser or equals than this measure
    */
   public static <Q extends Quantity<Q>> Predicate<Quantity<Q>> isBetween(Quantity<Q> min, Quantity<Q> max) {
-    return isGreaterThanOrEqualTo(min).and(isLesserThanOrEqualTo(max));
-  }
+		QuantityThreshold<Q> lower = new QuantityThreshold<>(min);
+		QuantityThreshold<Q> upper = new QuantityThreshold<>(max);
+		return q -> {
+			Unit<Q> unit = q.getUnit();
+			double value = q.getValue().doubleValue();
+			return value >= lower.valueIn(unit) && value <= upper.valueIn(unit);
+		};
+	}
 
   /**
-   * Summary of Quantity
+   * Summary of Quantity, the statistics being folded as quantities in the given unit
    * 
    * @return the QuantitySummaryStatistics
    */
@@ -405,7 +436,104 @@ public final class QuantityFunctions {
 		return Collector.of(supplier, QuantitySummaryStatistics<Q>::accept, QuantitySummaryStatistics<Q>::combine);
 	}
 
+  /**
+   * Summary of Quantity, the statistics being held in primitive accumulators and the sum accumulated with the given summation strategy
+   * 
+   * @param unit
+   *          the target unit
+   * @param summation
+   *          the summation strategy, for example {@link Summation#COMPENSATED}
+   * @return the QuantitySummaryStatistics
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, QuantitySummaryStatistics<Q>, QuantitySummaryStatistics<Q>> summarizeQuantity(
+			Unit<Q> unit, Summation summation) {
+		Supplier<QuantitySummaryStatistics<Q>> supplier = () -> new QuantitySummaryStatistics<>(unit, summation);
+		return Collector.of(supplier, QuantitySummaryStatistics<Q>::accept, QuantitySummaryStatistics<Q>::combine);
+	}
+
+  /**
+   * Histogram of Quantity, from which quantiles such as p50, p95 or p99 are estimated within 1% (see {@link QuantityHistogram})
+   * 
+   * @param unit
+   *          the unit in which values are held and quantiles are stated
+   * @return the QuantityHistogram
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, QuantityHistogram<Q>, QuantityHistogram<Q>> histogram(Unit<Q> unit) {
+		return histogram(unit, QuantityHistogram.DEFAULT_RELATIVE_ACCURACY);
+	}
+
+  /**
+   * Histogram of Quantity with the given relative accuracy (see {@link QuantityHistogram})
+   * 
+   * @param unit
+   *          the unit in which values are held and quantiles are stated
+   * @param relativeAccuracy
+   *          the relative accuracy of the quantile estimates, in <code>(0, 1)</code>
+   * @return the QuantityHistogram
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, QuantityHistogram<Q>, QuantityHistogram<Q>> histogram(Unit<Q> unit,
+			double relativeAccuracy) {
+		Supplier<QuantityHistogram<Q>> supplier = () -> QuantityHistogram.of(unit, relativeAccuracy, QuantityHistogram.DEFAULT_MAX_BUCKETS);
+		return Collector.of(supplier, QuantityHistogram<Q>::accept, QuantityHistogram<Q>::combine);
+	}
+
+  /**
+   * Estimated quantile of Quantity, for example <code>quantile(Units.SECOND, 0.99)</code> for the p99 latency (see {@link QuantityHistogram})
+   * 
+   * @param unit
+   *          the unit of the result
+   * @param quantile
+   *          the quantile, in <code>[0, 1]</code>
+   * @return the estimated quantile, <code>null</code> for an empty stream
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, QuantityHistogram<Q>, Quantity<Q>> quantile(Unit<Q> unit, double quantile) {
+		if (!(quantile >= 0 && quantile <= 1))
+			throw new IllegalArgumentException("Quantile must be in [0, 1]: " + quantile);
+		Supplier<QuantityHistogram<Q>> supplier = () -> QuantityHistogram.of(unit);
+		return Collector.of(supplier, QuantityHistogram<Q>::accept, QuantityHistogram<Q>::combine, h -> h.getQuantile(quantile));
+	}
+
   public static <Q extends Quantity<Q>> Function<Quantity<Q>, Unit<Q>> groupByUnit() {
 		return Quantity::getUnit;
 	}
+
+  /**
+   * Groups by unit into columnar {@link QuantityArray quantity arrays}. Unlike <code>Collectors.groupingBy(groupByUnit())</code> the values are
+   * kept in primitive <code>double</code> buffers, and the group is looked up once per run of quantities having the same unit.
+   * 
+   * @return the map of the quantity arrays by unit, in encounter order
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, Map<Unit<Q>, QuantityArray<Q>>> groupingByUnit() {
+		return grouping(u -> u, u -> u, null);
+	}
+
+  /**
+   * Groups by unit into columnar {@link QuantityArray quantity arrays}, all stated in the given unit. The values keep their original unit in storage,
+   * the arrays convert them when read.
+   * 
+   * @param unit
+   *          the unit all the arrays are stated in
+   * @return the map of the quantity arrays by (original) unit, in encounter order
+   */
+  public static <Q extends Quantity<Q>> Collector<Quantity<Q>, ?, Map<Unit<Q>, QuantityArray<Q>>> groupingByUnit(Unit<Q> unit) {
+		Objects.requireNonNull(unit);
+		return grouping(u -> u, u -> u, unit);
+	}
+
+  /**
+   * Groups by dimension into columnar {@link QuantityArray quantity arrays}, each stated in the system unit of its dimension (for example
+   * <code>m</code> for lengths given in <code>km</code> and <code>ft</code>). One converter is resolved per distinct source unit.
+   * 
+   * @return the map of the quantity arrays by dimension, in encounter order
+   */
+  public static Collector<Quantity<?>, ?, Map<Dimension, QuantityArray<?>>> groupingByDimension() {
+		return grouping(Unit::getDimension, Unit::getSystemUnit, null);
+	}
+
+  @SuppressWarnings("unchecked")
+  private static <T, K, A> Collector<T, QuantityGrouping<K>, Map<K, A>> grouping(Function<Unit, K> classifier, Function<Unit, Unit> storageUnit,
+			Unit normalizedUnit) {
+		return Collector.of(() -> new QuantityGrouping<>(classifier, storageUnit), (g, q) -> g.accept((Quantity<?>) q),
+				QuantityGrouping<K>::combine, g -> g.finish(normalizedUnit));
+	}
 }
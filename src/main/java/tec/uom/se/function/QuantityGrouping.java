@@ -0,0 +1,175 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.se.AbstractConverter;
+import tec.uom.se.quantity.QuantityArray;
+
+/**
+ * <p>
+ * The mutable container of the grouping collectors of {@link QuantityFunctions}: quantities are grouped by a key derived from their unit, the
+ * values of each group being appended to a primitive <code>double</code> buffer in the unit of the group. The key, the group and the converter are
+ * resolved once per distinct source unit, not once per quantity.
+ * </p>
+ *
+ * @param <K>
+ *          the type of the group keys.
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+final class QuantityGrouping<K> {
+
+  /**
+   * Holds the function returning the key of the group for a source unit.
+   */
+  private final Function<Unit, K> classifier;
+
+  /**
+   * Holds the function returning the unit in which a new group stores its values, given the first source unit of the group.
+   */
+  private final Function<Unit, Unit> storageUnit;
+
+  private final Map<K, Group> groups = new LinkedHashMap<>();
+
+  /**
+   * Holds the group and converter per distinct source unit.
+   */
+  private final Map<Unit, Route> routes = new HashMap<>();
+
+  private Unit lastUnit;
+
+  private Route lastRoute;
+
+  QuantityGrouping(Function<Unit, K> classifier, Function<Unit, Unit> storageUnit) {
+    this.classifier = classifier;
+    this.storageUnit = storageUnit;
+  }
+
+  void accept(Quantity<?> quantity) {
+    Objects.requireNonNull(quantity);
+    Unit unit = quantity.getUnit();
+    Route route = lastRoute;
+    if (unit != lastUnit) {
+      route = routes.get(unit);
+      if (route == null) {
+        Group group = group(classifier.apply(unit), unit);
+        route = new Route(group, unit.getConverterTo(group.unit));
+        routes.put(unit, route);
+      }
+      lastUnit = unit;
+      lastRoute = route;
+    }
+    route.group.add(route.converter.convert(quantity.getValue().doubleValue()));
+  }
+
+  QuantityGrouping<K> combine(QuantityGrouping<K> other) {
+    for (Map.Entry<K, Group> e : other.groups.entrySet()) {
+      Group source = e.getValue();
+      Group target = group(e.getKey(), source.unit);
+      target.addAll(source, source.unit.getConverterTo(target.unit));
+    }
+    return this;
+  }
+
+  /**
+   * Returns the groups as quantity arrays, optionally stated in a common unit.
+   */
+  <A> Map<K, A> finish(Unit normalizedUnit) {
+    Map<K, A> result = new LinkedHashMap<>();
+    for (Map.Entry<K, Group> e : groups.entrySet()) {
+      Group group = e.getValue();
+      QuantityArray array = QuantityArray.of(group.values, 0, group.size, group.unit);
+      result.put(e.getKey(), (A) ((normalizedUnit == null) ? array : array.to(normalizedUnit)));
+    }
+    return result;
+  }
+
+  private Group group(K key, Unit firstUnit) {
+    Group group = groups.get(key);
+    if (group == null) {
+      group = new Group(storageUnit.apply(firstUnit));
+      groups.put(key, group);
+    }
+    return group;
+  }
+
+  private static final class Route {
+    final Group group;
+    final UnitConverter converter;
+
+    Route(Group group, UnitConverter converter) {
+      this.group = group;
+      this.converter = converter;
+    }
+  }
+
+  private static final class Group {
+    final Unit unit;
+    double[] values = new double[16];
+    int size;
+
+    Group(Unit unit) {
+      this.unit = unit;
+    }
+
+    void add(double value) {
+      if (size == values.length)
+        values = Arrays.copyOf(values, size * 2);
+      values[size++] = value;
+    }
+
+    void addAll(Group other, UnitConverter converter) {
+      if (size + other.size > values.length)
+        values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+      if (converter instanceof AbstractConverter) {
+        ((AbstractConverter) converter).convert(other.values, 0, values, size, other.size);
+        size += other.size;
+      } else {
+        for (int i = 0; i < other.size; i++) {
+          values[size++] = converter.convert(other.values[i]);
+        }
+      }
+    }
+  }
+}
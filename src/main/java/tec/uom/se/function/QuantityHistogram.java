@@ -0,0 +1,456 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.se.AbstractConverter;
+import tec.uom.se.quantity.Quantities;
+
+/**
+ * <p>
+ * A mergeable, bounded-memory histogram of quantities from which quantiles (for example p50, p95, p99) can be estimated over unbounded streams.
+ * </p>
+ *
+ * <p>
+ * Values are converted to the unit of the histogram and counted in logarithmically sized buckets (a DDSketch-style sketch): every quantile
+ * estimate lies within the <i>relative accuracy</i> of the exact quantile (for example 1% of it), whatever the distribution. Negative values and
+ * zero are supported. Memory is bounded by the maximum number of buckets per sign; once it is reached the buckets of the values closest to zero are
+ * collapsed, so that the accuracy of the upper quantiles is preserved.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread-safe; a parallel stream accumulates one histogram per thread and {@link #combine(QuantityHistogram) combines} them (see
+ * {@link QuantityFunctions#histogram(Unit)}).
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public final class QuantityHistogram<Q extends Quantity<Q>> {
+
+  /**
+   * The default relative accuracy (1%).
+   */
+  public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+  /**
+   * The default maximum number of buckets per sign.
+   */
+  public static final int DEFAULT_MAX_BUCKETS = 2048;
+
+  private final Unit<Q> unit;
+
+  private final double relativeAccuracy;
+
+  private final int maxBuckets;
+
+  /**
+   * Holds the ratio between the bounds of a bucket.
+   */
+  private final double gamma;
+
+  private final double logGamma;
+
+  /**
+   * Holds the smallest magnitude not counted as zero.
+   */
+  private final double minIndexable;
+
+  private final Store positive;
+
+  private final Store negative;
+
+  private long zeroCount;
+
+  private double min = Double.POSITIVE_INFINITY;
+
+  private double max = Double.NEGATIVE_INFINITY;
+
+  /**
+   * Holds the unit of the last accepted quantity.
+   */
+  private Unit<Q> lastUnit;
+
+  /**
+   * Holds the converter from the unit of the last accepted quantity to the histogram unit.
+   */
+  private UnitConverter lastConverter;
+
+  private QuantityHistogram(Unit<Q> unit, double relativeAccuracy, int maxBuckets) {
+    this.unit = Objects.requireNonNull(unit);
+    if (!(relativeAccuracy > 0 && relativeAccuracy < 1))
+      throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + relativeAccuracy);
+    if (maxBuckets < 1)
+      throw new IllegalArgumentException("Maximum number of buckets must be positive: " + maxBuckets);
+    this.relativeAccuracy = relativeAccuracy;
+    this.maxBuckets = maxBuckets;
+    this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+    this.logGamma = Math.log(gamma);
+    this.minIndexable = Double.MIN_NORMAL * gamma;
+    this.positive = new Store(maxBuckets);
+    this.negative = new Store(maxBuckets);
+    this.lastUnit = unit;
+    this.lastConverter = AbstractConverter.IDENTITY;
+  }
+
+  /**
+   * Returns an empty histogram with the {@link #DEFAULT_RELATIVE_ACCURACY default accuracy} and {@link #DEFAULT_MAX_BUCKETS default size}.
+   *
+   * @param unit
+   *          the unit in which values are held and quantiles are stated, not null.
+   * @return the empty histogram.
+   */
+  public static <Q extends Quantity<Q>> QuantityHistogram<Q> of(Unit<Q> unit) {
+    return new QuantityHistogram<>(unit, DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAX_BUCKETS);
+  }
+
+  /**
+   * Returns an empty histogram.
+   *
+   * @param unit
+   *          the unit in which values are held and quantiles are stated, not null.
+   * @param relativeAccuracy
+   *          the relative accuracy of the quantile estimates, in <code>(0, 1)</code>.
+   * @param maxBuckets
+   *          the maximum number of buckets per sign (memory bound).
+   * @return the empty histogram.
+   * @throws IllegalArgumentException
+   *           if the accuracy or the number of buckets is out of range.
+   */
+  public static <Q extends Quantity<Q>> QuantityHistogram<Q> of(Unit<Q> unit, double relativeAccuracy, int maxBuckets) {
+    return new QuantityHistogram<>(unit, relativeAccuracy, maxBuckets);
+  }
+
+  /**
+   * Records another quantity.
+   *
+   * @param quantity
+   *          the quantity, not null.
+   * @throws IllegalArgumentException
+   *           if the converted value is not finite.
+   */
+  public void accept(Quantity<Q> quantity) {
+    Objects.requireNonNull(quantity);
+    Unit<Q> source = quantity.getUnit();
+    if (source != lastUnit) {
+      lastConverter = source.getConverterTo(unit);
+      lastUnit = source;
+    }
+    accept(lastConverter.convert(quantity.getValue().doubleValue()));
+  }
+
+  /**
+   * Records another value, stated in the unit of this histogram.
+   *
+   * @param value
+   *          the value.
+   * @throws IllegalArgumentException
+   *           if the value is not finite.
+   */
+  public void accept(double value) {
+    accept(value, 1);
+  }
+
+  private void accept(double value, long count) {
+    if (Double.isNaN(value) || Double.isInfinite(value))
+      throw new IllegalArgumentException("Value is not finite: " + value);
+    record(value, count);
+    if (value < min)
+      min = value;
+    if (value > max)
+      max = value;
+  }
+
+  /**
+   * Counts a value without updating the exact extremes.
+   */
+  private void record(double value, long count) {
+    if (value >= minIndexable) {
+      positive.add(index(value), count);
+    } else if (value <= -minIndexable) {
+      negative.add(index(-value), count);
+    } else {
+      zeroCount += count;
+    }
+  }
+
+  /**
+   * Combines the state of another histogram into this one. Histograms with the same unit and accuracy are merged bucket by bucket; otherwise the
+   * buckets of the other histogram are converted and recorded again.
+   *
+   * @param histogram
+   *          another histogram, not null.
+   * @return this histogram.
+   */
+  public QuantityHistogram<Q> combine(QuantityHistogram<Q> histogram) {
+    Objects.requireNonNull(histogram);
+    if (histogram.getCount() == 0)
+      return this;
+    if (histogram.unit.equals(unit) && histogram.gamma == gamma) {
+      for (int i = histogram.positive.minIndex; i <= histogram.positive.maxIndex && histogram.positive.total > 0; i++)
+        positive.add(i, histogram.positive.get(i));
+      for (int i = histogram.negative.minIndex; i <= histogram.negative.maxIndex && histogram.negative.total > 0; i++)
+        negative.add(i, histogram.negative.get(i));
+      zeroCount += histogram.zeroCount;
+      min = Math.min(min, histogram.min);
+      max = Math.max(max, histogram.max);
+    } else {
+      UnitConverter converter = histogram.unit.getConverterTo(unit);
+      for (int i = histogram.positive.minIndex; i <= histogram.positive.maxIndex && histogram.positive.total > 0; i++)
+        acceptConverted(converter, histogram.value(i), histogram.positive.get(i));
+      for (int i = histogram.negative.minIndex; i <= histogram.negative.maxIndex && histogram.negative.total > 0; i++)
+        acceptConverted(converter, -histogram.value(i), histogram.negative.get(i));
+      acceptConverted(converter, 0, histogram.zeroCount);
+      double convertedMin = converter.convert(histogram.min);
+      double convertedMax = converter.convert(histogram.max);
+      min = Math.min(min, Math.min(convertedMin, convertedMax));
+      max = Math.max(max, Math.max(convertedMin, convertedMax));
+    }
+    return this;
+  }
+
+  private void acceptConverted(UnitConverter converter, double value, long count) {
+    if (count != 0)
+      record(converter.convert(value), count);
+  }
+
+  /**
+   * Returns the unit in which values are held.
+   *
+   * @return the histogram unit.
+   */
+  public Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * Returns the relative accuracy of the quantile estimates.
+   *
+   * @return the relative accuracy.
+   */
+  public double getRelativeAccuracy() {
+    return relativeAccuracy;
+  }
+
+  /**
+   * Returns the number of recorded values.
+   *
+   * @return the count, >= 0.
+   */
+  public long getCount() {
+    return positive.total + negative.total + zeroCount;
+  }
+
+  /**
+   * Returns the smallest recorded quantity (exact).
+   *
+   * @return the minimum or <code>null</code> if this histogram is empty.
+   */
+  public Quantity<Q> getMin() {
+    return (getCount() == 0) ? null : Quantities.getQuantity(min, unit);
+  }
+
+  /**
+   * Returns the largest recorded quantity (exact).
+   *
+   * @return the maximum or <code>null</code> if this histogram is empty.
+   */
+  public Quantity<Q> getMax() {
+    return (getCount() == 0) ? null : Quantities.getQuantity(max, unit);
+  }
+
+  /**
+   * Returns the estimated quantile, within the relative accuracy of this histogram.
+   *
+   * @param quantile
+   *          the quantile, in <code>[0, 1]</code> (for example <code>0.99</code> for p99).
+   * @return the estimated quantile or <code>null</code> if this histogram is empty.
+   * @throws IllegalArgumentException
+   *           if the quantile is out of range.
+   */
+  public Quantity<Q> getQuantile(double quantile) {
+    if (!(quantile >= 0 && quantile <= 1))
+      throw new IllegalArgumentException("Quantile must be in [0, 1]: " + quantile);
+    long count = getCount();
+    if (count == 0)
+      return null;
+    return Quantities.getQuantity(quantileValue(quantile, count), unit);
+  }
+
+  /**
+   * Returns the estimated quantile converted to the specified unit.
+   *
+   * @param quantile
+   *          the quantile, in <code>[0, 1]</code>.
+   * @param unit
+   *          the unit of the result.
+   * @return the estimated quantile or <code>null</code> if this histogram is empty.
+   */
+  public Quantity<Q> getQuantile(double quantile, Unit<Q> unit) {
+    Quantity<Q> result = getQuantile(quantile);
+    return (result == null) ? null : result.to(unit);
+  }
+
+  private double quantileValue(double quantile, long count) {
+    double rank = quantile * (count - 1);
+    double value;
+    if (rank < negative.total) { // Most negative values first.
+      long cumulative = 0;
+      int i = negative.maxIndex;
+      for (; i > negative.minIndex; i--) {
+        cumulative += negative.get(i);
+        if (cumulative > rank)
+          break;
+      }
+      value = -value(i);
+    } else if (rank < negative.total + zeroCount) {
+      value = 0;
+    } else {
+      long cumulative = negative.total + zeroCount;
+      int i = positive.minIndex;
+      for (; i < positive.maxIndex; i++) {
+        cumulative += positive.get(i);
+        if (cumulative > rank)
+          break;
+      }
+      value = value(i);
+    }
+    return Math.max(min, Math.min(max, value)); // Exact at the extremes.
+  }
+
+  private int index(double magnitude) {
+    return (int) Math.ceil(Math.log(magnitude) / logGamma);
+  }
+
+  /**
+   * Returns the representative magnitude of a bucket (relative error at most <code>relativeAccuracy</code>).
+   */
+  private double value(int index) {
+    return 2 * Math.pow(gamma, index) / (gamma + 1);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    sb.append("[unit: ").append(unit).append(",");
+    sb.append("count:").append(getCount()).append(",");
+    sb.append("p50:").append(getQuantile(0.5)).append(",");
+    sb.append("p95:").append(getQuantile(0.95)).append(",");
+    sb.append("p99:").append(getQuantile(0.99)).append("]");
+    return sb.toString();
+  }
+
+  /**
+   * Holds the counts of contiguous bucket indices, collapsing the lowest indices to stay within the maximum number of buckets.
+   */
+  private static final class Store {
+    private final int maxBuckets;
+    private long[] counts = new long[0];
+    private int offset; // Index of counts[0].
+    int minIndex;
+    int maxIndex;
+    long total;
+
+    Store(int maxBuckets) {
+      this.maxBuckets = maxBuckets;
+    }
+
+    long get(int index) {
+      int i = index - offset;
+      return (i >= 0 && i < counts.length) ? counts[i] : 0;
+    }
+
+    void add(int index, long count) {
+      if (count == 0)
+        return;
+      if (total == 0) {
+        minIndex = index;
+        maxIndex = index;
+        if (index < offset || index >= offset + counts.length) {
+          Arrays.fill(counts, 0);
+          if (counts.length == 0)
+            counts = new long[Math.min(64, maxBuckets)];
+          offset = index - counts.length / 2;
+        }
+      } else {
+        int lo = Math.min(minIndex, index);
+        int hi = Math.max(maxIndex, index);
+        if (hi - lo >= maxBuckets) { // Collapse the lowest buckets.
+          lo = hi - maxBuckets + 1;
+          index = Math.max(index, lo);
+        }
+        cover(lo, hi);
+        minIndex = Math.min(minIndex, index);
+        maxIndex = hi;
+      }
+      counts[index - offset] += count;
+      total += count;
+    }
+
+    /**
+     * Ensures that the array covers [lo, hi], buckets below lo being merged into lo.
+     */
+    private void cover(int lo, int hi) {
+      if (lo >= offset && hi < offset + counts.length) {
+        if (minIndex < lo) {
+          long collapsed = 0;
+          for (int i = minIndex; i < lo; i++) {
+            collapsed += counts[i - offset];
+            counts[i - offset] = 0;
+          }
+          counts[lo - offset] += collapsed;
+          minIndex = lo;
+        }
+        return;
+      }
+      int length = Math.min(maxBuckets, Math.max(2 * (hi - lo + 1), counts.length));
+      int newOffset = lo - (length - (hi - lo + 1)) / 2;
+      long[] newCounts = new long[length];
+      for (int i = minIndex; i <= maxIndex; i++) {
+        long c = counts[i - offset];
+        if (c != 0)
+          newCounts[Math.max(i, lo) - newOffset] += c;
+      }
+      counts = newCounts;
+      offset = newOffset;
+      minIndex = Math.max(minIndex, lo);
+    }
+  }
+}
@@ -0,0 +1,297 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.lib.common.function.UnitSupplier;
+import tec.uom.se.AbstractConverter;
+import tec.uom.se.quantity.Quantities;
+
+/**
+ * <p>
+ * A {@link Spliterator.OfDouble} over quantities held in a primitive <code>double[]</code>, all of them stated in the same {@link Unit}.
+ * </p>
+ *
+ * <p>
+ * The values are traversed as primitives: no {@link Quantity} is created per element, and the conversion to the unit of the spliterator (see
+ * {@link #to(Unit)}) is resolved once, not once per element or per comparison. The spliterator splits its range in two equal halves, which lets a
+ * parallel stream balance the work evenly across the {@link java.util.concurrent.ForkJoinPool}.
+ * </p>
+ *
+ * <p>
+ * The reduction terminals ({@link #sum(boolean)}, {@link #min(boolean)}, {@link #max(boolean)}, {@link #summaryStatistics(boolean)}) traverse the
+ * remaining values, sequentially or in parallel, and state their result in the unit of the spliterator. As any spliterator, an instance can only be
+ * traversed once.
+ * </p>
+ *
+ * <pre>
+ *     QuantitySpliterator&lt;Length&gt; samples = QuantitySpliterator.of(values, KILO(METRE)).to(METRE);
+ *     Quantity&lt;Length&gt; total = samples.sum(true); // Parallel sum, in metres.
+ * </pre>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public final class QuantitySpliterator<Q extends Quantity<Q>> implements Spliterator.OfDouble, UnitSupplier<Q> {
+
+  /**
+   * Holds the values, expressed in the storage unit (never modified).
+   */
+  private final double[] values;
+
+  /**
+   * Holds the index of the next value.
+   */
+  private int index;
+
+  /**
+   * Holds the index following the last value.
+   */
+  private final int fence;
+
+  /**
+   * Holds the unit the values are stored in.
+   */
+  private final Unit<Q> storageUnit;
+
+  /**
+   * Holds the unit of this spliterator.
+   */
+  private final Unit<Q> unit;
+
+  /**
+   * Holds the converter from the storage unit to the unit of this spliterator.
+   */
+  private final UnitConverter converter;
+
+  private QuantitySpliterator(double[] values, int index, int fence, Unit<Q> storageUnit, Unit<Q> unit, UnitConverter converter) {
+    this.values = values;
+    this.index = index;
+    this.fence = fence;
+    this.storageUnit = storageUnit;
+    this.unit = unit;
+    this.converter = converter;
+  }
+
+  /**
+   * Returns a spliterator over the specified values, stated in the specified unit. The values are not copied and must not be modified during the
+   * traversal.
+   *
+   * @param values
+   *          the values.
+   * @param unit
+   *          the unit of the values.
+   * @return the corresponding spliterator.
+   */
+  public static <Q extends Quantity<Q>> QuantitySpliterator<Q> of(double[] values, Unit<Q> unit) {
+    return of(values, 0, values.length, unit);
+  }
+
+  /**
+   * Returns a spliterator over the specified range of values, stated in the specified unit. The values are not copied and must not be modified
+   * during the traversal.
+   *
+   * @param values
+   *          the values.
+   * @param fromIndex
+   *          the index of the first value (inclusive).
+   * @param toIndex
+   *          the index following the last value (exclusive).
+   * @param unit
+   *          the unit of the values.
+   * @return the corresponding spliterator.
+   * @throws IndexOutOfBoundsException
+   *           if the range is invalid.
+   */
+  public static <Q extends Quantity<Q>> QuantitySpliterator<Q> of(double[] values, int fromIndex, int toIndex, Unit<Q> unit) {
+    Objects.requireNonNull(unit);
+    if ((fromIndex < 0) || (toIndex > values.length) || (fromIndex > toIndex))
+      throw new IndexOutOfBoundsException("Range: [" + fromIndex + ", " + toIndex + "), length: " + values.length);
+    return new QuantitySpliterator<>(values, fromIndex, toIndex, unit, unit, AbstractConverter.IDENTITY);
+  }
+
+  @Override
+  public Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * Returns a spliterator over the remaining values of this one, stated in the specified unit. The values are converted when traversed; this
+   * spliterator must not be used afterwards.
+   *
+   * @param unit
+   *          the unit of the returned spliterator.
+   * @return the remaining values in the specified unit.
+   */
+  public QuantitySpliterator<Q> to(Unit<Q> unit) {
+    if (this.unit.equals(unit))
+      return this;
+    return new QuantitySpliterator<>(values, index, fence, storageUnit, unit, storageUnit.getConverterTo(unit));
+  }
+
+  @Override
+  public boolean tryAdvance(DoubleConsumer action) {
+    Objects.requireNonNull(action);
+    if (index >= fence)
+      return false;
+    action.accept(converter.convert(values[index++]));
+    return true;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super Double> action) {
+    if (action instanceof DoubleConsumer)
+      return tryAdvance((DoubleConsumer) action);
+    Objects.requireNonNull(action);
+    return tryAdvance((DoubleConsumer) action::accept);
+  }
+
+  @Override
+  public void forEachRemaining(DoubleConsumer action) {
+    Objects.requireNonNull(action);
+    int i = index;
+    int hi = fence;
+    index = hi;
+    if (converter.isIdentity()) {
+      for (; i < hi; i++) {
+        action.accept(values[i]);
+      }
+    } else {
+      for (; i < hi; i++) {
+        action.accept(converter.convert(values[i]));
+      }
+    }
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super Double> action) {
+    if (action instanceof DoubleConsumer) {
+      forEachRemaining((DoubleConsumer) action);
+    } else {
+      Objects.requireNonNull(action);
+      forEachRemaining((DoubleConsumer) action::accept);
+    }
+  }
+
+  @Override
+  public QuantitySpliterator<Q> trySplit() {
+    int lo = index;
+    int mid = (lo + fence) >>> 1;
+    if (lo >= mid)
+      return null;
+    index = mid;
+    return new QuantitySpliterator<>(values, lo, mid, storageUnit, unit, converter);
+  }
+
+  @Override
+  public long estimateSize() {
+    return fence - index;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+  }
+
+  /**
+   * Returns a stream of the remaining values, stated in the unit of this spliterator.
+   *
+   * @param parallel
+   *          <code>true</code> for a parallel stream; <code>false</code> for a sequential one.
+   * @return the remaining values as a stream.
+   */
+  public DoubleStream doubleStream(boolean parallel) {
+    return StreamSupport.doubleStream(this, parallel);
+  }
+
+  /**
+   * Returns the sum of the remaining values (compensated, as {@link DoubleStream#sum()}).
+   *
+   * @param parallel
+   *          <code>true</code> to sum in parallel.
+   * @return the sum, stated in the unit of this spliterator (zero if there are no values).
+   */
+  public Quantity<Q> sum(boolean parallel) {
+    return Quantities.getQuantity(doubleStream(parallel).sum(), unit);
+  }
+
+  /**
+   * Returns the smallest of the remaining values.
+   *
+   * @param parallel
+   *          <code>true</code> to search in parallel.
+   * @return the minimum, stated in the unit of this spliterator, or an empty optional if there are no values.
+   */
+  public Optional<Quantity<Q>> min(boolean parallel) {
+    return quantity(doubleStream(parallel).min());
+  }
+
+  /**
+   * Returns the largest of the remaining values.
+   *
+   * @param parallel
+   *          <code>true</code> to search in parallel.
+   * @return the maximum, stated in the unit of this spliterator, or an empty optional if there are no values.
+   */
+  public Optional<Quantity<Q>> max(boolean parallel) {
+    return quantity(doubleStream(parallel).max());
+  }
+
+  /**
+   * Returns the count, sum, minimum, maximum and average of the remaining values.
+   *
+   * @param parallel
+   *          <code>true</code> to summarize in parallel.
+   * @return the summary, stated in the unit of this spliterator.
+   */
+  public QuantitySummaryStatistics<Q> summaryStatistics(boolean parallel) {
+    return doubleStream(parallel).collect(() -> new QuantitySummaryStatistics<>(unit, Summation.NAIVE), QuantitySummaryStatistics::accept,
+        QuantitySummaryStatistics::combine);
+  }
+
+  private Optional<Quantity<Q>> quantity(OptionalDouble value) {
+    return value.isPresent() ? Optional.of(Quantities.getQuantity(value.getAsDouble(), unit)) : Optional.empty();
+  }
+}
@@ -34,13 +34,30 @@ import java.util.function.BinaryOperator;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
+import javax.measure.UnitConverter;
 
+import tec.uom.se.AbstractConverter;
 import tec.uom.se.quantity.Quantities;
 
 /**
+ * <p>
+ * Summary statistics (count, min, max, sum and average) of quantities, expressed in a target unit.
+ * </p>
+ *
+ * <p>
+ * By default the statistics are folded as quantities: each accepted quantity is converted to the target unit and added to the sum quantity, so
+ * that decimal values keep the precision of their quantity type.
+ * </p>
+ *
+ * <p>
+ * Created with a {@link Summation} strategy, the statistics are instead held in primitive accumulators in the target unit: accepting a quantity
+ * converts its value with a converter cached for its unit and allocates nothing. The minimum, maximum, sum and average quantities are only created
+ * when asked for.
+ * </p>
+ *
  * @author Otavio
  * @author Werner
- * @version 1.0
+ * @version 1.2
  * @since 1.0
  * @param <Q>
  */
@@ -48,29 +65,74 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
 
   private final Quantity<Q> empty;
 
+  private final Unit<Q> unit;
+
   private long count;
 
-  private Quantity<Q> min;
+  /**
+   * Holds the summation strategy of the primitive accumulators, or <code>null</code> if the statistics are folded as quantities.
+   */
+  private final Summation summation;
 
-  private Quantity<Q> max;
+  private Quantity<Q> minQuantity;
 
-  private Quantity<Q> sum;
+  private Quantity<Q> maxQuantity;
 
-  private Quantity<Q> average;
+  private Quantity<Q> sumQuantity;
 
   private final BinaryOperator<Quantity<Q>> minFunctions = QuantityFunctions.min();
 
   private final BinaryOperator<Quantity<Q>> maxFunctions = QuantityFunctions.max();
 
+  private double min = Double.POSITIVE_INFINITY;
+
+  private double max = Double.NEGATIVE_INFINITY;
+
+  private Summation.Accumulator sum;
+
   /**
-   * Creates a new instance, targeting the given {@link javax.measure.Unit}.
+   * Holds the unit of the last accepted quantity.
+   */
+  private Unit<Q> lastUnit;
+
+  /**
+   * Holds the converter from the unit of the last accepted quantity to the target unit.
+   */
+  private UnitConverter lastConverter;
+
+  /**
+   * Creates a new instance, targeting the given {@link javax.measure.Unit} and folding the statistics as quantities.
    * 
    * @param unit
    *          the target unit, not null.
    */
   QuantitySummaryStatistics(Unit<Q> unit) {
+    this.unit = Objects.requireNonNull(unit);
+    this.summation = null;
     empty = Quantities.getQuantity(0, unit);
-    setQuantity(empty);
+    minQuantity = empty;
+    maxQuantity = empty;
+    sumQuantity = empty;
+  }
+
+  /**
+   * Creates a new instance, targeting the given {@link javax.measure.Unit} and holding the statistics in primitive accumulators, the sum being
+   * accumulated with the given strategy. Values are converted to <code>double</code> in the target unit, except by the exact summation which keeps
+   * the decimal sum.
+   * 
+   * @param unit
+   *          the target unit, not null.
+   * @param summation
+   *          the summation strategy, not null.
+   * @since 1.0.1
+   */
+  public QuantitySummaryStatistics(Unit<Q> unit, Summation summation) {
+    this.unit = Objects.requireNonNull(unit);
+    this.summation = Objects.requireNonNull(summation);
+    sum = summation.newAccumulator();
+    empty = Quantities.getQuantity(0, unit);
+    lastUnit = unit;
+    lastConverter = AbstractConverter.IDENTITY;
   }
 
   /**
@@ -80,54 +142,101 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    *          the input quantity value to be added, not null.
    */
   public void accept(Quantity<Q> quantity) {
-
     Objects.requireNonNull(quantity);
+    if (summation == null) {
+      Quantity<Q> converted = quantity.to(unit);
+      update(converted, converted, converted);
+      count++;
+      return;
+    }
+    UnitConverter converter = converterFrom(quantity.getUnit());
+    Number value = quantity.getValue();
+    double converted = converter.convert(value.doubleValue());
+    update(converted);
+    sum.add(value, converter, converted);
+  }
+
+  /**
+   * Records another value, stated in the target unit of this summary.
+   * 
+   * @param value
+   *          the value in the target unit.
+   */
+  public void accept(double value) {
+    if (summation == null) {
+      accept(Quantities.getQuantity(value, unit));
+      return;
+    }
+    update(value);
+    sum.add(value);
+  }
 
+  private void update(Quantity<Q> otherMin, Quantity<Q> otherMax, Quantity<Q> otherSum) {
     if (isEmpty()) {
-      setQuantity(quantity.to(empty.getUnit()));
-      count++;
+      minQuantity = otherMin;
+      maxQuantity = otherMax;
+      sumQuantity = otherSum;
     } else {
-      doSummary(quantity.to(empty.getUnit()));
+      minQuantity = minFunctions.apply(minQuantity, otherMin);
+      maxQuantity = maxFunctions.apply(maxQuantity, otherMax);
+      sumQuantity = sumQuantity.add(otherSum);
     }
   }
 
+  private void update(double value) {
+    if (value < min)
+      min = value;
+    if (value > max)
+      max = value;
+    count++;
+  }
+
   /**
-   * Combines the state of another {@code QuantitySummaryStatistics} into this one.
+   * Combines the state of another {@code QuantitySummaryStatistics} into this one. The other summary is converted to the target unit of this one if
+   * needed.
    * 
    * @param quantitySummary
    *          another {@code QuantitySummaryStatistics}, not null.
    */
   public QuantitySummaryStatistics<Q> combine(QuantitySummaryStatistics<Q> quantitySummary) {
     Objects.requireNonNull(quantitySummary);
-
-    if (!equals(quantitySummary)) {
+    if (quantitySummary.isEmpty())
       return this;
+    QuantitySummaryStatistics<Q> other = quantitySummary.unit.equals(unit) ? quantitySummary : quantitySummary.to(unit);
+    if (summation == null) {
+      update(other.getMin(), other.getMax(), other.getSum());
+    } else {
+      double otherMin = (other.summation == null) ? other.minQuantity.getValue().doubleValue() : other.min;
+      double otherMax = (other.summation == null) ? other.maxQuantity.getValue().doubleValue() : other.max;
+      if (otherMin < min)
+        min = otherMin;
+      if (otherMax > max)
+        max = otherMax;
+      if (other.summation != null && other.sum.getClass() == sum.getClass()) {
+        sum.add(other.sum);
+      } else { // Different summation strategies.
+        Number otherSum = other.getSum().getValue();
+        sum.add(otherSum, AbstractConverter.IDENTITY, otherSum.doubleValue());
+      }
     }
-
-    min = minFunctions.apply(min, quantitySummary.min.to(empty.getUnit()));
-    max = maxFunctions.apply(max, quantitySummary.max.to(empty.getUnit()));
-    sum = sum.add(quantitySummary.sum);
-    count += quantitySummary.count;
-    average = sum.divide(count);
+    count += other.count;
     return this;
   }
 
-  private void doSummary(Quantity<Q> moneraty) {
-    min = minFunctions.apply(min, moneraty);
-    max = maxFunctions.apply(max, moneraty);
-    sum = sum.add(moneraty);
-    average = sum.divide(++count);
+  private UnitConverter converterFrom(Unit<Q> source) {
+    if (source != lastUnit) {
+      lastConverter = source.getConverterTo(unit);
+      lastUnit = source;
+    }
+    return lastConverter;
   }
 
   private boolean isEmpty() {
     return count == 0;
   }
 
-  private void setQuantity(Quantity<Q> quantity) {
-    min = quantity;
-    max = quantity;
-    sum = quantity;
-    average = quantity;
+  private Quantity<Q> quantity(Number value) {
+    return isEmpty() ? empty : Quantities.getQuantity(value, unit);
   }
 
   /**
@@ -145,7 +254,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the minimal quantity
    */
   public Quantity<Q> getMin() {
-    return min;
+    return (summation == null) ? minQuantity : quantity(min);
   }
 
   /**
@@ -156,7 +265,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the minimal quantity converted to this unit
    */
   public Quantity<Q> getMin(Unit<Q> unit) {
-    return min.to(unit);
+    return getMin().to(unit);
   }
 
   /**
@@ -165,7 +274,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the maximal quantity
    */
   public Quantity<Q> getMax() {
-    return max;
+    return (summation == null) ? maxQuantity : quantity(max);
   }
 
   /**
@@ -176,7 +285,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the maximal quantity converted to this unit
    */
   public Quantity<Q> getMax(Unit<Q> unit) {
-    return max.to(unit);
+    return getMax().to(unit);
   }
 
   /**
@@ -185,7 +294,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the total amount
    */
   public Quantity<Q> getSum() {
-    return sum;
+    return (summation == null) ? sumQuantity : quantity(sum.sum());
   }
 
   /**
@@ -196,7 +305,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the total amount converted to this unit
    */
   public Quantity<Q> getSum(Unit<Q> unit) {
-    return sum.to(unit);
+    return to(unit).getSum();
   }
 
   /**
@@ -205,7 +314,9 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the quantity average quantity
    */
   public Quantity<Q> getAverage() {
-    return average;
+    if (isEmpty())
+      return empty;
+    return (summation == null) ? sumQuantity.divide(count) : Quantities.getQuantity(sum.mean(count), unit);
   }
 
   /**
@@ -216,7 +327,7 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @return the average quantity converted to this unit
    */
   public Quantity<Q> getAverage(Unit<Q> unit) {
-    return average.to(unit);
+    return getAverage().to(unit);
   }
 
   /**
@@ -225,14 +336,33 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
    * @param unit
    *          to convert the summary
    * @return the summary converted to this unit
+   * @throws UnsupportedOperationException
+   *           if the conversion to this unit is neither linear nor affine, the sum not being convertible.
    */
   public QuantitySummaryStatistics<Q> to(Unit<Q> unit) {
-    QuantitySummaryStatistics<Q> summary = new QuantitySummaryStatistics<>(unit);
-    summary.average = average.to(unit);
+    QuantitySummaryStatistics<Q> summary = (summation == null) ? new QuantitySummaryStatistics<>(unit) : new QuantitySummaryStatistics<>(unit,
+        summation);
+    if (isEmpty())
+      return summary;
+    UnitConverter converter = this.unit.getConverterTo(unit);
+    Summation.checkAffine(converter);
+    if (summation == null) {
+      Quantity<Q> convertedMin = minQuantity.to(unit);
+      Quantity<Q> convertedMax = maxQuantity.to(unit);
+      summary.minQuantity = minFunctions.apply(convertedMin, convertedMax);
+      summary.maxQuantity = maxFunctions.apply(convertedMin, convertedMax);
+      summary.sumQuantity = sumQuantity.to(unit);
+      if (!converter.isLinear()) // Each of the count values carries the offset of an affine converter.
+        summary.sumQuantity = summary.sumQuantity.add(empty.to(unit).multiply(count - 1));
+      summary.count = count;
+      return summary;
+    }
+    double convertedMin = converter.convert(min);
+    double convertedMax = converter.convert(max);
+    summary.min = Math.min(convertedMin, convertedMax);
+    summary.max = Math.max(convertedMin, convertedMax);
+    summary.sum = sum.convert(converter, count);
     summary.count = count;
-    summary.max = max.to(unit);
-    summary.min = min.to(unit);
-    summary.sum = sum.to(unit);
     return summary;
   }
 
@@ -244,25 +374,25 @@ public class QuantitySummaryStatistics<Q extends Quantity<Q>> {
     if (QuantitySummaryStatistics.class.isInstance(obj)) {
       @SuppressWarnings("rawtypes")
       QuantitySummaryStatistics other = QuantitySummaryStatistics.class.cast(obj);
-      return Objects.equals(empty.getUnit(), other.empty.getUnit());
+      return Objects.equals(unit, other.unit);
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    return empty.getUnit().hashCode();
+    return unit.hashCode();
   }
 
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder();
-    sb.append("[currency: ").append(empty.getUnit()).append(",");
+    sb.append("[currency: ").append(unit).append(",");
     sb.append("count:").append(count).append(",");
-    sb.append("min:").append(min).append(",");
-    sb.append("max:").append(max).append(",");
-    sb.append("sum:").append(sum).append(",");
-    sb.append("average:").append(average).append("]");
+    sb.append("min:").append(getMin()).append(",");
+    sb.append("max:").append(getMax()).append(",");
+    sb.append("sum:").append(getSum()).append(",");
+    sb.append("average:").append(getAverage()).append("]");
     return sb.toString();
   }
 }
@@ -0,0 +1,86 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+/**
+ * A quantity used as a bound by the predicates of {@link QuantityFunctions}, converted once into each unit it is compared in.
+ *
+ * <p>
+ * Comparing an element to the threshold converts the threshold into the unit of the element (and caches the result per unit) instead of converting
+ * every element into the unit of the threshold; the comparison itself is done on primitives and does not allocate. Instances are thread-safe.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+final class QuantityThreshold<Q extends Quantity<Q>> {
+
+  private final Unit<Q> unit;
+
+  private final double value;
+
+  /**
+   * Holds the threshold value converted to the units encountered so far.
+   */
+  private final ConcurrentMap<Unit<Q>, Double> values = new ConcurrentHashMap<>();
+
+  QuantityThreshold(Quantity<Q> quantity) {
+    this.unit = Objects.requireNonNull(quantity.getUnit());
+    this.value = quantity.getValue().doubleValue();
+  }
+
+  /**
+   * Returns the value of this threshold stated in the specified unit.
+   *
+   * @param target
+   *          the unit of the value.
+   * @return the converted value.
+   */
+  double valueIn(Unit<Q> target) {
+    if (target == unit)
+      return value;
+    Double converted = values.get(target);
+    if (converted == null) {
+      converted = unit.getConverterTo(target).convert(value);
+      values.putIfAbsent(target, converted);
+    }
+    return converted;
+  }
+}
@@ -29,8 +29,6 @@
  */
 package tec.uom.se.function;
 
-import javax.measure.UnitConverter;
-
 import tec.uom.lib.common.function.ValueSupplier;
 import tec.uom.se.AbstractConverter;
 
@@ -178,6 +176,15 @@ public final class RationalConverter extends AbstractConverter implements ValueS
     return value * toDouble(dividend) / toDouble(divisor);
   }
 
+  @Override
+  protected void convertArray(double[] source, int sourceOffset, double[] destination, int destinationOffset, int length) {
+    double dividend = toDouble(this.dividend);
+    double divisor = toDouble(this.divisor);
+    for (int i = 0; i < length; i++) {
+      destination[destinationOffset + i] = source[sourceOffset + i] * dividend / divisor;
+    }
+  }
+
   // Optimization of BigInteger.doubleValue() (implementation too
   // inneficient).
   private static double toDouble(BigInteger integer) {
@@ -191,19 +198,6 @@ public final class RationalConverter extends AbstractConverter implements ValueS
     return value.multiply(decimalDividend, ctx).divide(decimalDivisor, ctx);
   }
 
-  @Override
-  public UnitConverter concatenate(UnitConverter converter) {
-    if (!(converter instanceof RationalConverter))
-      return super.concatenate(converter);
-    RationalConverter that = (RationalConverter) converter;
-    BigInteger newDividend = this.getDividend().multiply(that.getDividend());
-    BigInteger newDivisor = this.getDivisor().multiply(that.getDivisor());
-    BigInteger gcd = newDividend.gcd(newDivisor);
-    newDividend = newDividend.divide(gcd);
-    newDivisor = newDivisor.divide(gcd);
-    return (newDividend.equals(BigInteger.ONE) && newDivisor.equals(BigInteger.ONE)) ? IDENTITY : new RationalConverter(newDividend, newDivisor);
-  }
-
   @Override
   public RationalConverter inverse() {
     return dividend.signum() == -1 ? new RationalConverter(getDivisor().negate(), getDividend().negate()) : new RationalConverter(getDivisor(),
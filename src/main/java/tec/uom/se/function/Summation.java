@@ -0,0 +1,367 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Objects;
+
+import javax.measure.UnitConverter;
+
+import tec.uom.se.AbstractConverter;
+
+/**
+ * <p>
+ * A summation strategy for quantity reductions such as {@link QuantityFunctions#summing(javax.measure.Unit, Summation)} and
+ * {@link QuantitySummaryStatistics}.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #NAIVE} adds <code>double</code> values as they come; fastest, but rounding errors accumulate over long streams.</li>
+ * <li>{@link #COMPENSATED} uses Kahan-Babuška (Neumaier) compensated summation; the error does not grow with the number of values.</li>
+ * <li>{@link #exact(MathContext)} adds the values as <code>BigDecimal</code> without rounding and rounds the result to the given context; decimal
+ * values (for example those of a {@link tec.uom.se.quantity.DecimalQuantity}) keep their full precision. Consecutive values in the same unit are
+ * summed before being converted when the conversion is linear or affine, so that it rounds once rather than once per value; values converted
+ * with any other converter (for example a logarithmic one) are converted one by one.</li>
+ * </ul>
+ *
+ * <p>
+ * Summation strategies are immutable and thread-safe; each reduction creates its own accumulators, which are merged when a parallel reduction
+ * combines its partial results.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public abstract class Summation {
+
+  /**
+   * Plain <code>double</code> summation.
+   */
+  public static final Summation NAIVE = new Summation() {
+    @Override
+    Accumulator newAccumulator() {
+      return new NaiveAccumulator();
+    }
+
+    @Override
+    public String toString() {
+      return "NAIVE";
+    }
+  };
+
+  /**
+   * Kahan-Babuška (Neumaier) compensated <code>double</code> summation.
+   */
+  public static final Summation COMPENSATED = new Summation() {
+    @Override
+    Accumulator newAccumulator() {
+      return new CompensatedAccumulator();
+    }
+
+    @Override
+    public String toString() {
+      return "COMPENSATED";
+    }
+  };
+
+  /**
+   * Exact summation, the result being rounded to {@link MathContext#DECIMAL128}.
+   */
+  public static final Summation EXACT = exact(MathContext.DECIMAL128);
+
+  Summation() {
+  }
+
+  /**
+   * Returns an exact summation strategy, the values being added as <code>BigDecimal</code> and the result rounded to the specified context.
+   *
+   * @param mathContext
+   *          the context used to convert the values and round the result.
+   * @return the exact summation strategy.
+   */
+  public static Summation exact(MathContext mathContext) {
+    Objects.requireNonNull(mathContext);
+    return new Summation() {
+      @Override
+      Accumulator newAccumulator() {
+        return new ExactAccumulator(mathContext);
+      }
+
+      @Override
+      public String toString() {
+        return "EXACT[" + mathContext + "]";
+      }
+    };
+  }
+
+  /**
+   * Returns a new (empty) accumulator for this strategy.
+   */
+  abstract Accumulator newAccumulator();
+
+  /**
+   * Indicates if a sum of values can be converted as a whole with the specified converter, that is if the converter is linear or affine.
+   */
+  static boolean isAffine(UnitConverter converter) {
+    if (converter instanceof AbstractConverter.Pair) {
+      AbstractConverter.Pair pair = (AbstractConverter.Pair) converter;
+      return isAffine(pair.getLeft()) && isAffine(pair.getRight());
+    }
+    return converter.isLinear() || ConverterNormalizer.isAffine(converter);
+  }
+
+  /**
+   * Throws an exception if a sum cannot be converted as a whole with the specified converter.
+   */
+  static void checkAffine(UnitConverter converter) {
+    if (!isAffine(converter))
+      throw new UnsupportedOperationException("Cannot convert a sum with the non-linear converter " + converter);
+  }
+
+  /**
+   * A mutable sum; not thread-safe, a reduction holds one accumulator per thread and merges them.
+   */
+  static abstract class Accumulator {
+
+    /**
+     * Adds a value.
+     */
+    abstract void add(double value);
+
+    /**
+     * Adds a value stated in another unit; <code>converted</code> is <code>converter.convert(value.doubleValue())</code>.
+     */
+    void add(Number value, UnitConverter converter, double converted) {
+      add(converted);
+    }
+
+    /**
+     * Adds the sum held by another accumulator of the same strategy.
+     */
+    abstract void add(Accumulator other);
+
+    /**
+     * Returns the sum (a <code>Double</code> or a <code>BigDecimal</code>).
+     */
+    abstract Number sum();
+
+    /**
+     * Returns the mean of <code>count</code> values (<code>count &gt; 0</code>).
+     */
+    abstract Number mean(long count);
+
+    /**
+     * Returns a new accumulator holding the sum of <code>count</code> values converted with the specified (possibly affine) converter.
+     *
+     * @throws UnsupportedOperationException
+     *           if the converter is neither linear nor affine.
+     */
+    abstract Accumulator convert(UnitConverter converter, long count);
+  }
+
+  private static final class NaiveAccumulator extends Accumulator {
+    private double sum;
+
+    @Override
+    void add(double value) {
+      sum += value;
+    }
+
+    @Override
+    void add(Accumulator other) {
+      sum += ((NaiveAccumulator) other).sum;
+    }
+
+    @Override
+    Number sum() {
+      return sum;
+    }
+
+    @Override
+    Number mean(long count) {
+      return sum / count;
+    }
+
+    @Override
+    Accumulator convert(UnitConverter converter, long count) {
+      checkAffine(converter);
+      NaiveAccumulator result = new NaiveAccumulator();
+      // Each of the count values carries the offset of an affine converter.
+      result.sum = converter.convert(sum) + (count - 1) * converter.convert(0.0);
+      return result;
+    }
+  }
+
+  private static final class CompensatedAccumulator extends Accumulator {
+    private double sum;
+    private double compensation;
+
+    @Override
+    void add(double value) {
+      double t = sum + value;
+      if (Math.abs(sum) >= Math.abs(value)) {
+        compensation += (sum - t) + value;
+      } else {
+        compensation += (value - t) + sum;
+      }
+      sum = t;
+    }
+
+    @Override
+    void add(Accumulator other) {
+      CompensatedAccumulator that = (CompensatedAccumulator) other;
+      add(that.sum);
+      add(that.compensation);
+    }
+
+    @Override
+    Number sum() {
+      return sum + compensation;
+    }
+
+    @Override
+    Number mean(long count) {
+      return (sum + compensation) / count;
+    }
+
+    @Override
+    Accumulator convert(UnitConverter converter, long count) {
+      checkAffine(converter);
+      CompensatedAccumulator result = new CompensatedAccumulator();
+      double offset = converter.convert(0.0);
+      result.add(converter.convert(sum) - offset);
+      result.add(converter.convert(compensation) - offset);
+      result.add(count * offset);
+      return result;
+    }
+  }
+
+  private static final class ExactAccumulator extends Accumulator {
+    private final MathContext mathContext;
+    private BigDecimal sum = BigDecimal.ZERO;
+
+    /**
+     * Holds the values not yet converted, all stated in the same source unit, so that they are converted once as a sum rather than one by one. Only
+     * values with a linear or affine converter are held back.
+     */
+    private UnitConverter pendingConverter;
+    private BigDecimal pending = BigDecimal.ZERO;
+    private long pendingCount;
+
+    ExactAccumulator(MathContext mathContext) {
+      this.mathContext = mathContext;
+    }
+
+    @Override
+    void add(double value) {
+      sum = sum.add(BigDecimal.valueOf(value));
+    }
+
+    @Override
+    void add(Number value, UnitConverter converter, double converted) {
+      if (converter != pendingConverter) {
+        flush();
+        if (!isAffine(converter)) { // The converted sum would not be the sum of the converted values.
+          sum = sum.add(convert(converter, toBigDecimal(value)));
+          return;
+        }
+        pendingConverter = converter;
+      }
+      pending = pending.add(toBigDecimal(value));
+      pendingCount++;
+    }
+
+    @Override
+    void add(Accumulator other) {
+      ExactAccumulator that = (ExactAccumulator) other;
+      that.flush();
+      sum = sum.add(that.sum);
+    }
+
+    @Override
+    Number sum() {
+      flush();
+      return sum.round(mathContext);
+    }
+
+    @Override
+    Number mean(long count) {
+      flush();
+      return sum.divide(BigDecimal.valueOf(count), mathContext);
+    }
+
+    @Override
+    Accumulator convert(UnitConverter converter, long count) {
+      checkAffine(converter);
+      flush();
+      ExactAccumulator result = new ExactAccumulator(mathContext);
+      result.sum = convert(converter, sum, count);
+      return result;
+    }
+
+    private void flush() {
+      if (pendingCount != 0) {
+        sum = sum.add(convert(pendingConverter, pending, pendingCount));
+        pending = BigDecimal.ZERO;
+        pendingCount = 0;
+      }
+    }
+
+    /**
+     * Converts the sum of count values with a linear or affine converter.
+     */
+    private BigDecimal convert(UnitConverter converter, BigDecimal sum, long count) {
+      if (converter.isIdentity())
+        return sum;
+      // Each of the count values carries the offset of an affine converter.
+      BigDecimal offset = convert(converter, BigDecimal.ZERO);
+      return convert(converter, sum).add(offset.multiply(BigDecimal.valueOf(count - 1)));
+    }
+
+    private BigDecimal convert(UnitConverter converter, BigDecimal value) {
+      if (converter instanceof AbstractConverter)
+        return ((AbstractConverter) converter).convert(value, mathContext);
+      return toBigDecimal(converter.convert(value));
+    }
+
+    private static BigDecimal toBigDecimal(Number value) {
+      if (value instanceof BigDecimal)
+        return (BigDecimal) value;
+      if (value instanceof BigInteger)
+        return new BigDecimal((BigInteger) value);
+      if ((value instanceof Long) || (value instanceof Integer) || (value instanceof Short) || (value instanceof Byte))
+        return BigDecimal.valueOf(value.longValue());
+      return BigDecimal.valueOf(value.doubleValue()); // Decimal representation of the double.
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.internal.format;
+
+import java.io.Reader;
+
+/**
+ * A {@link Reader} over a range of a {@link CharSequence}, which can be {@link #reset(CharSequence, int, int) reset} to another range so that a
+ * parser reading from it can be reused. The characters are not copied. Instances are not thread-safe.
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+final class CharSequenceReader extends Reader {
+
+  private CharSequence csq = "";
+
+  private int next;
+
+  private int end;
+
+  /**
+   * Sets the characters read next.
+   *
+   * @param csq
+   *          the character sequence.
+   * @param start
+   *          the index of the first character to read (inclusive).
+   * @param end
+   *          the index following the last character to read (exclusive).
+   */
+  void reset(CharSequence csq, int start, int end) {
+    this.csq = csq;
+    this.next = start;
+    this.end = end;
+  }
+
+  @Override
+  public int read(char[] cbuf, int off, int len) {
+    if (next >= end)
+      return -1;
+    int n = Math.min(len, end - next);
+    if (csq instanceof String) {
+      ((String) csq).getChars(next, next + n, cbuf, off);
+    } else {
+      for (int i = 0; i < n; i++) {
+        cbuf[off + i] = csq.charAt(next + i);
+      }
+    }
+    next += n;
+    return n;
+  }
+
+  @Override
+  public void close() {
+    csq = ""; // Releases the character sequence.
+    next = end = 0;
+  }
+}
@@ -57,13 +57,50 @@ public final class LocalUnitFormatParser {
     }
   }
 
+  /**
+   * The size of the character stream buffers of reusable parsers (a unit expression is rarely longer, the buffers grow otherwise).
+   */
+  private static final int REUSABLE_BUFFER_SIZE = 256;
+
   private SymbolMap symbols;
 
+  /**
+   * The reader of a reusable parser (<code>null</code> otherwise).
+   */
+  private CharSequenceReader reader;
+
   public LocalUnitFormatParser(SymbolMap symbols, java.io.Reader in) {
     this(in);
     this.symbols = symbols;
   }
 
+  /**
+   * Creates a parser to be reused through {@link #parseUnit(CharSequence, int, int)}. Such a parser is not thread-safe.
+   */
+  public LocalUnitFormatParser(SymbolMap symbols) {
+    this(new CharSequenceReader());
+    this.symbols = symbols;
+  }
+
+  /**
+   * Parses the specified range of characters, resetting (instead of re-creating) the character stream and the token manager of this parser.
+   * 
+   * @throws IllegalStateException
+   *           if this parser was not created with {@link #LocalUnitFormatParser(SymbolMap)}.
+   */
+  public Unit parseUnit(CharSequence csq, int start, int end) throws TokenException {
+    if (reader == null)
+      throw new IllegalStateException("Not a reusable parser");
+    reader.reset(csq, start, end);
+    inputStream.ReInit(reader, 1, 1, REUSABLE_BUFFER_SIZE);
+    ReInit(inputStream);
+    try {
+      return parseUnit();
+    } finally {
+      reader.close();
+    }
+  }
+
   final public Unit parseUnit() throws TokenException {
     Unit result = CompoundExpr();
     consumeToken(0);
@@ -657,6 +694,36 @@ public final class LocalUnitFormatParser {
     }
   }
 
+  /** Constructor for a reusable parser. */
+  private LocalUnitFormatParser(CharSequenceReader reader) {
+    this.reader = reader;
+    inputStream = new DefaultCharStream(reader, 1, 1, REUSABLE_BUFFER_SIZE);
+    tokenSource = new UnitTokenManager(inputStream);
+    token = new Token();
+    nextTokenIndex = -1;
+    genInt = 0;
+    for (int i = 0; i < 19; i++) {
+      laA[i] = -1;
+    }
+    for (int i = 0; i < rtns.length; i++) {
+      rtns[i] = new JJCalls();
+    }
+  }
+
+  /** Reinitialise, the character stream having been reinitialised. */
+  private void ReInit(DefaultCharStream stream) {
+    tokenSource.ReInit(stream);
+    token = new Token();
+    nextTokenIndex = -1;
+    genInt = 0;
+    for (int i = 0; i < 19; i++) {
+      laA[i] = -1;
+    }
+    for (int i = 0; i < rtns.length; i++) {
+      rtns[i] = new JJCalls();
+    }
+  }
+
   /** Constructor with generated Token Manager. */
   public LocalUnitFormatParser(UnitTokenManager tm) {
     tokenSource = tm;
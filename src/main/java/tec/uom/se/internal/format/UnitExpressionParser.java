@@ -0,0 +1,570 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.internal.format;
+
+import java.text.ParsePosition;
+
+import javax.measure.Unit;
+
+import tec.uom.se.format.SymbolMap;
+import tec.uom.se.function.LogConverter;
+import tec.uom.se.unit.Units;
+
+/**
+ * <p>
+ * A hand-written recursive-descent parser for the unit expression grammar of {@link UnitFormatParser}, reading a {@link CharSequence} directly.
+ * </p>
+ *
+ * <p>
+ * Tokens are held as <code>(kind, start, end)</code> indices into the parsed characters and symbols are looked up in place through
+ * {@link SymbolMap#getPrefixedUnit(CharSequence, int, int)}; an error is reported by returning <code>null</code> with the error index set on the
+ * {@link ParsePosition}, no exception is thrown. The unit operations (multiply, pow, transform...) are the ones of {@link UnitFormatParser}, so
+ * both parsers return equal units.
+ * </p>
+ *
+ * <p>
+ * A parser holds the state of the current parse and is not thread-safe; it can be reused from one parse to the next.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public final class UnitExpressionParser implements UnitTokenConstants {
+
+  /**
+   * The kind of a character sequence which is not a token.
+   */
+  private static final int ERROR = -1;
+
+  private final SymbolMap symbols;
+
+  private CharSequence csq;
+
+  /**
+   * The index after the last character to parse.
+   */
+  private int end;
+
+  /**
+   * The kind, first index and index after the last character of the current token.
+   */
+  private int kind;
+  private int tokenStart;
+  private int tokenEnd;
+
+  /**
+   * The index of the first error found.
+   */
+  private int errorIndex;
+
+  /**
+   * The exponent read by {@link #exponent()}.
+   */
+  private int pow;
+  private int root;
+
+  public UnitExpressionParser(SymbolMap symbols) {
+    this.symbols = symbols;
+  }
+
+  /**
+   * Parses the characters of the specified sequence from the cursor index to its end.
+   *
+   * @see #parse(CharSequence, int, ParsePosition)
+   */
+  public Unit<?> parse(CharSequence csq, ParsePosition cursor) {
+    return parse(csq, csq.length(), cursor);
+  }
+
+  /**
+   * Parses the characters of the specified sequence from the cursor index to the specified end index. On success the cursor index is set to
+   * <code>end</code>, otherwise <code>null</code> is returned and the cursor error index is set to the start of the unexpected token.
+   *
+   * @param csq
+   *          the characters to parse.
+   * @param end
+   *          the index after the last character to parse.
+   * @param cursor
+   *          the parse position.
+   * @return the parsed unit or <code>null</code> if the characters are not a unit expression.
+   */
+  public Unit<?> parse(CharSequence csq, int end, ParsePosition cursor) {
+    this.csq = csq;
+    this.end = end;
+    errorIndex = -1;
+    try {
+      scan(cursor.getIndex());
+      Unit<?> result = addExpr();
+      while ((result != null) && (kind == COLON)) {
+        next();
+      }
+      if ((result != null) && (kind != EOF)) {
+        result = error();
+      }
+      if (result == null) {
+        cursor.setErrorIndex(errorIndex);
+      } else {
+        cursor.setIndex(end);
+      }
+      return result;
+    } finally {
+      this.csq = null;
+    }
+  }
+
+  //
+  // Productions
+  //
+
+  private Unit<?> addExpr() {
+    boolean leadingOffset = false;
+    boolean negate = false;
+    double offset = 0;
+    if (((kind == INTEGER) || (kind == FLOATING_POINT)) && isSign(peek())) {
+      leadingOffset = true;
+      offset = number();
+      if (Double.isNaN(offset))
+        return error();
+      next();
+      negate = (kind == MINUS);
+      next();
+    }
+    Unit<?> result = mulExpr();
+    if (result == null)
+      return null;
+    if (leadingOffset) {
+      if (negate) {
+        result = result.multiply(-1);
+      }
+      result = result.shift(offset);
+    }
+    if (isSign(kind)) {
+      boolean minus = (kind == MINUS);
+      next();
+      if ((kind != INTEGER) && (kind != FLOATING_POINT))
+        return error();
+      double trailingOffset = number();
+      if (Double.isNaN(trailingOffset))
+        return error();
+      next();
+      result = result.shift(minus ? -trailingOffset : trailingOffset);
+    }
+    return result;
+  }
+
+  private Unit<?> mulExpr() {
+    Unit<?> result = exponentExpr();
+    while (result != null) {
+      if ((kind == ASTERISK) || (kind == MIDDLE_DOT)) {
+        next();
+        Unit<?> factor = exponentExpr();
+        result = (factor == null) ? null : result.multiply(factor);
+      } else if (kind == SOLIDUS) {
+        next();
+        Unit<?> divisor = exponentExpr();
+        result = (divisor == null) ? null : result.divide(divisor);
+      } else {
+        break;
+      }
+    }
+    return result;
+  }
+
+  private Unit<?> exponentExpr() {
+    if (((kind == INTEGER) || (kind == E)) && (peek() == CARET)) {
+      double base;
+      if (kind == INTEGER) {
+        int value = integer();
+        if (value < 0)
+          return error();
+        base = value;
+      } else {
+        base = StrictMath.E;
+      }
+      next();
+      next();
+      Unit<?> result = atomicExpr();
+      return (result == null) ? null : result.transform(new LogConverter(base).inverse());
+    }
+    switch (kind) {
+      case OPEN_PAREN:
+      case INTEGER:
+      case FLOATING_POINT:
+      case UNIT_IDENTIFIER:
+        Unit<?> result = atomicExpr();
+        if (result == null)
+          return null;
+        if ((kind == CARET) || (kind == SUPERSCRIPT_INTEGER)) {
+          if (!exponent())
+            return null;
+          if (pow != 1) {
+            result = result.pow(pow);
+          }
+          if (root != 1) {
+            result = result.root(root);
+          }
+        }
+        return result;
+      case LOG:
+      case NAT_LOG:
+        double base = 10;
+        if (kind == LOG) {
+          next();
+          if (kind == INTEGER) {
+            int value = integer();
+            if (value < 0)
+              return error();
+            base = value;
+            next();
+          }
+        } else {
+          base = StrictMath.E;
+          next();
+        }
+        if (kind != OPEN_PAREN)
+          return error();
+        next();
+        Unit<?> operand = addExpr();
+        if (operand == null)
+          return null;
+        if (kind != CLOSE_PAREN)
+          return error();
+        next();
+        return operand.transform(new LogConverter(base));
+      default:
+        return error();
+    }
+  }
+
+  private Unit<?> atomicExpr() {
+    switch (kind) {
+      case INTEGER:
+      case FLOATING_POINT:
+        double value = number();
+        if (Double.isNaN(value))
+          return error();
+        next();
+        return Units.ONE.multiply(value);
+      case UNIT_IDENTIFIER:
+        Unit<?> unit = symbols.getPrefixedUnit(csq, tokenStart, tokenEnd);
+        if (unit == null)
+          return error();
+        next();
+        return unit;
+      case OPEN_PAREN:
+        next();
+        Unit<?> result = addExpr();
+        if (result == null)
+          return null;
+        if (kind != CLOSE_PAREN)
+          return error();
+        next();
+        return result;
+      default:
+        return error();
+    }
+  }
+
+  /**
+   * Reads an exponent into {@link #pow} and {@link #root}.
+   *
+   * @return <code>false</code> if there is no valid exponent.
+   */
+  private boolean exponent() {
+    root = 1;
+    if (kind == SUPERSCRIPT_INTEGER) {
+      pow = 0;
+      for (int i = tokenStart; i < tokenEnd; i++) {
+        pow = pow * 10 + superscriptDigit(csq.charAt(i));
+      }
+      next();
+      return true;
+    }
+    next(); // CARET
+    if (kind == OPEN_PAREN) {
+      next();
+      pow = signedInteger();
+      if (pow == Integer.MIN_VALUE)
+        return false;
+      if (kind == SOLIDUS) {
+        next();
+        root = signedInteger();
+        if (root == Integer.MIN_VALUE)
+          return false;
+      }
+      if (kind != CLOSE_PAREN) {
+        error();
+        return false;
+      }
+      next();
+      return true;
+    }
+    if (!isSign(kind) && (kind != INTEGER)) {
+      error();
+      return false;
+    }
+    pow = signedInteger();
+    return pow != Integer.MIN_VALUE;
+  }
+
+  /**
+   * Reads an optionally signed integer.
+   *
+   * @return the integer or {@link Integer#MIN_VALUE} if none.
+   */
+  private int signedInteger() {
+    boolean minus = false;
+    if (isSign(kind)) {
+      minus = (kind == MINUS);
+      next();
+    }
+    int value = (kind == INTEGER) ? integer() : -1;
+    if (value < 0) {
+      error();
+      return Integer.MIN_VALUE;
+    }
+    next();
+    return minus ? -value : value;
+  }
+
+  /**
+   * Returns the value of the current {@link #INTEGER} token as an <code>int</code>, or <code>-1</code> if it overflows.
+   */
+  private int integer() {
+    long value = longValue(tokenStart, tokenEnd);
+    return (value > Integer.MAX_VALUE) ? -1 : (int) value;
+  }
+
+  /**
+   * Returns the value of the current {@link #INTEGER} or {@link #FLOATING_POINT} token, or {@link Double#NaN} if an integer overflows a
+   * <code>long</code>.
+   */
+  private double number() {
+    if (kind == INTEGER) {
+      long value = longValue(tokenStart, tokenEnd);
+      return (value < 0) ? Double.NaN : value;
+    }
+    return Double.parseDouble(csq.subSequence(tokenStart, tokenEnd).toString());
+  }
+
+  private long longValue(int start, int end) {
+    long value = 0;
+    for (int i = start; i < end; i++) {
+      int digit = csq.charAt(i) - '0';
+      if (value > (Long.MAX_VALUE - digit) / 10)
+        return -1;
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private Unit<?> error() {
+    if (errorIndex < 0) {
+      errorIndex = tokenStart;
+    }
+    return null;
+  }
+
+  private static boolean isSign(int kind) {
+    return (kind == PLUS) || (kind == MINUS);
+  }
+
+  //
+  // Tokens (same lexical rules as UnitTokenManager, longest match first)
+  //
+
+  private void next() {
+    scan(tokenEnd);
+  }
+
+  /**
+   * Reads the token starting at the specified index as the current token.
+   */
+  private void scan(int index) {
+    tokenStart = index;
+    kind = tokenAt(index);
+    tokenEnd = scanEnd;
+  }
+
+  /**
+   * Returns the kind of the token following the current one, without consuming anything.
+   */
+  private int peek() {
+    return tokenAt(tokenEnd);
+  }
+
+  /**
+   * The end of the last token read by {@link #tokenAt(int)}.
+   */
+  private int scanEnd;
+
+  private int tokenAt(int index) {
+    scanEnd = index;
+    if (index >= end)
+      return EOF;
+    char c = csq.charAt(index);
+    switch (c) {
+      case '+':
+        return single(index, PLUS);
+      case '-':
+        return single(index, MINUS);
+      case '*':
+        return single(index, ASTERISK);
+      case '\u00b7':
+        return single(index, MIDDLE_DOT);
+      case '/':
+        return single(index, SOLIDUS);
+      case '^':
+        return single(index, CARET);
+      case ':':
+        return single(index, COLON);
+      case '(':
+        return single(index, OPEN_PAREN);
+      case ')':
+        return single(index, CLOSE_PAREN);
+      default:
+    }
+    if (isDigit(c) || (c == '.'))
+      return numberAt(index);
+    if (superscriptDigit(c) >= 0) {
+      int i = index + 1;
+      while ((i < end) && (superscriptDigit(csq.charAt(i)) >= 0)) {
+        i++;
+      }
+      scanEnd = i;
+      return SUPERSCRIPT_INTEGER;
+    }
+    if (!isInitialChar(c))
+      return ERROR;
+    int i = index + 1;
+    while ((i < end) && isExtendedChar(csq.charAt(i))) {
+      i++;
+    }
+    scanEnd = i;
+    int length = i - index;
+    if ((length == 1) && (c == 'e'))
+      return E;
+    if ((length == 3) && (c == 'l') && (csq.charAt(index + 1) == 'o') && (csq.charAt(index + 2) == 'g'))
+      return LOG;
+    if ((length == 2) && (c == 'l') && (csq.charAt(index + 1) == 'n'))
+      return NAT_LOG;
+    return UNIT_IDENTIFIER;
+  }
+
+  private int single(int index, int kind) {
+    scanEnd = index + 1;
+    return kind;
+  }
+
+  /**
+   * Reads <code>DIGIT+</code> as an {@link #INTEGER}, or <code>DIGIT* "."? DIGIT+ (("e" | "E") ("+" | "-")? DIGIT+)?</code> as a
+   * {@link #FLOATING_POINT}.
+   */
+  private int numberAt(int index) {
+    int i = digitsEnd(index);
+    boolean floating = false;
+    if ((i + 1 < end) && (csq.charAt(i) == '.') && isDigit(csq.charAt(i + 1))) {
+      i = digitsEnd(i + 1);
+      floating = true;
+    } else if (i == index) {
+      return ERROR; // A single '.'
+    }
+    if ((i < end) && ((csq.charAt(i) == 'e') || (csq.charAt(i) == 'E'))) {
+      int j = i + 1;
+      if ((j < end) && ((csq.charAt(j) == '+') || (csq.charAt(j) == '-'))) {
+        j++;
+      }
+      if ((j < end) && isDigit(csq.charAt(j))) {
+        i = digitsEnd(j);
+        floating = true;
+      }
+    }
+    scanEnd = i;
+    return floating ? FLOATING_POINT : INTEGER;
+  }
+
+  private int digitsEnd(int index) {
+    while ((index < end) && isDigit(csq.charAt(index))) {
+      index++;
+    }
+    return index;
+  }
+
+  private static boolean isDigit(char c) {
+    return (c >= '0') && (c <= '9');
+  }
+
+  /**
+   * Returns the value of the specified superscript digit, or <code>-1</code> if it is not one.
+   */
+  private static int superscriptDigit(char c) {
+    switch (c) {
+      case '\u2070':
+        return 0;
+      case '\u00b9':
+        return 1;
+      case '\u00b2':
+        return 2;
+      case '\u00b3':
+        return 3;
+      default:
+        return ((c >= '\u2074') && (c <= '\u2079')) ? c - '\u2070' : -1;
+    }
+  }
+
+  /**
+   * Indicates if the specified character can start a unit identifier: any character except white spaces and control characters up to
+   * <code>' '</code>, digits, superscript digits, operators and <code>'.'</code>.
+   */
+  private static boolean isInitialChar(char c) {
+    return isExtendedChar(c) && !isDigit(c);
+  }
+
+  private static boolean isExtendedChar(char c) {
+    if (c <= ' ')
+      return false;
+    switch (c) {
+      case '(':
+      case ')':
+      case '*':
+      case '+':
+      case '-':
+      case '.':
+      case '/':
+      case ':':
+      case '^':
+      case '\u00b7':
+        return false;
+      default:
+        return superscriptDigit(c) < 0;
+    }
+  }
+}
@@ -37,7 +37,9 @@ import tec.uom.se.function.LogConverter;
 import tec.uom.se.unit.MetricPrefix;
 import tec.uom.se.unit.Units;
 
-/** */
+/**
+ * @deprecated use {@link UnitExpressionParser}
+ */
 public final class UnitFormatParser implements UnitTokenConstants {
 
   private static class Exponent {
@@ -50,13 +52,49 @@ public final class UnitFormatParser implements UnitTokenConstants {
     }
   }
 
+  /**
+   * The size of the character stream buffers of reusable parsers (a unit expression is rarely longer, the buffers grow otherwise).
+   */
+  private static final int REUSABLE_BUFFER_SIZE = 256;
+
   private SymbolMap symbols;
 
+  /**
+   * The reader of a reusable parser (<code>null</code> otherwise).
+   */
+  private CharSequenceReader reader;
+
   public UnitFormatParser(SymbolMap symbols, java.io.Reader in) { // TODO visiblity
     this(in);
     this.symbols = symbols;
   }
 
+  /**
+   * Creates a parser to be reused through {@link #parseUnit(CharSequence, int, int)}. Such a parser is not thread-safe.
+   */
+  public UnitFormatParser(SymbolMap symbols) {
+    this(new CharSequenceReader());
+    this.symbols = symbols;
+  }
+
+  /**
+   * Parses the specified range of characters, resetting (instead of re-creating) the character stream and the token manager of this parser.
+   * 
+   * @throws IllegalStateException
+   *           if this parser was not created with {@link #UnitFormatParser(SymbolMap)}.
+   */
+  public Unit<?> parseUnit(CharSequence csq, int start, int end) throws TokenException {
+    if (reader == null)
+      throw new IllegalStateException("Not a reusable parser");
+    reader.reset(csq, start, end);
+    ReInit(reader);
+    try {
+      return parseUnit();
+    } finally {
+      reader.close();
+    }
+  }
+
   //
   // Parser productions
   //
@@ -207,7 +245,7 @@ public final class UnitFormatParser implements UnitTokenConstants {
       if (token.kind == INTEGER) {
         base = Integer.parseInt(token.image);
       } else {
-        base = E;
+        base = StrictMath.E;
       }
       {
         if (true)
@@ -270,7 +308,7 @@ public final class UnitFormatParser implements UnitTokenConstants {
             if (token.kind == INTEGER) {
               base = Integer.parseInt(token.image);
             } else if (token.kind == NAT_LOG) {
-              base = E;
+              base = StrictMath.E;
             }
           }
           {
@@ -652,16 +690,32 @@ public final class UnitFormatParser implements UnitTokenConstants {
       jj_2_rtns[i] = new JJCalls();
   }
 
-  /** Reinitialise. */
-  // private void reInit(java.io.Reader stream) {
-  // jj_input_stream.reInit(stream, 1, 1);
-  // token_source.reInit(jj_input_stream);
-  // token = new Token();
-  // jj_ntk = -1;
-  // jj_gen = 0;
-  // for (int i = 0; i < 19; i++) jj_la1[i] = -1;
-  // for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
-  // }
+  /** Constructor for a reusable parser. */
+  private UnitFormatParser(CharSequenceReader reader) {
+    this.reader = reader;
+    jj_input_stream = new DefaultCharStream(reader, 1, 1, REUSABLE_BUFFER_SIZE);
+    token_source = new UnitTokenManager(jj_input_stream);
+    token = new Token();
+    jj_ntk = -1;
+    jj_gen = 0;
+    for (int i = 0; i < 19; i++)
+      jj_la1[i] = -1;
+    for (int i = 0; i < jj_2_rtns.length; i++)
+      jj_2_rtns[i] = new JJCalls();
+  }
+
+  /** Reinitialise, keeping the buffers of the character stream. */
+  private void ReInit(java.io.Reader stream) {
+    jj_input_stream.ReInit(stream, 1, 1, REUSABLE_BUFFER_SIZE);
+    token_source.ReInit(jj_input_stream);
+    token = new Token();
+    jj_ntk = -1;
+    jj_gen = 0;
+    for (int i = 0; i < 19; i++)
+      jj_la1[i] = -1;
+    for (int i = 0; i < jj_2_rtns.length; i++)
+      jj_2_rtns[i] = new JJCalls();
+  }
 
   /** Constructor with generated Token Manager. */
   UnitFormatParser(UnitTokenManager tm) {
@@ -36,6 +36,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.HashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -102,7 +103,7 @@ public abstract class OldProxyQuantityFactory<Q extends Quantity<Q>> {// impleme
           // This exception is not documented because it should never happen if the
           // user don't try to trick the Java generic types system with unsafe cast.
           throw new ClassCastException();
-        factory = new Default<>((Class<Q>) type2);
+        factory = new Default<>((Class<Q>) type2, false);
         INSTANCES.put(type2, factory);
       } else {
         factory = INSTANCES.get(type);
@@ -112,7 +113,7 @@ public abstract class OldProxyQuantityFactory<Q extends Quantity<Q>> {// impleme
           // This exception is not documented because it should never happen if the
           // user don't try to trick the Java generic types system with unsafe cast.
           throw new ClassCastException();
-        factory = new Default<>(type);
+        factory = new Default<>(type, false);
         INSTANCES.put(type, factory);
       }
     } else {
@@ -123,12 +124,28 @@ public abstract class OldProxyQuantityFactory<Q extends Quantity<Q>> {// impleme
         // This exception is not documented because it should never happen if the
         // user don't try to trick the Java generic types system with unsafe cast.
         throw new ClassCastException();
-      factory = new Default<>(type);
+      factory = new Default<>(type, false);
       INSTANCES.put(type, factory);
     }
     return factory;
   }
 
+  /**
+   * Returns a factory creating reflective proxies for the specified quantity interface, even if there is a pre-built class for it (see
+   * {@link TypedQuantities}). The returned factory is not cached.
+   *
+   * @param <Q>
+   *          The type of the quantity
+   * @param type
+   *          the quantity interface
+   * @return a proxy-based quantity factory for the specified type
+   */
+  public static <Q extends Quantity<Q>> OldProxyQuantityFactory<Q> getProxyInstance(final Class<Q> type) {
+    if (!type.isInterface() || !Quantity.class.isAssignableFrom(type))
+      throw new ClassCastException();
+    return new Default<>(type, true);
+  }
+
   /**
    * Overrides the default implementation of the factory for the specified quantity type.
    *
@@ -166,8 +183,8 @@ public abstract class OldProxyQuantityFactory<Q extends Quantity<Q>> {// impleme
   public abstract Unit<Q> getSystemUnit();
 
   /**
-   * The default factory implementation. This factory uses reflection for providing a default implementation for every {@link AbstractMeasurement}
-   * sub-types.
+   * The default factory implementation. This factory creates instances of the pre-built classes of {@link TypedQuantities} when there is one for
+   * the type, and uses reflection for providing a default implementation for every other {@link AbstractMeasurement} sub-types.
    *
    * @param <Q>
    *          The type of the quantity
@@ -183,16 +200,24 @@ public abstract class OldProxyQuantityFactory<Q extends Quantity<Q>> {// impleme
      */
     private final Unit<Q> metricUnit;
 
+    /**
+     * The constructor of the pre-built quantity class, or <code>null</code> to create proxies.
+     */
+    private final BiFunction<Number, Unit<Q>, Q> constructor;
+
     /**
      * Creates a new factory for quantities of the given type.
      *
      * @param type
      *          The type of the quantities created by this factory.
+     * @param proxy
+     *          <code>true</code> to always create proxies, even if there is a pre-built class for this type.
      */
     @SuppressWarnings("unchecked")
-    Default(final Class<Q> type) {
+    Default(final Class<Q> type, boolean proxy) {
       this.type = type;
       metricUnit = CLASS_TO_METRIC_UNIT.get(type);
+      constructor = proxy ? null : TypedQuantities.constructorOf(type);
     }
 
     @SuppressWarnings("rawtypes")
@@ -238,7 +263,8 @@ public abstract class OldProxyQuantityFactory<Q extends Quantity<Q>> {// impleme
     @Override
     @SuppressWarnings("unchecked")
     public Q create(final Number value, final Unit<Q> unit) {
-      // System.out.println("Type: " + type);
+      if (constructor != null)
+        return constructor.apply(value, unit);
       return (Q) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new GenericHandler<>(value, unit));
     }
 
@@ -0,0 +1,378 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.internal.quantity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.quantity.*;
+
+import tec.uom.se.quantity.NumberQuantity;
+
+/**
+ * Pre-built implementations of the quantity interfaces of <code>javax.measure.quantity</code> (for example {@link Mass} or {@link Length}).
+ *
+ * <p>
+ * The quantity factories return instances of these classes instead of reflective {@link java.lang.reflect.Proxy proxies} for the types listed here:
+ * every call is a direct (and inlinable) call to {@link NumberQuantity}, where a proxy dispatches each method through an
+ * {@link java.lang.reflect.InvocationHandler} and supports only a few of them.
+ * </p>
+ *
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public final class TypedQuantities {
+
+  /**
+   * Holds the constructor of each pre-built quantity class, by quantity interface (never modified after initialization).
+   */
+  @SuppressWarnings("rawtypes")
+  private static final Map<Class, BiFunction> CONSTRUCTORS = new HashMap<>();
+  static {
+    CONSTRUCTORS.put(Dimensionless.class, (BiFunction<Number, Unit<Dimensionless>, Dimensionless>) DimensionlessQuantity::new);
+    CONSTRUCTORS.put(ElectricCurrent.class, (BiFunction<Number, Unit<ElectricCurrent>, ElectricCurrent>) ElectricCurrentQuantity::new);
+    CONSTRUCTORS.put(LuminousIntensity.class, (BiFunction<Number, Unit<LuminousIntensity>, LuminousIntensity>) LuminousIntensityQuantity::new);
+    CONSTRUCTORS.put(Temperature.class, (BiFunction<Number, Unit<Temperature>, Temperature>) TemperatureQuantity::new);
+    CONSTRUCTORS.put(Mass.class, (BiFunction<Number, Unit<Mass>, Mass>) MassQuantity::new);
+    CONSTRUCTORS.put(Length.class, (BiFunction<Number, Unit<Length>, Length>) LengthQuantity::new);
+    CONSTRUCTORS.put(AmountOfSubstance.class, (BiFunction<Number, Unit<AmountOfSubstance>, AmountOfSubstance>) AmountOfSubstanceQuantity::new);
+    CONSTRUCTORS.put(Time.class, (BiFunction<Number, Unit<Time>, Time>) TimeQuantity::new);
+    CONSTRUCTORS.put(Angle.class, (BiFunction<Number, Unit<Angle>, Angle>) AngleQuantity::new);
+    CONSTRUCTORS.put(SolidAngle.class, (BiFunction<Number, Unit<SolidAngle>, SolidAngle>) SolidAngleQuantity::new);
+    CONSTRUCTORS.put(Frequency.class, (BiFunction<Number, Unit<Frequency>, Frequency>) FrequencyQuantity::new);
+    CONSTRUCTORS.put(Force.class, (BiFunction<Number, Unit<Force>, Force>) ForceQuantity::new);
+    CONSTRUCTORS.put(Pressure.class, (BiFunction<Number, Unit<Pressure>, Pressure>) PressureQuantity::new);
+    CONSTRUCTORS.put(Energy.class, (BiFunction<Number, Unit<Energy>, Energy>) EnergyQuantity::new);
+    CONSTRUCTORS.put(Power.class, (BiFunction<Number, Unit<Power>, Power>) PowerQuantity::new);
+    CONSTRUCTORS.put(ElectricCharge.class, (BiFunction<Number, Unit<ElectricCharge>, ElectricCharge>) ElectricChargeQuantity::new);
+    CONSTRUCTORS.put(ElectricPotential.class, (BiFunction<Number, Unit<ElectricPotential>, ElectricPotential>) ElectricPotentialQuantity::new);
+    CONSTRUCTORS.put(ElectricCapacitance.class, (BiFunction<Number, Unit<ElectricCapacitance>, ElectricCapacitance>) ElectricCapacitanceQuantity::new);
+    CONSTRUCTORS.put(ElectricResistance.class, (BiFunction<Number, Unit<ElectricResistance>, ElectricResistance>) ElectricResistanceQuantity::new);
+    CONSTRUCTORS.put(ElectricConductance.class, (BiFunction<Number, Unit<ElectricConductance>, ElectricConductance>) ElectricConductanceQuantity::new);
+    CONSTRUCTORS.put(MagneticFlux.class, (BiFunction<Number, Unit<MagneticFlux>, MagneticFlux>) MagneticFluxQuantity::new);
+    CONSTRUCTORS.put(MagneticFluxDensity.class, (BiFunction<Number, Unit<MagneticFluxDensity>, MagneticFluxDensity>) MagneticFluxDensityQuantity::new);
+    CONSTRUCTORS.put(ElectricInductance.class, (BiFunction<Number, Unit<ElectricInductance>, ElectricInductance>) ElectricInductanceQuantity::new);
+    CONSTRUCTORS.put(LuminousFlux.class, (BiFunction<Number, Unit<LuminousFlux>, LuminousFlux>) LuminousFluxQuantity::new);
+    CONSTRUCTORS.put(Illuminance.class, (BiFunction<Number, Unit<Illuminance>, Illuminance>) IlluminanceQuantity::new);
+    CONSTRUCTORS.put(Radioactivity.class, (BiFunction<Number, Unit<Radioactivity>, Radioactivity>) RadioactivityQuantity::new);
+    CONSTRUCTORS.put(RadiationDoseAbsorbed.class, (BiFunction<Number, Unit<RadiationDoseAbsorbed>, RadiationDoseAbsorbed>) RadiationDoseAbsorbedQuantity::new);
+    CONSTRUCTORS.put(RadiationDoseEffective.class, (BiFunction<Number, Unit<RadiationDoseEffective>, RadiationDoseEffective>) RadiationDoseEffectiveQuantity::new);
+    CONSTRUCTORS.put(CatalyticActivity.class, (BiFunction<Number, Unit<CatalyticActivity>, CatalyticActivity>) CatalyticActivityQuantity::new);
+    CONSTRUCTORS.put(Speed.class, (BiFunction<Number, Unit<Speed>, Speed>) SpeedQuantity::new);
+    CONSTRUCTORS.put(Acceleration.class, (BiFunction<Number, Unit<Acceleration>, Acceleration>) AccelerationQuantity::new);
+    CONSTRUCTORS.put(Area.class, (BiFunction<Number, Unit<Area>, Area>) AreaQuantity::new);
+    CONSTRUCTORS.put(Volume.class, (BiFunction<Number, Unit<Volume>, Volume>) VolumeQuantity::new);
+  }
+
+  private TypedQuantities() {
+  }
+
+  /**
+   * Returns the constructor of the pre-built implementation of the specified quantity interface.
+   *
+   * @param <Q>
+   *          The type of the quantity
+   * @param type
+   *          the quantity interface.
+   * @return the function creating quantities of the specified type, or <code>null</code> if there is no pre-built implementation for this type.
+   */
+  @SuppressWarnings("unchecked")
+  public static <Q extends Quantity<Q>> BiFunction<Number, Unit<Q>, Q> constructorOf(Class<Q> type) {
+    return CONSTRUCTORS.get(type);
+  }
+
+  static final class DimensionlessQuantity extends NumberQuantity<Dimensionless> implements Dimensionless {
+    private static final long serialVersionUID = 1385301410670112222L;
+
+    DimensionlessQuantity(Number value, Unit<Dimensionless> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class ElectricCurrentQuantity extends NumberQuantity<ElectricCurrent> implements ElectricCurrent {
+    private static final long serialVersionUID = 3933995248855808794L;
+
+    ElectricCurrentQuantity(Number value, Unit<ElectricCurrent> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class LuminousIntensityQuantity extends NumberQuantity<LuminousIntensity> implements LuminousIntensity {
+    private static final long serialVersionUID = 6130236135747867843L;
+
+    LuminousIntensityQuantity(Number value, Unit<LuminousIntensity> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class TemperatureQuantity extends NumberQuantity<Temperature> implements Temperature {
+    private static final long serialVersionUID = 2530550809916537163L;
+
+    TemperatureQuantity(Number value, Unit<Temperature> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class MassQuantity extends NumberQuantity<Mass> implements Mass {
+    private static final long serialVersionUID = 9093634726831294680L;
+
+    MassQuantity(Number value, Unit<Mass> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class LengthQuantity extends NumberQuantity<Length> implements Length {
+    private static final long serialVersionUID = 303667801443920452L;
+
+    LengthQuantity(Number value, Unit<Length> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class AmountOfSubstanceQuantity extends NumberQuantity<AmountOfSubstance> implements AmountOfSubstance {
+    private static final long serialVersionUID = 6461505115929058269L;
+
+    AmountOfSubstanceQuantity(Number value, Unit<AmountOfSubstance> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class TimeQuantity extends NumberQuantity<Time> implements Time {
+    private static final long serialVersionUID = 24089925961023243L;
+
+    TimeQuantity(Number value, Unit<Time> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class AngleQuantity extends NumberQuantity<Angle> implements Angle {
+    private static final long serialVersionUID = 8606275705047906301L;
+
+    AngleQuantity(Number value, Unit<Angle> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class SolidAngleQuantity extends NumberQuantity<SolidAngle> implements SolidAngle {
+    private static final long serialVersionUID = 2810944919427809526L;
+
+    SolidAngleQuantity(Number value, Unit<SolidAngle> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class FrequencyQuantity extends NumberQuantity<Frequency> implements Frequency {
+    private static final long serialVersionUID = 7328325264480650160L;
+
+    FrequencyQuantity(Number value, Unit<Frequency> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class ForceQuantity extends NumberQuantity<Force> implements Force {
+    private static final long serialVersionUID = 3859444045510399596L;
+
+    ForceQuantity(Number value, Unit<Force> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class PressureQuantity extends NumberQuantity<Pressure> implements Pressure {
+    private static final long serialVersionUID = 7430532511096073441L;
+
+    PressureQuantity(Number value, Unit<Pressure> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class EnergyQuantity extends NumberQuantity<Energy> implements Energy {
+    private static final long serialVersionUID = 6445865419324464759L;
+
+    EnergyQuantity(Number value, Unit<Energy> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class PowerQuantity extends NumberQuantity<Power> implements Power {
+    private static final long serialVersionUID = 4733687241380119396L;
+
+    PowerQuantity(Number value, Unit<Power> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class ElectricChargeQuantity extends NumberQuantity<ElectricCharge> implements ElectricCharge {
+    private static final long serialVersionUID = 3480490837061756151L;
+
+    ElectricChargeQuantity(Number value, Unit<ElectricCharge> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class ElectricPotentialQuantity extends NumberQuantity<ElectricPotential> implements ElectricPotential {
+    private static final long serialVersionUID = 4015115867486273194L;
+
+    ElectricPotentialQuantity(Number value, Unit<ElectricPotential> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class ElectricCapacitanceQuantity extends NumberQuantity<ElectricCapacitance> implements ElectricCapacitance {
+    private static final long serialVersionUID = 1544923709598733699L;
+
+    ElectricCapacitanceQuantity(Number value, Unit<ElectricCapacitance> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class ElectricResistanceQuantity extends NumberQuantity<ElectricResistance> implements ElectricResistance {
+    private static final long serialVersionUID = 2792969221139412859L;
+
+    ElectricResistanceQuantity(Number value, Unit<ElectricResistance> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class ElectricConductanceQuantity extends NumberQuantity<ElectricConductance> implements ElectricConductance {
+    private static final long serialVersionUID = 8063264810366031429L;
+
+    ElectricConductanceQuantity(Number value, Unit<ElectricConductance> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class MagneticFluxQuantity extends NumberQuantity<MagneticFlux> implements MagneticFlux {
+    private static final long serialVersionUID = 4351846450114280038L;
+
+    MagneticFluxQuantity(Number value, Unit<MagneticFlux> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class MagneticFluxDensityQuantity extends NumberQuantity<MagneticFluxDensity> implements MagneticFluxDensity {
+    private static final long serialVersionUID = 892163028903090461L;
+
+    MagneticFluxDensityQuantity(Number value, Unit<MagneticFluxDensity> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class ElectricInductanceQuantity extends NumberQuantity<ElectricInductance> implements ElectricInductance {
+    private static final long serialVersionUID = 8126425869677526042L;
+
+    ElectricInductanceQuantity(Number value, Unit<ElectricInductance> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class LuminousFluxQuantity extends NumberQuantity<LuminousFlux> implements LuminousFlux {
+    private static final long serialVersionUID = 8337381667718718816L;
+
+    LuminousFluxQuantity(Number value, Unit<LuminousFlux> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class IlluminanceQuantity extends NumberQuantity<Illuminance> implements Illuminance {
+    private static final long serialVersionUID = 133253078676435672L;
+
+    IlluminanceQuantity(Number value, Unit<Illuminance> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class RadioactivityQuantity extends NumberQuantity<Radioactivity> implements Radioactivity {
+    private static final long serialVersionUID = 3658526057351450825L;
+
+    RadioactivityQuantity(Number value, Unit<Radioactivity> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class RadiationDoseAbsorbedQuantity extends NumberQuantity<RadiationDoseAbsorbed> implements RadiationDoseAbsorbed {
+    private static final long serialVersionUID = 4485338332449518314L;
+
+    RadiationDoseAbsorbedQuantity(Number value, Unit<RadiationDoseAbsorbed> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class RadiationDoseEffectiveQuantity extends NumberQuantity<RadiationDoseEffective> implements RadiationDoseEffective {
+    private static final long serialVersionUID = 1232485126822188569L;
+
+    RadiationDoseEffectiveQuantity(Number value, Unit<RadiationDoseEffective> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class CatalyticActivityQuantity extends NumberQuantity<CatalyticActivity> implements CatalyticActivity {
+    private static final long serialVersionUID = 330200161345019908L;
+
+    CatalyticActivityQuantity(Number value, Unit<CatalyticActivity> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class SpeedQuantity extends NumberQuantity<Speed> implements Speed {
+    private static final long serialVersionUID = 9214340356680813138L;
+
+    SpeedQuantity(Number value, Unit<Speed> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class AccelerationQuantity extends NumberQuantity<Acceleration> implements Acceleration {
+    private static final long serialVersionUID = 4376762462687744915L;
+
+    AccelerationQuantity(Number value, Unit<Acceleration> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class AreaQuantity extends NumberQuantity<Area> implements Area {
+    private static final long serialVersionUID = 5328527995740083062L;
+
+    AreaQuantity(Number value, Unit<Area> unit) {
+      super(value, unit);
+    }
+  }
+
+  static final class VolumeQuantity extends NumberQuantity<Volume> implements Volume {
+    private static final long serialVersionUID = 8470998425329897576L;
+
+    VolumeQuantity(Number value, Unit<Volume> unit) {
+      super(value, unit);
+    }
+  }
+}
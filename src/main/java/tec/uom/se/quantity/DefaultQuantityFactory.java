@@ -34,6 +34,8 @@ import static tec.uom.se.unit.Units.*;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -63,7 +65,11 @@ import tec.uom.se.AbstractUnit;
  * @version 1.0.1, $Date: 2016-10-08 $
  */
 public class DefaultQuantityFactory<Q extends Quantity<Q>> implements QuantityFactory<Q> {
-  static final Map<Class, QuantityFactory> INSTANCES = new HashMap<>();
+  /**
+   * Holds the factories created so far, by quantity type. Reads do not block; a factory is created on first request of its type.
+   */
+  @SuppressWarnings("rawtypes")
+  static final ConcurrentMap<Class, QuantityFactory> INSTANCES = new ConcurrentHashMap<>();
 
   static final Logger logger = Logger.getLogger(DefaultQuantityFactory.class.getName());
 
@@ -75,57 +81,62 @@ public class DefaultQuantityFactory<Q extends Quantity<Q>> implements QuantityFa
   private final Class<Q> type;
 
   /**
-   * The metric unit for quantities created by this factory.
+   * The metric unit for quantities created by this factory, resolved on first use.
    */
-  private final Unit<Q> metricUnit;
+  private volatile Unit<Q> metricUnit;
 
-  @SuppressWarnings("rawtypes")
-  static final Map<Class, Unit> CLASS_TO_METRIC_UNIT = new HashMap<>();
-
-  static {
-    CLASS_TO_METRIC_UNIT.put(Dimensionless.class, AbstractUnit.ONE);
-    CLASS_TO_METRIC_UNIT.put(ElectricCurrent.class, AMPERE);
-    CLASS_TO_METRIC_UNIT.put(LuminousIntensity.class, CANDELA);
-    CLASS_TO_METRIC_UNIT.put(Temperature.class, KELVIN);
-    CLASS_TO_METRIC_UNIT.put(Mass.class, KILOGRAM);
-    CLASS_TO_METRIC_UNIT.put(Length.class, METRE);
-    CLASS_TO_METRIC_UNIT.put(AmountOfSubstance.class, MOLE);
-    CLASS_TO_METRIC_UNIT.put(Time.class, SECOND);
-    CLASS_TO_METRIC_UNIT.put(Angle.class, RADIAN);
-    CLASS_TO_METRIC_UNIT.put(SolidAngle.class, STERADIAN);
-    CLASS_TO_METRIC_UNIT.put(Frequency.class, HERTZ);
-    CLASS_TO_METRIC_UNIT.put(Force.class, NEWTON);
-    CLASS_TO_METRIC_UNIT.put(Pressure.class, PASCAL);
-    CLASS_TO_METRIC_UNIT.put(Energy.class, JOULE);
-    CLASS_TO_METRIC_UNIT.put(Power.class, WATT);
-    CLASS_TO_METRIC_UNIT.put(ElectricCharge.class, COULOMB);
-    CLASS_TO_METRIC_UNIT.put(ElectricPotential.class, VOLT);
-    CLASS_TO_METRIC_UNIT.put(ElectricCapacitance.class, FARAD);
-    CLASS_TO_METRIC_UNIT.put(ElectricResistance.class, OHM);
-    CLASS_TO_METRIC_UNIT.put(ElectricConductance.class, SIEMENS);
-    CLASS_TO_METRIC_UNIT.put(MagneticFlux.class, WEBER);
-    CLASS_TO_METRIC_UNIT.put(MagneticFluxDensity.class, TESLA);
-    CLASS_TO_METRIC_UNIT.put(ElectricInductance.class, HENRY);
-    CLASS_TO_METRIC_UNIT.put(LuminousFlux.class, LUMEN);
-    CLASS_TO_METRIC_UNIT.put(Illuminance.class, LUX);
-    CLASS_TO_METRIC_UNIT.put(Radioactivity.class, BECQUEREL);
-    CLASS_TO_METRIC_UNIT.put(RadiationDoseAbsorbed.class, GRAY);
-    CLASS_TO_METRIC_UNIT.put(RadiationDoseEffective.class, SIEVERT);
-    CLASS_TO_METRIC_UNIT.put(CatalyticActivity.class, KATAL);
-    CLASS_TO_METRIC_UNIT.put(Speed.class, METRES_PER_SECOND);
-    CLASS_TO_METRIC_UNIT.put(Acceleration.class, METRES_PER_SQUARE_SECOND);
-    CLASS_TO_METRIC_UNIT.put(Area.class, SQUARE_METRE);
-    CLASS_TO_METRIC_UNIT.put(Volume.class, CUBIC_METRE);
+  /**
+   * Holds the metric unit of the standard quantity types. This holder class (and the units it references) is only initialized when a metric unit
+   * is first requested, not when factories are created.
+   */
+  private static final class MetricUnits {
+    @SuppressWarnings("rawtypes")
+    static final Map<Class, Unit> CLASS_TO_METRIC_UNIT = new HashMap<>();
+
+    static {
+      CLASS_TO_METRIC_UNIT.put(Dimensionless.class, AbstractUnit.ONE);
+      CLASS_TO_METRIC_UNIT.put(ElectricCurrent.class, AMPERE);
+      CLASS_TO_METRIC_UNIT.put(LuminousIntensity.class, CANDELA);
+      CLASS_TO_METRIC_UNIT.put(Temperature.class, KELVIN);
+      CLASS_TO_METRIC_UNIT.put(Mass.class, KILOGRAM);
+      CLASS_TO_METRIC_UNIT.put(Length.class, METRE);
+      CLASS_TO_METRIC_UNIT.put(AmountOfSubstance.class, MOLE);
+      CLASS_TO_METRIC_UNIT.put(Time.class, SECOND);
+      CLASS_TO_METRIC_UNIT.put(Angle.class, RADIAN);
+      CLASS_TO_METRIC_UNIT.put(SolidAngle.class, STERADIAN);
+      CLASS_TO_METRIC_UNIT.put(Frequency.class, HERTZ);
+      CLASS_TO_METRIC_UNIT.put(Force.class, NEWTON);
+      CLASS_TO_METRIC_UNIT.put(Pressure.class, PASCAL);
+      CLASS_TO_METRIC_UNIT.put(Energy.class, JOULE);
+      CLASS_TO_METRIC_UNIT.put(Power.class, WATT);
+      CLASS_TO_METRIC_UNIT.put(ElectricCharge.class, COULOMB);
+      CLASS_TO_METRIC_UNIT.put(ElectricPotential.class, VOLT);
+      CLASS_TO_METRIC_UNIT.put(ElectricCapacitance.class, FARAD);
+      CLASS_TO_METRIC_UNIT.put(ElectricResistance.class, OHM);
+      CLASS_TO_METRIC_UNIT.put(ElectricConductance.class, SIEMENS);
+      CLASS_TO_METRIC_UNIT.put(MagneticFlux.class, WEBER);
+      CLASS_TO_METRIC_UNIT.put(MagneticFluxDensity.class, TESLA);
+      CLASS_TO_METRIC_UNIT.put(ElectricInductance.class, HENRY);
+      CLASS_TO_METRIC_UNIT.put(LuminousFlux.class, LUMEN);
+      CLASS_TO_METRIC_UNIT.put(Illuminance.class, LUX);
+      CLASS_TO_METRIC_UNIT.put(Radioactivity.class, BECQUEREL);
+      CLASS_TO_METRIC_UNIT.put(RadiationDoseAbsorbed.class, GRAY);
+      CLASS_TO_METRIC_UNIT.put(RadiationDoseEffective.class, SIEVERT);
+      CLASS_TO_METRIC_UNIT.put(CatalyticActivity.class, KATAL);
+      CLASS_TO_METRIC_UNIT.put(Speed.class, METRES_PER_SECOND);
+      CLASS_TO_METRIC_UNIT.put(Acceleration.class, METRES_PER_SQUARE_SECOND);
+      CLASS_TO_METRIC_UNIT.put(Area.class, SQUARE_METRE);
+      CLASS_TO_METRIC_UNIT.put(Volume.class, CUBIC_METRE);
+    }
   }
 
-  @SuppressWarnings("unchecked")
   DefaultQuantityFactory(Class<Q> quantity) {
     type = quantity;
-    metricUnit = CLASS_TO_METRIC_UNIT.get(type);
   }
 
   /**
-   * Returns the default instance for the specified quantity type.
+   * Returns the default instance for the specified quantity type. This method is thread-safe; once created, the instance of a type is returned
+   * without locking.
    *
    * @param <Q>
    *          The type of the quantity
@@ -133,26 +144,19 @@ public class DefaultQuantityFactory<Q extends Quantity<Q>> implements QuantityFa
    *          the quantity type
    * @return the quantity factory for the specified type
    */
+  @SuppressWarnings("unchecked")
   public static <Q extends Quantity<Q>> QuantityFactory<Q> getInstance(final Class<Q> type) {
+    QuantityFactory<Q> factory = INSTANCES.get(type);
+    if (factory != null)
+      return factory;
     logger.log(LOG_LEVEL, "Type: " + type + ": " + type.isInterface());
-    QuantityFactory<Q> factory;
-    if (!type.isInterface()) {
-      factory = new DefaultQuantityFactory<Q>(type);
-      // TODO use instances?
-    } else {
-      factory = INSTANCES.get(type);
-      if (factory != null)
-        return factory;
-      if (!Quantity.class.isAssignableFrom(type))
-        // This exception is not documented because it should never
-        // happen if the
-        // user don't try to trick the Java generic types system with
-        // unsafe cast.
-        throw new ClassCastException();
-      factory = new DefaultQuantityFactory<Q>(type);
-      INSTANCES.put(type, factory);
-    }
-    return factory;
+    if (type.isInterface() && !Quantity.class.isAssignableFrom(type))
+      // This exception is not documented because it should never
+      // happen if the
+      // user don't try to trick the Java generic types system with
+      // unsafe cast.
+      throw new ClassCastException();
+    return INSTANCES.computeIfAbsent(type, DefaultQuantityFactory::new);
   }
 
   public String toString() {
@@ -176,7 +180,13 @@ public class DefaultQuantityFactory<Q extends Quantity<Q>> implements QuantityFa
     return Quantities.getQuantity(value, unit);
   }
 
+  @SuppressWarnings("unchecked")
   public Unit<Q> getSystemUnit() {
-    return metricUnit;
+    Unit<Q> unit = metricUnit;
+    if (unit == null) {
+      unit = MetricUnits.CLASS_TO_METRIC_UNIT.get(type);
+      metricUnit = unit;
+    }
+    return unit;
   }
 }
@@ -0,0 +1,161 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import tec.uom.se.AbstractQuantity;
+import tec.uom.se.ComparableQuantity;
+
+/**
+ * An amount of quantity, implementation of {@link ComparableQuantity} that uses a primitive <code>int</code>, this object is immutable. Arithmetic
+ * with {@link Integer}, {@link Short} or {@link Byte} operands is exact; a result that does not fit in an <code>int</code> is returned as a
+ * {@link LongQuantity}. Any other operation is done by {@link LongQuantity}, which throws {@link ArithmeticException} on <code>long</code>
+ * overflow.
+ *
+ * @see AbstractQuantity
+ * @see Quantity
+ * @see ComparableQuantity
+ * @param <Q>
+ *          The type of the quantity.
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+final class IntegerQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> implements Serializable {
+
+  private static final long serialVersionUID = 2137451023485230613L;
+
+  final int value;
+
+  IntegerQuantity(int value, Unit<Q> unit) {
+    super(unit);
+    this.value = value;
+  }
+
+  @Override
+  public Integer getValue() {
+    return value;
+  }
+
+  @Override
+  public double doubleValue(Unit<Q> unit) {
+    return (super.getUnit().equals(unit)) ? value : super.getUnit().getConverterTo(unit).convert(value);
+  }
+
+  @Override
+  public BigDecimal decimalValue(Unit<Q> unit, MathContext ctx) throws ArithmeticException {
+    return toLongQuantity().decimalValue(unit, ctx);
+  }
+
+  @Override
+  public long longValue(Unit<Q> unit) {
+    return (super.getUnit().equals(unit)) ? value : toLongQuantity().longValue(unit);
+  }
+
+  @Override
+  public ComparableQuantity<Q> add(Quantity<Q> that) {
+    if (getUnit().equals(that.getUnit()) && isInteger(that.getValue()))
+      return quantity(Math.addExact((long) value, that.getValue().intValue()), getUnit());
+    return toLongQuantity().add(that);
+  }
+
+  @Override
+  public ComparableQuantity<Q> subtract(Quantity<Q> that) {
+    if (getUnit().equals(that.getUnit()) && isInteger(that.getValue()))
+      return quantity(Math.subtractExact((long) value, that.getValue().intValue()), getUnit());
+    return toLongQuantity().subtract(that);
+  }
+
+  @Override
+  public ComparableQuantity<?> multiply(Quantity<?> that) {
+    if (isInteger(that.getValue()))
+      return quantity(Math.multiplyExact((long) value, that.getValue().intValue()), (Unit) getUnit().multiply(that.getUnit()));
+    return toLongQuantity().multiply(that);
+  }
+
+  @Override
+  public ComparableQuantity<Q> multiply(Number that) {
+    if (isInteger(that))
+      return quantity(Math.multiplyExact((long) value, that.intValue()), getUnit());
+    return toLongQuantity().multiply(that);
+  }
+
+  @Override
+  public ComparableQuantity<?> divide(Quantity<?> that) {
+    if (isInteger(that.getValue()) && isMultipleOf(that.getValue().intValue()))
+      return new IntegerQuantity(value / that.getValue().intValue(), getUnit().divide(that.getUnit()));
+    return toLongQuantity().divide(that);
+  }
+
+  @Override
+  public ComparableQuantity<Q> divide(Number that) {
+    if (isInteger(that) && isMultipleOf(that.intValue()))
+      return new IntegerQuantity<>(value / that.intValue(), getUnit());
+    return toLongQuantity().divide(that);
+  }
+
+  @Override
+  public ComparableQuantity<?> inverse() {
+    if ((value == 1) || (value == -1))
+      return new IntegerQuantity(value, getUnit().inverse());
+    return toLongQuantity().inverse();
+  }
+
+  @Override
+  public boolean isBig() {
+    return false;
+  }
+
+  // Indicates if the division of this value by the specified divisor is exact (and does not overflow).
+  private boolean isMultipleOf(int divisor) {
+    return (divisor != 0) && (value % divisor == 0) && !((value == Integer.MIN_VALUE) && (divisor == -1));
+  }
+
+  // Returns the quantity holding an exact result, widened to a LongQuantity if it does not fit in an int.
+  private static <Q extends Quantity<Q>> ComparableQuantity<Q> quantity(long result, Unit<Q> unit) {
+    int narrowed = (int) result;
+    return (narrowed == result) ? new IntegerQuantity<>(narrowed, unit) : new LongQuantity<>(result, unit);
+  }
+
+  private LongQuantity<Q> toLongQuantity() {
+    return new LongQuantity<>(value, getUnit());
+  }
+
+  private static boolean isInteger(Number number) {
+    return (number instanceof Integer) || (number instanceof Short) || (number instanceof Byte);
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+
+import tec.uom.se.AbstractConverter;
+import tec.uom.se.AbstractQuantity;
+import tec.uom.se.ComparableQuantity;
+
+/**
+ * An amount of quantity, implementation of {@link ComparableQuantity} that uses a primitive <code>long</code>, this object is immutable.
+ * Arithmetic with integral operands ({@link Long}, {@link Integer}, {@link Short}, {@link Byte}) is exact and throws {@link ArithmeticException} on
+ * overflow, a division staying integral only when the dividend is a multiple of the divisor; any other operation is done by
+ * {@link DecimalQuantity}, as for a {@link NumberQuantity}.
+ *
+ * @see AbstractQuantity
+ * @see Quantity
+ * @see ComparableQuantity
+ * @param <Q>
+ *          The type of the quantity.
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+final class LongQuantity<Q extends Quantity<Q>> extends AbstractQuantity<Q> implements Serializable {
+
+  private static final long serialVersionUID = -3476563286512391893L;
+
+  final long value;
+
+  LongQuantity(long value, Unit<Q> unit) {
+    super(unit);
+    this.value = value;
+  }
+
+  @Override
+  public Long getValue() {
+    return value;
+  }
+
+  @Override
+  public double doubleValue(Unit<Q> unit) {
+    return (super.getUnit().equals(unit)) ? value : super.getUnit().getConverterTo(unit).convert(value);
+  }
+
+  @Override
+  public BigDecimal decimalValue(Unit<Q> unit, MathContext ctx) throws ArithmeticException {
+    BigDecimal decimal = BigDecimal.valueOf(value);
+    return (super.getUnit().equals(unit)) ? decimal : ((AbstractConverter) super.getUnit().getConverterTo(unit)).convert(decimal, ctx);
+  }
+
+  @Override
+  public long longValue(Unit<Q> unit) {
+    if (super.getUnit().equals(unit))
+      return value;
+    double result = doubleValue(unit);
+    if ((result < Long.MIN_VALUE) || (result > Long.MAX_VALUE)) {
+      throw new ArithmeticException("Overflow (" + result + ")");
+    }
+    return (long) result;
+  }
+
+  @Override
+  public ComparableQuantity<Q> add(Quantity<Q> that) {
+    Number operand = operand(that);
+    if (isIntegral(operand))
+      return new LongQuantity<>(Math.addExact(value, operand.longValue()), getUnit());
+    return toDecimalQuantity().add(that);
+  }
+
+  @Override
+  public ComparableQuantity<Q> subtract(Quantity<Q> that) {
+    Number operand = operand(that);
+    if (isIntegral(operand))
+      return new LongQuantity<>(Math.subtractExact(value, operand.longValue()), getUnit());
+    return toDecimalQuantity().subtract(that);
+  }
+
+  @Override
+  public ComparableQuantity<?> multiply(Quantity<?> that) {
+    Number operand = that.getValue();
+    if (isIntegral(operand))
+      return new LongQuantity(Math.multiplyExact(value, operand.longValue()), getUnit().multiply(that.getUnit()));
+    return toDecimalQuantity().multiply(that);
+  }
+
+  @Override
+  public ComparableQuantity<Q> multiply(Number that) {
+    if (isIntegral(that))
+      return new LongQuantity<>(Math.multiplyExact(value, that.longValue()), getUnit());
+    return toDecimalQuantity().multiply(that);
+  }
+
+  @Override
+  public ComparableQuantity<?> divide(Quantity<?> that) {
+    Number operand = that.getValue();
+    if (isIntegral(operand) && isMultipleOf(operand.longValue()))
+      return new LongQuantity(value / operand.longValue(), getUnit().divide(that.getUnit()));
+    return toDecimalQuantity().divide(that);
+  }
+
+  @Override
+  public ComparableQuantity<Q> divide(Number that) {
+    if (isIntegral(that) && isMultipleOf(that.longValue()))
+      return new LongQuantity<>(value / that.longValue(), getUnit());
+    return toDecimalQuantity().divide(that);
+  }
+
+  @Override
+  public ComparableQuantity<?> inverse() {
+    if ((value == 1) || (value == -1))
+      return new LongQuantity(value, getUnit().inverse());
+    return new DoubleQuantity(1d / value, getUnit().inverse());
+  }
+
+  @Override
+  public boolean isBig() {
+    return false;
+  }
+
+  // Indicates if the division of this value by the specified divisor is exact (and does not overflow).
+  private boolean isMultipleOf(long divisor) {
+    return (divisor != 0) && (value % divisor == 0) && !((value == Long.MIN_VALUE) && (divisor == -1));
+  }
+
+  private DecimalQuantity<Q> toDecimalQuantity() {
+    return new DecimalQuantity<>(BigDecimal.valueOf(value), getUnit());
+  }
+
+  // Returns the value of the specified quantity stated in the unit of this quantity.
+  private Number operand(Quantity<Q> that) {
+    return getUnit().equals(that.getUnit()) ? that.getValue() : that.to(getUnit()).getValue();
+  }
+
+  static boolean isIntegral(Number number) {
+    return (number instanceof Long) || (number instanceof Integer) || (number instanceof Short) || (number instanceof Byte);
+  }
+
+}
@@ -0,0 +1,319 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import java.util.Objects;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.se.AbstractConverter;
+import tec.uom.se.ComparableQuantity;
+
+/**
+ * <p>
+ * A mutable quantity holding a primitive <code>double</code>, for inner loops that would otherwise allocate a new immutable quantity per operation.
+ * </p>
+ *
+ * <p>
+ * The in-place operations ({@link #addAssign(Quantity)}, {@link #subtractAssign(Quantity)}, {@link #scale(double)}, {@link #convertInPlace(Unit)})
+ * modify this quantity and return it, they do not allocate; the converter from the unit of the last operand is kept, so that accumulating
+ * quantities of the same foreign unit resolves it once. The operations of {@link Quantity} leave this quantity unchanged and return immutable
+ * results. {@link #freeze()} returns an immutable snapshot of the current state.
+ * </p>
+ *
+ * <pre>
+ *     MutableDoubleQuantity&lt;Length&gt; position = MutableDoubleQuantity.of(0, METRE);
+ *     for (Quantity&lt;Length&gt; step : steps) {
+ *       position.addAssign(step);
+ *     }
+ *     ComparableQuantity&lt;Length&gt; result = position.freeze();
+ * </pre>
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe; instances should be confined to a thread, and {@link #freeze() frozen} before being shared. As the state can
+ * change, <code>equals</code> and <code>hashCode</code> are those of {@link Object}.
+ * </p>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public final class MutableDoubleQuantity<Q extends Quantity<Q>> implements Quantity<Q> {
+
+  private double value;
+
+  private Unit<Q> unit;
+
+  /**
+   * Holds the unit of the last operand stated in another unit.
+   */
+  private Unit<Q> lastUnit;
+
+  /**
+   * Holds the converter from the unit of the last operand to the unit of this quantity.
+   */
+  private UnitConverter lastConverter;
+
+  private MutableDoubleQuantity(double value, Unit<Q> unit) {
+    this.value = value;
+    this.unit = Objects.requireNonNull(unit);
+  }
+
+  /**
+   * Returns a mutable quantity with the specified initial value and unit.
+   *
+   * @param value
+   *          the initial value.
+   * @param unit
+   *          the unit.
+   * @return a new mutable quantity.
+   */
+  public static <Q extends Quantity<Q>> MutableDoubleQuantity<Q> of(double value, Unit<Q> unit) {
+    return new MutableDoubleQuantity<>(value, unit);
+  }
+
+  /**
+   * Returns a mutable quantity initialized with the value and unit of the specified quantity.
+   *
+   * @param quantity
+   *          the initial quantity.
+   * @return a new mutable quantity.
+   */
+  public static <Q extends Quantity<Q>> MutableDoubleQuantity<Q> of(Quantity<Q> quantity) {
+    return new MutableDoubleQuantity<>(doubleValueOf(quantity), quantity.getUnit());
+  }
+
+  /**
+   * Returns the current value, without boxing.
+   *
+   * @return the value stated in the unit of this quantity.
+   */
+  public double doubleValue() {
+    return value;
+  }
+
+  /**
+   * Returns the current value.
+   *
+   * @return the value stated in the unit of this quantity.
+   */
+  @Override
+  public Double getValue() {
+    return value;
+  }
+
+  @Override
+  public Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * Sets the value, keeping the unit.
+   *
+   * @param value
+   *          the new value, stated in the unit of this quantity.
+   * @return this quantity.
+   */
+  public MutableDoubleQuantity<Q> set(double value) {
+    this.value = value;
+    return this;
+  }
+
+  /**
+   * Sets the value to the one of the specified quantity, converted to the unit of this quantity.
+   *
+   * @param that
+   *          the quantity to copy.
+   * @return this quantity.
+   */
+  public MutableDoubleQuantity<Q> set(Quantity<Q> that) {
+    this.value = converterFrom(that.getUnit()).convert(doubleValueOf(that));
+    return this;
+  }
+
+  /**
+   * Adds the specified value to this quantity.
+   *
+   * @param that
+   *          the value to add, stated in the unit of this quantity.
+   * @return this quantity.
+   */
+  public MutableDoubleQuantity<Q> addAssign(double that) {
+    value += that;
+    return this;
+  }
+
+  /**
+   * Adds the specified quantity to this one.
+   *
+   * @param that
+   *          the quantity to add.
+   * @return this quantity.
+   */
+  public MutableDoubleQuantity<Q> addAssign(Quantity<Q> that) {
+    value += converterFrom(that.getUnit()).convert(doubleValueOf(that));
+    return this;
+  }
+
+  /**
+   * Subtracts the specified value from this quantity.
+   *
+   * @param that
+   *          the value to subtract, stated in the unit of this quantity.
+   * @return this quantity.
+   */
+  public MutableDoubleQuantity<Q> subtractAssign(double that) {
+    value -= that;
+    return this;
+  }
+
+  /**
+   * Subtracts the specified quantity from this one.
+   *
+   * @param that
+   *          the quantity to subtract.
+   * @return this quantity.
+   */
+  public MutableDoubleQuantity<Q> subtractAssign(Quantity<Q> that) {
+    value -= converterFrom(that.getUnit()).convert(doubleValueOf(that));
+    return this;
+  }
+
+  /**
+   * Multiplies this quantity by the specified factor.
+   *
+   * @param factor
+   *          the multiplier.
+   * @return this quantity.
+   */
+  public MutableDoubleQuantity<Q> scale(double factor) {
+    value *= factor;
+    return this;
+  }
+
+  /**
+   * Converts this quantity to the specified unit.
+   *
+   * @param unit
+   *          the new unit of this quantity.
+   * @return this quantity.
+   */
+  public MutableDoubleQuantity<Q> convertInPlace(Unit<Q> unit) {
+    if (!this.unit.equals(unit)) {
+      value = this.unit.getConverterTo(unit).convert(value);
+      this.unit = unit;
+      lastUnit = null; // The cached converter targets the former unit.
+      lastConverter = null;
+    }
+    return this;
+  }
+
+  /**
+   * Returns an immutable quantity holding the current value and unit of this one. Later changes of this quantity do not affect the result.
+   *
+   * @return the current state as an immutable quantity.
+   */
+  public ComparableQuantity<Q> freeze() {
+    return new DoubleQuantity<>(value, unit);
+  }
+
+  private UnitConverter converterFrom(Unit<Q> source) {
+    if (source == unit)
+      return AbstractConverter.IDENTITY;
+    if (source != lastUnit) {
+      lastConverter = source.getConverterTo(unit);
+      lastUnit = source;
+    }
+    return lastConverter;
+  }
+
+  // Reads the value of the specified quantity without boxing when possible.
+  private static double doubleValueOf(Quantity<?> quantity) {
+    if (quantity instanceof DoubleQuantity)
+      return ((DoubleQuantity<?>) quantity).value;
+    if (quantity instanceof MutableDoubleQuantity)
+      return ((MutableDoubleQuantity<?>) quantity).value;
+    return quantity.getValue().doubleValue();
+  }
+
+  @Override
+  public ComparableQuantity<Q> add(Quantity<Q> that) {
+    return freeze().add(that);
+  }
+
+  @Override
+  public ComparableQuantity<Q> subtract(Quantity<Q> that) {
+    return freeze().subtract(that);
+  }
+
+  @Override
+  public ComparableQuantity<?> multiply(Quantity<?> that) {
+    return freeze().multiply(that);
+  }
+
+  @Override
+  public ComparableQuantity<Q> multiply(Number that) {
+    return freeze().multiply(that);
+  }
+
+  @Override
+  public ComparableQuantity<?> divide(Quantity<?> that) {
+    return freeze().divide(that);
+  }
+
+  @Override
+  public ComparableQuantity<Q> divide(Number that) {
+    return freeze().divide(that);
+  }
+
+  @Override
+  public Quantity<?> inverse() {
+    return freeze().inverse();
+  }
+
+  @Override
+  public ComparableQuantity<Q> to(Unit<Q> unit) {
+    return freeze().to(unit);
+  }
+
+  @Override
+  public <T extends Quantity<T>> ComparableQuantity<T> asType(Class<T> type) throws ClassCastException {
+    return freeze().asType(type);
+  }
+
+  @Override
+  public String toString() {
+    return value + " " + unit;
+  }
+}
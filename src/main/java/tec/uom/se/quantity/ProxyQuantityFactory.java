@@ -36,6 +36,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.HashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -46,6 +47,7 @@ import javax.measure.spi.QuantityFactory;
 
 import tec.uom.se.AbstractQuantity;
 import tec.uom.se.AbstractUnit;
+import tec.uom.se.internal.quantity.TypedQuantities;
 import tec.uom.se.unit.Units;
 
 /**
@@ -103,7 +105,7 @@ abstract class ProxyQuantityFactory<Q extends Quantity<Q>> implements QuantityFa
           // This exception is not documented because it should never happen if the
           // user don't try to trick the Java generic types system with unsafe cast.
           throw new ClassCastException();
-        factory = new Default<>((Class<Q>) type2);
+        factory = new Default<>((Class<Q>) type2, false);
         INSTANCES.put(type2, factory);
       } else {
         factory = INSTANCES.get(type);
@@ -113,7 +115,7 @@ abstract class ProxyQuantityFactory<Q extends Quantity<Q>> implements QuantityFa
           // This exception is not documented because it should never happen if the
           // user don't try to trick the Java generic types system with unsafe cast.
           throw new ClassCastException();
-        factory = new Default<>(type);
+        factory = new Default<>(type, false);
         INSTANCES.put(type, factory);
       }
     } else {
@@ -124,7 +126,7 @@ abstract class ProxyQuantityFactory<Q extends Quantity<Q>> implements QuantityFa
         // This exception is not documented because it should never happen if the
         // user don't try to trick the Java generic types system with unsafe cast.
         throw new ClassCastException();
-      factory = new Default<>(type);
+      factory = new Default<>(type, false);
       INSTANCES.put(type, factory);
     }
     return factory;
@@ -156,8 +158,8 @@ abstract class ProxyQuantityFactory<Q extends Quantity<Q>> implements QuantityFa
   public abstract Unit<Q> getSystemUnit();
 
   /**
-   * The default factory implementation. This factory uses reflection for providing a default implementation for every {@link AbstractMeasurement}
-   * sub-types.
+   * The default factory implementation. This factory creates instances of the pre-built classes of {@link TypedQuantities} when there is one for
+   * the type, and uses reflection for providing a default implementation for every other {@link AbstractMeasurement} sub-types.
    *
    * @param <Q>
    *          The type of the quantity
@@ -174,16 +176,24 @@ abstract class ProxyQuantityFactory<Q extends Quantity<Q>> implements QuantityFa
      */
     private final Unit<Q> metricUnit;
 
+    /**
+     * The constructor of the pre-built quantity class, or <code>null</code> to create proxies.
+     */
+    private final BiFunction<Number, Unit<Q>, Q> constructor;
+
     /**
      * Creates a new factory for quantities of the given type.
      *
      * @param type
      *          The type of the quantities created by this factory.
+     * @param proxy
+     *          <code>true</code> to always create proxies, even if there is a pre-built class for this type.
      */
     @SuppressWarnings("unchecked")
-    Default(final Class<Q> type) {
+    Default(final Class<Q> type, boolean proxy) {
       this.type = type;
       metricUnit = CLASS_TO_METRIC_UNIT.get(type);
+      constructor = proxy ? null : TypedQuantities.constructorOf(type);
     }
 
     @SuppressWarnings("rawtypes")
@@ -234,7 +244,8 @@ abstract class ProxyQuantityFactory<Q extends Quantity<Q>> implements QuantityFa
     @SuppressWarnings("unchecked")
     @Override
     public Quantity<Q> create(Number value, Unit<Q> unit) {
-      // System.out.println("Type: " + type);
+      if (constructor != null)
+        return constructor.apply(value, unit);
       return (Q) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new GenericHandler<>(value, unit));
     }
   }
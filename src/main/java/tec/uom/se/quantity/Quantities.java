@@ -106,4 +106,60 @@ public final class Quantities {
     }
     return new NumberQuantity<>(value, unit);
   }
+
+  /**
+   * Returns the scalar measurement for the specified <code>double</code> stated in the specified unit, without boxing the value.
+   * 
+   * @param value
+   *          the measurement value.
+   * @param unit
+   *          the measurement unit.
+   * @return the corresponding <code>double</code> measurement.
+   * @throws NullPointerException
+   *           when unit is null
+   * @since 1.0.1
+   */
+  public static <Q extends Quantity<Q>> ComparableQuantity<Q> getQuantity(double value, Unit<Q> unit) {
+    return new DoubleQuantity<>(value, Objects.requireNonNull(unit));
+  }
+
+  /**
+   * Returns the scalar measurement for the specified <code>long</code> stated in the specified unit, without boxing the value. Arithmetic between
+   * integral measurements is exact and throws {@link ArithmeticException} on overflow.
+   * 
+   * @param value
+   *          the measurement value.
+   * @param unit
+   *          the measurement unit.
+   * @return the corresponding <code>long</code> measurement.
+   * @throws NullPointerException
+   *           when unit is null
+   * @since 1.0.1
+   */
+  public static <Q extends Quantity<Q>> ComparableQuantity<Q> getQuantity(long value, Unit<Q> unit) {
+    return new LongQuantity<>(value, Objects.requireNonNull(unit));
+  }
+
+  /**
+   * Returns the scalar measurement for the specified <code>int</code> stated in the specified unit, without boxing the value. Arithmetic between
+   * integral measurements is exact: a result that overflows an <code>int</code> is widened to a <code>long</code> measurement, and only a
+   * <code>long</code> overflow throws {@link ArithmeticException}.
+   * <p>
+   * Before 1.0.1, <code>int</code> values resolved to {@link #getQuantity(Number, Unit)}; call sites passing an <code>int</code> now get this
+   * primitive measurement, whose exact results with integral operands hold <code>Integer</code> or <code>Long</code> values instead of
+   * <code>BigDecimal</code> ones.
+   * </p>
+   * 
+   * @param value
+   *          the measurement value.
+   * @param unit
+   *          the measurement unit.
+   * @return the corresponding <code>int</code> measurement.
+   * @throws NullPointerException
+   *           when unit is null
+   * @since 1.0.1
+   */
+  public static <Q extends Quantity<Q>> ComparableQuantity<Q> getQuantity(int value, Unit<Q> unit) {
+    return new IntegerQuantity<>(value, Objects.requireNonNull(unit));
+  }
 }
@@ -0,0 +1,478 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.DoubleStream;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.UnitConverter;
+
+import tec.uom.lib.common.function.UnitSupplier;
+import tec.uom.se.AbstractConverter;
+import tec.uom.se.ComparableQuantity;
+import tec.uom.se.function.QuantitySpliterator;
+
+/**
+ * <p>
+ * An immutable, columnar sequence of quantities sharing a single {@link Unit}, the values being held in a primitive <code>double[]</code>.
+ * </p>
+ *
+ * <p>
+ * Changing the unit with {@link #to(Unit)} is <code>O(1)</code>: the stored values are kept in their original unit and converted lazily, when read.
+ * Slices created with {@link #subArray(int, int)} share the storage of the array they come from. Element-wise operations compute the unit of their
+ * result (and the converter of their operand) once per array, not once per element.
+ * </p>
+ *
+ * <pre>
+ *     QuantityArray&lt;Length&gt; samples = QuantityArray.of(new double[] { 1.5, 2.5, 4 }, KILO(METRE));
+ *     QuantityArray&lt;Length&gt; metres = samples.to(METRE); // No conversion yet.
+ *     double first = metres.doubleValue(0); // 1500.0
+ * </pre>
+ *
+ * @param <Q>
+ *          The type of the quantity.
+ * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
+ * @version 0.1, October 18, 2016
+ * @since 1.0.1
+ */
+public final class QuantityArray<Q extends Quantity<Q>> implements Iterable<ComparableQuantity<Q>>, UnitSupplier<Q>, Serializable {
+
+  /**
+   * 
+   */
+  private static final long serialVersionUID = -6504081836032983882L;
+
+  /**
+   * Holds the values, expressed in the storage unit (never modified).
+   */
+  private final double[] values;
+
+  /**
+   * Holds the index of the first value.
+   */
+  private final int offset;
+
+  /**
+   * Holds the number of values.
+   */
+  private final int length;
+
+  /**
+   * Holds the unit the values are stored in.
+   */
+  private final Unit<Q> storageUnit;
+
+  /**
+   * Holds the unit of this array.
+   */
+  private final Unit<Q> unit;
+
+  /**
+   * Holds the converter from the storage unit to the unit of this array.
+   */
+  private final UnitConverter converter;
+
+  private QuantityArray(double[] values, int offset, int length, Unit<Q> storageUnit, Unit<Q> unit, UnitConverter converter) {
+    this.values = values;
+    this.offset = offset;
+    this.length = length;
+    this.storageUnit = storageUnit;
+    this.unit = unit;
+    this.converter = converter;
+  }
+
+  /**
+   * Returns an array holding a copy of the specified values, stated in the specified unit.
+   *
+   * @param values
+   *          the values.
+   * @param unit
+   *          the unit of the values.
+   * @return the corresponding quantity array.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> of(double[] values, Unit<Q> unit) {
+    return wrap(values.clone(), unit);
+  }
+
+  /**
+   * Returns an array holding a copy of the specified range of values, stated in the specified unit.
+   *
+   * @param values
+   *          the values.
+   * @param fromIndex
+   *          the index of the first value (inclusive).
+   * @param toIndex
+   *          the index after the last value (exclusive).
+   * @param unit
+   *          the unit of the values.
+   * @return the corresponding quantity array.
+   * @throws IndexOutOfBoundsException
+   *           if the range is invalid.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> of(double[] values, int fromIndex, int toIndex, Unit<Q> unit) {
+    if ((fromIndex < 0) || (toIndex > values.length) || (fromIndex > toIndex))
+      throw new IndexOutOfBoundsException("Range: [" + fromIndex + ", " + toIndex + "), length: " + values.length);
+    return wrap(Arrays.copyOfRange(values, fromIndex, toIndex), unit);
+  }
+
+  /**
+   * Returns an array holding the specified quantities, converted to the specified unit.
+   *
+   * @param quantities
+   *          the quantities.
+   * @param unit
+   *          the unit of the array.
+   * @return the corresponding quantity array.
+   */
+  public static <Q extends Quantity<Q>> QuantityArray<Q> of(Iterable<? extends Quantity<Q>> quantities, Unit<Q> unit) {
+    double[] values = new double[16];
+    int size = 0;
+    Unit<Q> lastUnit = unit;
+    UnitConverter lastConverter = AbstractConverter.IDENTITY;
+    for (Quantity<Q> quantity : quantities) {
+      if (!lastUnit.equals(quantity.getUnit())) {
+        lastUnit = quantity.getUnit();
+        lastConverter = lastUnit.getConverterTo(unit);
+      }
+      if (size == values.length)
+        values = Arrays.copyOf(values, size * 2);
+      values[size++] = lastConverter.convert(quantity.getValue().doubleValue());
+    }
+    return wrap(Arrays.copyOf(values, size), unit);
+  }
+
+  private static <Q extends Quantity<Q>> QuantityArray<Q> wrap(double[] values, Unit<Q> unit) {
+    if (unit == null)
+      throw new IllegalArgumentException("Unit cannot be null");
+    return new QuantityArray<>(values, 0, values.length, unit, unit, AbstractConverter.IDENTITY);
+  }
+
+  /**
+   * Returns the unit of this array.
+   *
+   * @return the unit shared by all the elements.
+   */
+  @Override
+  public Unit<Q> getUnit() {
+    return unit;
+  }
+
+  /**
+   * Returns the number of elements in this array.
+   *
+   * @return the number of elements.
+   */
+  public int size() {
+    return length;
+  }
+
+  /**
+   * Indicates if this array has no element.
+   *
+   * @return <code>size() == 0</code>
+   */
+  public boolean isEmpty() {
+    return length == 0;
+  }
+
+  /**
+   * Returns the value of the element at the specified index, stated in this array unit.
+   *
+   * @param index
+   *          the element index.
+   * @return the element value.
+   * @throws IndexOutOfBoundsException
+   *           if the index is out of range.
+   */
+  public double doubleValue(int index) {
+    return converter.convert(values[offset + checkIndex(index)]);
+  }
+
+  /**
+   * Returns the element at the specified index.
+   *
+   * @param index
+   *          the element index.
+   * @return the quantity at the specified index.
+   * @throws IndexOutOfBoundsException
+   *           if the index is out of range.
+   */
+  public ComparableQuantity<Q> get(int index) {
+    return Quantities.getQuantity(doubleValue(index), unit);
+  }
+
+  private int checkIndex(int index) {
+    if ((index < 0) || (index >= length))
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + length);
+    return index;
+  }
+
+  /**
+   * Returns this array stated in the specified unit. This operation does not convert nor copy the values, the conversion is applied when they are
+   * read.
+   *
+   * @param unit
+   *          the unit of the returned array.
+   * @return this array in the specified unit.
+   */
+  public QuantityArray<Q> to(Unit<Q> unit) {
+    if (this.unit.equals(unit))
+      return this;
+    return new QuantityArray<>(values, offset, length, storageUnit, unit, storageUnit.getConverterTo(unit));
+  }
+
+  /**
+   * Returns a view of the portion of this array between the specified <code>fromIndex</code>, inclusive, and <code>toIndex</code>, exclusive. The
+   * values are not copied.
+   *
+   * @param fromIndex
+   *          low endpoint (inclusive) of the slice.
+   * @param toIndex
+   *          high endpoint (exclusive) of the slice.
+   * @return the specified range of this array.
+   * @throws IndexOutOfBoundsException
+   *           if the range is invalid.
+   */
+  public QuantityArray<Q> subArray(int fromIndex, int toIndex) {
+    if ((fromIndex < 0) || (toIndex > length) || (fromIndex > toIndex))
+      throw new IndexOutOfBoundsException("Range: [" + fromIndex + ", " + toIndex + "), size: " + length);
+    return new QuantityArray<>(values, offset + fromIndex, toIndex - fromIndex, storageUnit, unit, converter);
+  }
+
+  /**
+   * Returns the values of this array stated in its unit.
+   *
+   * @return a new array holding the converted values.
+   */
+  public double[] toDoubleArray() {
+    double[] result = new double[length];
+    convert(result);
+    return result;
+  }
+
+  /**
+   * Returns a sequential stream of the values of this array, stated in its unit.
+   *
+   * @return the values as a stream.
+   */
+  public DoubleStream doubleStream() {
+    if (converter.isIdentity())
+      return Arrays.stream(values, offset, offset + length);
+    return Arrays.stream(values, offset, offset + length).map(converter::convert);
+  }
+
+  /**
+   * Returns a splittable, primitive spliterator over the values of this array, stated in its unit. The values are not copied; see
+   * {@link QuantitySpliterator} for the parallel reductions it supports.
+   *
+   * @return a spliterator over the values.
+   */
+  public QuantitySpliterator<Q> doubleSpliterator() {
+    return QuantitySpliterator.of(values, offset, offset + length, storageUnit).to(unit);
+  }
+
+  // Writes the values in this array unit to the specified destination.
+  private void convert(double[] destination) {
+    if (converter instanceof AbstractConverter) {
+      ((AbstractConverter) converter).convert(values, offset, destination, 0, length);
+    } else {
+      for (int i = 0; i < length; i++) {
+        destination[i] = converter.convert(values[offset + i]);
+      }
+    }
+  }
+
+  // Returns the values of that array converted to the unit of this array.
+  private double[] operand(QuantityArray<?> that, UnitConverter toThisUnit) {
+    if (that.length != length)
+      throw new IllegalArgumentException("Size mismatch: " + length + " and " + that.length);
+    double[] result = that.toDoubleArray();
+    if (!toThisUnit.isIdentity()) {
+      if (toThisUnit instanceof AbstractConverter) {
+        ((AbstractConverter) toThisUnit).convert(result);
+      } else {
+        for (int i = 0; i < length; i++) {
+          result[i] = toThisUnit.convert(result[i]);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the element-wise sum of this array and the specified array, stated in the unit of this array.
+   *
+   * @param that
+   *          the array to add, of same size.
+   * @return <code>this + that</code>
+   * @throws IllegalArgumentException
+   *           if the arrays have different sizes.
+   */
+  public QuantityArray<Q> add(QuantityArray<Q> that) {
+    double[] result = operand(that, that.unit.getConverterTo(unit));
+    double[] thisValues = toDoubleArray();
+    for (int i = 0; i < length; i++) {
+      result[i] = thisValues[i] + result[i];
+    }
+    return wrap(result, unit);
+  }
+
+  /**
+   * Returns the element-wise difference of this array and the specified array, stated in the unit of this array.
+   *
+   * @param that
+   *          the array to subtract, of same size.
+   * @return <code>this - that</code>
+   * @throws IllegalArgumentException
+   *           if the arrays have different sizes.
+   */
+  public QuantityArray<Q> subtract(QuantityArray<Q> that) {
+    double[] result = operand(that, that.unit.getConverterTo(unit));
+    double[] thisValues = toDoubleArray();
+    for (int i = 0; i < length; i++) {
+      result[i] = thisValues[i] - result[i];
+    }
+    return wrap(result, unit);
+  }
+
+  /**
+   * Returns the element-wise product of this array and the specified array; the unit of the result is computed once.
+   *
+   * @param that
+   *          the multiplier array, of same size.
+   * @return <code>this * that</code>
+   * @throws IllegalArgumentException
+   *           if the arrays have different sizes.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public QuantityArray<?> multiply(QuantityArray<?> that) {
+    double[] result = operand(that, AbstractConverter.IDENTITY);
+    double[] thisValues = toDoubleArray();
+    for (int i = 0; i < length; i++) {
+      result[i] = thisValues[i] * result[i];
+    }
+    return wrap(result, (Unit) unit.multiply(that.unit));
+  }
+
+  /**
+   * Returns the element-wise quotient of this array and the specified array; the unit of the result is computed once.
+   *
+   * @param that
+   *          the divisor array, of same size.
+   * @return <code>this / that</code>
+   * @throws IllegalArgumentException
+   *           if the arrays have different sizes.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public QuantityArray<?> divide(QuantityArray<?> that) {
+    double[] result = operand(that, AbstractConverter.IDENTITY);
+    double[] thisValues = toDoubleArray();
+    for (int i = 0; i < length; i++) {
+      result[i] = thisValues[i] / result[i];
+    }
+    return wrap(result, (Unit) unit.divide(that.unit));
+  }
+
+  /**
+   * Returns this array with each element multiplied by the specified factor.
+   *
+   * @param factor
+   *          the multiplier.
+   * @return <code>this * factor</code>
+   */
+  public QuantityArray<Q> multiply(double factor) {
+    double[] result = toDoubleArray();
+    for (int i = 0; i < length; i++) {
+      result[i] *= factor;
+    }
+    return wrap(result, unit);
+  }
+
+  /**
+   * Returns this array with each element divided by the specified divisor.
+   *
+   * @param divisor
+   *          the divisor.
+   * @return <code>this / divisor</code>
+   */
+  public QuantityArray<Q> divide(double divisor) {
+    double[] result = toDoubleArray();
+    for (int i = 0; i < length; i++) {
+      result[i] /= divisor;
+    }
+    return wrap(result, unit);
+  }
+
+  @Override
+  public Iterator<ComparableQuantity<Q>> iterator() {
+    return new Iterator<ComparableQuantity<Q>>() {
+      private int index;
+
+      @Override
+      public boolean hasNext() {
+        return index < length;
+      }
+
+      @Override
+      public ComparableQuantity<Q> next() {
+        if (index >= length)
+          throw new NoSuchElementException();
+        return get(index++);
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof QuantityArray<?>) {
+      QuantityArray<?> that = (QuantityArray<?>) obj;
+      return unit.equals(that.unit) && Arrays.equals(toDoubleArray(), that.toDoubleArray());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * unit.hashCode() + Arrays.hashCode(toDoubleArray());
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(toDoubleArray()) + " " + unit;
+  }
+}
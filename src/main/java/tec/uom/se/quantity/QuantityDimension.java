@@ -29,18 +29,18 @@
  */
 package tec.uom.se.quantity;
 
-import tec.uom.se.AbstractUnit;
-import tec.uom.se.unit.BaseUnit;
 import tec.uom.se.unit.Units;
 
 import javax.measure.Dimension;
 import javax.measure.Quantity;
 import javax.measure.Unit;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.logging.Logger;
 
 /**
@@ -60,22 +60,38 @@ import java.util.logging.Logger;
  *     </code>
  *       </p>
  *
+ * <p>
+ * Dimensions are held as a vector of the exponents of the seven SI base dimensions (L, M, T, I, Θ, N, J) sharing a common root, packed into a single
+ * <code>long</code> (one signed byte per base dimension). Rational exponents such as <code>[L]^1:2</code> are supported; dimension arithmetic and
+ * equality do not go through unit algebra.
+ * </p>
+ *
  * @author <a href="mailto:jean-marie@dautelle.com">Jean-Marie Dautelle</a>
  * @author <a href="mailto:units@catmedia.us">Werner Keil</a>
- * @version 0.5.3, $Date: 2015-07-12 $
+ * @version 0.6, October 18, 2016
  */
 public final class QuantityDimension implements Dimension, Serializable {
   private static final Logger logger = Logger.getLogger(QuantityDimension.class.getName());
 
   /**
-	 * 
-	 */
-  private static final long serialVersionUID = 123289037718650030L;
+   * Changed with the packed exponent form; streams holding the former unit-based form are incompatible.
+   */
+  private static final long serialVersionUID = -4310947102858493164L;
+
+  /**
+   * Holds the symbols of the base dimensions, in exponent vector order.
+   */
+  private static final String SYMBOLS = "LMTI\u0398NJ";
+
+  /**
+   * Holds the number of base dimensions.
+   */
+  private static final int BASE_COUNT = 7;
 
   /**
    * Holds dimensionless.
    */
-  public static final Dimension NONE = new QuantityDimension(AbstractUnit.ONE);
+  public static final Dimension NONE = new QuantityDimension(0L, 1);
 
   /**
    * Holds length dimension (L).
@@ -113,9 +129,21 @@ public final class QuantityDimension implements Dimension, Serializable {
   public static final Dimension LUMINOUS_INTENSITY = new QuantityDimension('J');
 
   /**
-   * Holds the pseudo unit associated to this dimension.
+   * Holds the base dimensions, in exponent vector order.
+   */
+  private static final QuantityDimension[] BASE = { (QuantityDimension) LENGTH, (QuantityDimension) MASS, (QuantityDimension) TIME,
+      (QuantityDimension) ELECTRIC_CURRENT, (QuantityDimension) TEMPERATURE, (QuantityDimension) AMOUNT_OF_SUBSTANCE,
+      (QuantityDimension) LUMINOUS_INTENSITY };
+
+  /**
+   * Holds the exponent numerators, one signed byte per base dimension.
+   */
+  private final long exponents;
+
+  /**
+   * Holds the common root (denominator) of the exponents, always positive and coprime with the numerators.
    */
-  private final Unit<?> pseudoUnit;
+  private final int root;
 
   /**
    * Returns the dimension for the specified quantity type by aggregating the results of {@link DimensionService} or <code>null</code> if the
@@ -145,31 +173,44 @@ public final class QuantityDimension implements Dimension, Serializable {
    *
    * @param symbol
    *          the associated symbol.
+   * @throws IllegalArgumentException
+   *           if the symbol is not one of the SI base dimension symbols.
    */
-  @SuppressWarnings("rawtypes")
   QuantityDimension(char symbol) {
-    pseudoUnit = new BaseUnit("[" + symbol + ']', NONE);
+    int index = SYMBOLS.indexOf(symbol);
+    if (index < 0)
+      throw new IllegalArgumentException("Unknown base dimension: " + symbol);
+    this.exponents = 1L << (index * 8);
+    this.root = 1;
   }
 
   /**
    * Returns the dimension for the specified symbol.
    *
-   * @param sambol
+   * @param symbol
    *          the quantity symbol.
    * @return the dimension for the given symbol.
+   * @throws IllegalArgumentException
+   *           if the symbol is not one of the SI base dimension symbols.
    */
   static QuantityDimension getInstance(char symbol) {
-    return new QuantityDimension(symbol);
+    int index = SYMBOLS.indexOf(symbol);
+    if (index < 0)
+      throw new IllegalArgumentException("Unknown base dimension: " + symbol);
+    return BASE[index];
   }
 
   /**
-   * Constructor from pseudo-unit (not visible).
+   * Constructor from packed exponents (not visible).
    *
-   * @param pseudoUnit
-   *          the pseudo-unit.
+   * @param exponents
+   *          the packed exponent numerators.
+   * @param root
+   *          the common root.
    */
-  private QuantityDimension(Unit<?> pseudoUnit) {
-    this.pseudoUnit = pseudoUnit;
+  private QuantityDimension(long exponents, int root) {
+    this.exponents = exponents;
+    this.root = root;
   }
 
   /**
@@ -192,7 +233,12 @@ public final class QuantityDimension implements Dimension, Serializable {
    * @return <code>this * that</code>
    */
   public QuantityDimension multiply(QuantityDimension that) {
-    return new QuantityDimension(this.pseudoUnit.multiply(that.pseudoUnit));
+    if (that.exponents == 0L)
+      return this;
+    if (this.exponents == 0L)
+      return that;
+    int r = lcm(this.root, that.root);
+    return combine(this.exponents, r / this.root, that.exponents, r / that.root, r);
   }
 
   /**
@@ -214,7 +260,10 @@ public final class QuantityDimension implements Dimension, Serializable {
    * @return <code>this.multiply(that.pow(-1))</code>
    */
   public QuantityDimension divide(QuantityDimension that) {
-    return this.multiply(that.pow(-1));
+    if (that.exponents == 0L)
+      return this;
+    int r = lcm(this.root, that.root);
+    return combine(this.exponents, r / this.root, that.exponents, -(r / that.root), r);
   }
 
   /**
@@ -225,7 +274,9 @@ public final class QuantityDimension implements Dimension, Serializable {
    * @return the result of raising this dimension to the exponent.
    */
   public final QuantityDimension pow(int n) {
-    return new QuantityDimension(this.pseudoUnit.pow(n));
+    if (n == 1)
+      return this;
+    return combine(exponents, n, 0L, 0, root);
   }
 
   /**
@@ -238,30 +289,108 @@ public final class QuantityDimension implements Dimension, Serializable {
    *           if <code>n == 0</code>.
    */
   public final QuantityDimension root(int n) {
-    return new QuantityDimension(this.pseudoUnit.root(n));
+    if (n == 0)
+      throw new ArithmeticException("Root's order of zero");
+    if (n == 1)
+      return this;
+    return combine(exponents, (n < 0) ? -1 : 1, 0L, 0, Math.multiplyExact(root, Math.abs(n)));
   }
 
   /**
    * Returns the fundamental dimensions and their exponent whose product is this dimension or <code>null</code> if this dimension is a fundamental
-   * dimension.
+   * dimension. Rational exponents are reported by their numerator.
    *
    * @return the mapping between the fundamental dimensions and their exponent.
    */
-  @SuppressWarnings("rawtypes")
   public Map<? extends QuantityDimension, Integer> getBaseDimensions() {
-    Map<? extends Unit, Integer> pseudoUnits = pseudoUnit.getBaseUnits();
-    if (pseudoUnits == null)
-      return null;
+    if (root == 1 && Long.bitCount(exponents) == 1 && (Long.numberOfTrailingZeros(exponents) % 8) == 0)
+      return null; // Fundamental dimension.
     Map<QuantityDimension, Integer> fundamentalDimensions = new HashMap<>();
-    for (Map.Entry<? extends Unit, Integer> entry : pseudoUnits.entrySet()) {
-      fundamentalDimensions.put(new QuantityDimension(entry.getKey()), entry.getValue());
+    for (int i = 0; i < BASE_COUNT; i++) {
+      int e = exponent(exponents, i);
+      if (e != 0)
+        fundamentalDimensions.put(BASE[i], e);
     }
     return fundamentalDimensions;
   }
 
+  /**
+   * Returns the exponent of the given base dimension in this dimension, as the numerator over {@link #getRoot()}.
+   *
+   * @param baseDimension
+   *          one of the base dimension constants (for example {@link #LENGTH}).
+   * @return the exponent numerator (<code>0</code> if the base dimension does not appear).
+   * @throws IllegalArgumentException
+   *           if the specified dimension is not a base dimension.
+   */
+  public int getExponent(Dimension baseDimension) {
+    for (int i = 0; i < BASE_COUNT; i++) {
+      if (BASE[i].equals(baseDimension))
+        return exponent(exponents, i);
+    }
+    throw new IllegalArgumentException(baseDimension + " is not a base dimension");
+  }
+
+  /**
+   * Returns the common root of the exponents of this dimension (<code>1</code> if all exponents are integers).
+   *
+   * @return the exponents denominator.
+   */
+  public int getRoot() {
+    return root;
+  }
+
   @Override
   public String toString() {
-    return pseudoUnit.toString();
+    StringBuilder sb = new StringBuilder();
+    int invNbr = 0;
+    // Write positive exponents first.
+    for (int i = 0; i < BASE_COUNT; i++) {
+      int e = exponent(exponents, i);
+      if (e > 0) {
+        if (sb.length() > 0)
+          sb.append('\u00b7'); // Separator.
+        append(sb, i, e);
+      } else if (e < 0) {
+        invNbr++;
+      }
+    }
+    // Write negative exponents.
+    if (invNbr != 0) {
+      if (sb.length() == 0)
+        sb.append('1'); // e.g. 1/[T]
+      sb.append('/');
+      if (invNbr > 1)
+        sb.append('(');
+      boolean start = true;
+      for (int i = 0; i < BASE_COUNT; i++) {
+        int e = exponent(exponents, i);
+        if (e < 0) {
+          if (!start)
+            sb.append('\u00b7'); // Separator.
+          append(sb, i, -e);
+          start = false;
+        }
+      }
+      if (invNbr > 1)
+        sb.append(')');
+    }
+    return sb.toString();
+  }
+
+  private void append(StringBuilder sb, int index, int pow) {
+    sb.append('[').append(SYMBOLS.charAt(index)).append(']');
+    if ((pow != 1) || (root != 1)) {
+      if ((pow == 2) && (root == 1)) {
+        sb.append('\u00b2'); // Square
+      } else if ((pow == 3) && (root == 1)) {
+        sb.append('\u00b3'); // Cubic
+      } else {
+        sb.append('^').append(pow);
+        if (root != 1)
+          sb.append(':').append(root);
+      }
+    }
   }
 
   @Override
@@ -271,13 +400,86 @@ public final class QuantityDimension implements Dimension, Serializable {
     }
     if (obj instanceof QuantityDimension) {
       QuantityDimension other = (QuantityDimension) obj;
-      return Objects.equals(pseudoUnit, other.pseudoUnit);
+      return (exponents == other.exponents) && (root == other.root);
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(pseudoUnit);
+    return 31 * Long.hashCode(exponents) + root;
+  }
+
+  /**
+   * Rejects streams whose exponents are not in the reduced form the constructors maintain.
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    if (root <= 0 || (exponents >>> (BASE_COUNT * 8)) != 0L)
+      throw new InvalidObjectException("Invalid dimension exponents");
+    long gcd = root;
+    for (int i = 0; i < BASE_COUNT; i++) {
+      gcd = gcd(gcd, exponent(exponents, i));
+    }
+    if (gcd != 1L || (exponents == 0L && root != 1))
+      throw new InvalidObjectException("Dimension exponents not reduced");
+  }
+
+  /**
+   * Resolves deserialized base dimensions and {@link #NONE} to their constants.
+   */
+  private Object readResolve() {
+    if (exponents == 0L)
+      return NONE;
+    for (int i = 0; i < BASE_COUNT; i++) {
+      if (BASE[i].equals(this))
+        return BASE[i];
+    }
+    return this;
+  }
+
+  /**
+   * Returns the exponent numerator held in the given slot of the packed exponents.
+   */
+  private static int exponent(long exponents, int index) {
+    return (byte) (exponents >>> (index * 8));
+  }
+
+  /**
+   * Returns the dimension whose exponents are <code>(a * aFactor + b * bFactor) / root</code>, reduced to lowest terms.
+   *
+   * @throws ArithmeticException
+   *           if a resulting exponent numerator does not fit in a byte.
+   */
+  private static QuantityDimension combine(long a, int aFactor, long b, int bFactor, int root) {
+    long gcd = root;
+    for (int i = 0; i < BASE_COUNT; i++) {
+      gcd = gcd(gcd, (long) exponent(a, i) * aFactor + (long) exponent(b, i) * bFactor);
+    }
+    long packed = 0L;
+    for (int i = 0; i < BASE_COUNT; i++) {
+      long e = ((long) exponent(a, i) * aFactor + (long) exponent(b, i) * bFactor) / gcd;
+      if (e < Byte.MIN_VALUE || e > Byte.MAX_VALUE)
+        throw new ArithmeticException("Dimension exponent overflow");
+      packed |= (e & 0xFFL) << (i * 8);
+    }
+    if (packed == 0L)
+      return (QuantityDimension) NONE;
+    return new QuantityDimension(packed, (int) (root / gcd));
+  }
+
+  private static long gcd(long a, long b) {
+    a = Math.abs(a);
+    b = Math.abs(b);
+    while (b != 0) {
+      long t = a % b;
+      a = b;
+      b = t;
+    }
+    return a;
+  }
+
+  private static int lcm(int a, int b) {
+    return (a == b) ? a : Math.multiplyExact(a / (int) gcd(a, b), b);
   }
 }
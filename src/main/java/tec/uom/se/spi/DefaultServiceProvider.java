@@ -180,11 +180,10 @@ public class DefaultServiceProvider extends ServiceProvider implements Comparabl
 	  public final <Q extends Quantity<Q>> QuantityFactory<Q> getQuantityFactory(Class<Q> quantity) {
 	    if (quantity == null)
 	      throw new NullPointerException();
-	    if (!QUANTITY_FACTORIES.containsKey(quantity)) {
-	      synchronized (QUANTITY_FACTORIES) {
-	        QUANTITY_FACTORIES.put(quantity, DefaultQuantityFactory.getInstance(quantity));
-	      }
+	    QuantityFactory<Q> factory = QUANTITY_FACTORIES.get(quantity);
+	    if (factory == null) {
+	      factory = QUANTITY_FACTORIES.computeIfAbsent(quantity, DefaultQuantityFactory::getInstance);
 	    }
-	    return QUANTITY_FACTORIES.get(quantity);
+	    return factory;
 	  }
 }
\ No newline at end of file
@@ -30,6 +30,7 @@
 package tec.uom.se.spi;
 
 import tec.uom.se.AbstractConverter;
+import tec.uom.se.ConverterCache;
 import tec.uom.se.quantity.QuantityDimension;
 import javax.measure.Dimension;
 import java.util.Map;
@@ -99,6 +100,7 @@ public abstract class DimensionalModel {
    */
   protected static void setCurrent(DimensionalModel model) {
     currentModel = model;
+    ConverterCache.getInstance().invalidate();
   }
 
   /**
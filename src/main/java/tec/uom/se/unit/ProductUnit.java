@@ -39,9 +39,12 @@ import javax.measure.Unit;
 import javax.measure.UnitConverter;
 
 import java.io.Serializable;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>
@@ -53,6 +56,11 @@ import java.util.Objects;
  * returns <code>METRE</code>.
  * </p>
  *
+ * <p>
+ * Product units created by {@link #getProductInstance}, {@link #getQuotientInstance} and {@link #getRootInstance} are interned: structurally equal
+ * products (same elements in the same order) share a single instance, so that comparisons and map lookups usually succeed on identity.
+ * </p>
+ *
  * @param <Q>
  *          The type of the quantity measured by this unit.
  *
@@ -77,6 +85,31 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
    */
   private final String symbol;
 
+  /**
+   * Holds the hash code (lazily computed, independent from the order of the elements).
+   */
+  private transient int hashCode;
+
+  /**
+   * Holds the system converter (lazily computed).
+   */
+  private transient volatile UnitConverter systemConverter;
+
+  /**
+   * Holds the dimension (lazily computed).
+   */
+  private transient volatile Dimension dimension;
+
+  /**
+   * Holds the interned product units, weakly referenced.
+   */
+  private static final ConcurrentHashMap<ElementsKey, InternedRef> INTERNED = new ConcurrentHashMap<>();
+
+  /**
+   * Holds the references to the interned units which have been garbage collected.
+   */
+  private static final ReferenceQueue<ProductUnit<?>> COLLECTED = new ReferenceQueue<>();
+
   /**
    * DefaultQuantityFactory constructor (used solely to create <code>ONE</code> instance).
    */
@@ -275,7 +308,7 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
     }
     if (obj instanceof ProductUnit<?>) {
       Element[] elems = ((ProductUnit<?>) obj).elements;
-      if (elements.length != elems.length)
+      if ((elements.length != elems.length) || (hashCode() != obj.hashCode()))
         return false;
       for (Element element : elements) {
         boolean unitFound = false;
@@ -298,7 +331,14 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
 
   @Override
   public int hashCode() {
-    return Objects.hash((Object[]) elements);
+    int h = hashCode;
+    if (h == 0) {
+      for (Element element : elements) {
+        h += element.hashCode(); // Order independent, as equals.
+      }
+      hashCode = h;
+    }
+    return h;
   }
 
   @SuppressWarnings("unchecked")
@@ -316,6 +356,15 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
 
   @Override
   public UnitConverter getSystemConverter() {
+    UnitConverter converter = systemConverter;
+    if (converter == null) {
+      converter = computeSystemConverter();
+      systemConverter = converter;
+    }
+    return converter;
+  }
+
+  private UnitConverter computeSystemConverter() {
     UnitConverter converter = AbstractConverter.IDENTITY;
     for (Element e : elements) {
       if (e.unit instanceof AbstractUnit) {
@@ -339,6 +388,15 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
 
   @Override
   public Dimension getDimension() {
+    Dimension d = dimension;
+    if (d == null) {
+      d = computeDimension();
+      dimension = d;
+    }
+    return d;
+  }
+
+  private Dimension computeDimension() {
     Dimension dimension = QuantityDimension.NONE;
     for (int i = 0; i < this.getUnitCount(); i++) {
       Unit<?> unit = this.getUnit(i);
@@ -408,7 +466,76 @@ public final class ProductUnit<Q extends Quantity<Q>> extends AbstractUnit<Q> {
     else {
       Element[] elems = new Element[resultIndex];
       System.arraycopy(result, 0, elems, 0, resultIndex);
-      return new ProductUnit(elems);
+      return intern(elems);
+    }
+  }
+
+  /**
+   * Returns the interned product unit having the specified elements.
+   *
+   * @param elems
+   *          the product elements.
+   * @return the canonical instance.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static ProductUnit<?> intern(Element[] elems) {
+    for (InternedRef ref; (ref = (InternedRef) COLLECTED.poll()) != null;) {
+      INTERNED.remove(ref.key, ref);
+    }
+    ElementsKey key = new ElementsKey(elems);
+    InternedRef ref = INTERNED.get(key);
+    ProductUnit<?> unit = (ref != null) ? ref.get() : null;
+    if (unit != null)
+      return unit;
+    ProductUnit<?> created = new ProductUnit(elems);
+    InternedRef createdRef = new InternedRef(created, key);
+    while (true) {
+      ref = INTERNED.putIfAbsent(key, createdRef);
+      if (ref == null)
+        return created;
+      unit = ref.get();
+      if (unit != null)
+        return unit;
+      if (INTERNED.replace(key, ref, createdRef))
+        return created;
+    }
+  }
+
+  /**
+   * The interning key, elements are compared in order.
+   */
+  private static final class ElementsKey {
+
+    private final Element[] elements;
+
+    private final int hash;
+
+    private ElementsKey(Element[] elements) {
+      this.elements = elements;
+      this.hash = Arrays.hashCode(elements);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return (this == obj) || ((obj instanceof ElementsKey) && Arrays.equals(elements, ((ElementsKey) obj).elements));
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /**
+   * A weak reference to an interned unit, remembering its key for removal.
+   */
+  private static final class InternedRef extends WeakReference<ProductUnit<?>> {
+
+    private final ElementsKey key;
+
+    private InternedRef(ProductUnit<?> unit, ElementsKey key) {
+      super(unit, COLLECTED);
+      this.key = key;
     }
   }
 
@@ -91,6 +91,11 @@ public final class TransformedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q
    */
   private String symbol;
 
+  /**
+   * Holds the system converter (lazily computed).
+   */
+  private transient volatile UnitConverter systemConverter;
+
   /**
    * Creates a transformed unit from the specified system unit. using the parent as symbol
    * 
@@ -128,7 +133,12 @@ public final class TransformedUnit<Q extends Quantity<Q>> extends AbstractUnit<Q
 
   @Override
   public UnitConverter getSystemConverter() {
-    return parentUnit.getSystemConverter().concatenate(converter);
+    UnitConverter cvtr = systemConverter;
+    if (cvtr == null) {
+      cvtr = parentUnit.getSystemConverter().concatenate(converter);
+      systemConverter = cvtr;
+    }
+    return cvtr;
   }
 
   @Override
@@ -0,0 +1,60 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se;
+
+import static org.junit.Assert.*;
+import static tec.uom.se.unit.Units.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.measure.Unit;
+
+import org.junit.Test;
+
+public class AbstractSystemOfUnitsTest {
+
+  @Test
+  public void testNamingProductDoesNotAffectEqualProducts() {
+    Unit<?> product = METRE.multiply(CANDELA);
+    String symbol = product.getSymbol();
+    Set<Unit<?>> units = new HashSet<>();
+    Unit<?> named = AbstractSystemOfUnits.Helper.addUnit(units, product, "metre candela", "mcd");
+    assertEquals("metre candela", named.getName());
+    assertTrue(units.contains(named));
+
+    Unit<?> fresh = METRE.multiply(CANDELA);
+    assertEquals(named, fresh);
+    assertNull(fresh.getName());
+    assertNull(product.getName());
+    assertEquals(symbol, fresh.getSymbol());
+    assertEquals("m·cd", fresh.toString());
+  }
+}
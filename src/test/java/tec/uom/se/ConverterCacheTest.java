@@ -0,0 +1,140 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se;
+
+import static org.junit.Assert.*;
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import javax.measure.UnitConverter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import tec.uom.se.format.SimpleUnitFormat;
+import tec.uom.se.function.RationalConverter;
+
+public class ConverterCacheTest {
+  private final ConverterCache cache = ConverterCache.getInstance();
+
+  @Before
+  public void setUp() {
+    cache.setMaximumSize(ConverterCache.DEFAULT_SIZE);
+    cache.setRecordingStatistics(true);
+    cache.resetStatistics();
+  }
+
+  @After
+  public void tearDown() {
+    cache.setMaximumSize(ConverterCache.DEFAULT_SIZE);
+    cache.setRecordingStatistics(false);
+  }
+
+  @Test
+  public void testHitAndMiss() {
+    UnitConverter first = KILO(METRE).getConverterTo(CENTI(METRE));
+    long misses = cache.getMissCount();
+    assertTrue(misses > 0);
+    UnitConverter second = KILO(METRE).getConverterTo(CENTI(METRE));
+    assertSame(first, second);
+    assertEquals(misses, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(100000d, second.convert(1d), 0);
+  }
+
+  @Test
+  public void testIdentityNotCached() {
+    assertEquals(AbstractConverter.IDENTITY, METRE.getConverterTo(METRE));
+    assertEquals(0, cache.getMissCount());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testBounded() {
+    cache.setMaximumSize(16);
+    KILO(METRE).getConverterTo(CENTI(METRE));
+    MILLI(METRE).getConverterTo(CENTI(METRE));
+    HOUR.getConverterTo(MINUTE);
+    DAY.getConverterTo(SECOND);
+    KILO(GRAM).getConverterTo(MILLI(GRAM));
+    assertTrue(cache.size() <= 16);
+    cache.setMaximumSize(0);
+    KILO(METRE).getConverterTo(CENTI(METRE));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testInvalidateOnLabel() {
+    KILO(METRE).getConverterTo(MILLI(METRE));
+    assertTrue(cache.size() > 0);
+    SimpleUnitFormat.getInstance().alias(METRE, "metre");
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testStatisticsDisabled() {
+    cache.setRecordingStatistics(false);
+    KILO(METRE).getConverterTo(CENTI(METRE));
+    KILO(METRE).getConverterTo(CENTI(METRE));
+    assertEquals(0, cache.getHitCount());
+    assertEquals(0, cache.getMissCount());
+  }
+
+  @Test
+  public void testEviction() {
+    cache.setMaximumSize(2);
+    UnitConverter converter = new RationalConverter(1000, 1);
+    cache.put(KILO(METRE), METRE, converter, cache.generation());
+    cache.put(KILO(GRAM), GRAM, converter, cache.generation());
+    assertSame(converter, cache.get(KILO(METRE), METRE)); // Marks the entry as used.
+    cache.put(KILO(SECOND), SECOND, converter, cache.generation());
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+    assertSame(converter, cache.get(KILO(METRE), METRE));
+    assertNull(cache.get(KILO(GRAM), GRAM));
+  }
+
+  @Test
+  public void testStaleConverterNotCached() {
+    UnitConverter converter = new RationalConverter(1000, 1);
+    int generation = cache.generation();
+    cache.invalidate();
+    cache.put(KILO(METRE), METRE, converter, generation);
+    assertEquals(0, cache.size());
+    cache.put(KILO(METRE), METRE, converter, cache.generation());
+    assertEquals(1, cache.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeSize() {
+    cache.setMaximumSize(-1);
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import static org.junit.Assert.*;
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import javax.measure.Unit;
+import javax.measure.format.ParserException;
+import javax.measure.format.UnitFormat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParsedUnitCacheTest {
+  private final SimpleUnitFormat simpleFormat = SimpleUnitFormat.getInstance();
+  private final UnitFormat format = simpleFormat;
+  private final ParsedUnitCache cache = simpleFormat.getParseCache();
+
+  @Before
+  public void setUp() {
+    cache.setMaximumSize(64);
+    cache.resetStatistics();
+  }
+
+  @After
+  public void tearDown() {
+    cache.setMaximumSize(ParsedUnitCache.DEFAULT_SIZE);
+  }
+
+  @Test
+  public void testHitAndMiss() {
+    Unit<?> first = format.parse("km");
+    assertEquals(1, cache.getMissCount());
+    Unit<?> second = format.parse(new StringBuilder("km"));
+    assertSame(first, second);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(KILO(METRE), second);
+    assertEquals(0.5, cache.getHitRatio(), 0);
+  }
+
+  @Test
+  public void testDisabled() {
+    cache.setMaximumSize(0);
+    assertEquals(KILO(METRE), format.parse("km"));
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getMissCount());
+  }
+
+  @Test
+  public void testFailureNotCached() {
+    for (int i = 0; i < 2; i++) {
+      try {
+        format.parse("bl//^--1a");
+        fail();
+      } catch (ParserException e) {
+        // Expected.
+      }
+    }
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testBounded() {
+    cache.setMaximumSize(16);
+    String[] sources = { "m", "km", "cm", "mm", "s", "ms", "kg", "g", "mg", "N", "kN", "Pa", "kPa", "W", "kW", "MW", "J", "kJ", "Hz", "kHz" };
+    for (String source : sources) {
+      format.parse(source);
+    }
+    assertTrue(cache.size() <= 16);
+    assertTrue(cache.getEvictionCount() > 0);
+  }
+
+  @Test
+  public void testInvalidateOnAlias() {
+    format.parse("km");
+    format.parse("km");
+    assertEquals(1, cache.getMissCount());
+    simpleFormat.alias(METRE, "metre");
+    format.parse("km");
+    assertEquals(2, cache.getMissCount());
+  }
+
+  @Test
+  public void testStaleParseNotCached() {
+    int generation = ParsedUnitCache.generation();
+    ParsedUnitCache.invalidateAll();
+    assertEquals(generation + 1, ParsedUnitCache.generation());
+    cache.put("km", KILO(METRE), generation);
+    assertEquals(0, cache.size());
+    cache.put("km", KILO(METRE), ParsedUnitCache.generation());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testEBNFCache() {
+    EBNFUnitFormat ebnfFormat = EBNFUnitFormat.getInstance();
+    UnitFormat ebnf = ebnfFormat;
+    ParsedUnitCache ebnfCache = ebnfFormat.getParseCache();
+    assertNotSame(cache, ebnfCache);
+    ebnfCache.setMaximumSize(16);
+    try {
+      assertEquals(METRE.divide(SECOND), ebnf.parse("m/s"));
+      assertSame(ebnf.parse("m/s"), ebnf.parse(" m/s".trim()));
+      assertEquals(1, ebnfCache.size());
+      assertTrue(ebnfCache.getHitRatio() > 0);
+    } finally {
+      ebnfCache.setMaximumSize(ParsedUnitCache.DEFAULT_SIZE);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeSize() {
+    cache.setMaximumSize(-1);
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import static org.junit.Assert.*;
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import javax.measure.format.ParserException;
+
+import org.junit.Test;
+
+import tec.uom.se.quantity.Quantities;
+
+public class QuantityBatchParserTest {
+
+  @Test
+  public void testParseReader() throws IOException {
+    QuantityColumns columns = QuantityBatchParser.of().parse(new StringReader("12.5 kPa,3 m\r\n\n4 kPa, 0.5 °C\n-1 m"));
+    assertEquals(5, columns.size());
+    assertArrayEquals(new double[] { 12.5, 3, 4, 0.5, -1 }, columns.getValues(), 0);
+    assertArrayEquals(new int[] { 0, 1, 0, 2, 1 }, columns.getUnitIds());
+    assertEquals(Arrays.asList(KILO(PASCAL), METRE, CELSIUS), columns.getUnits());
+    assertEquals(Quantities.getQuantity(0.5d, CELSIUS), columns.get(3));
+  }
+
+  @Test
+  public void testColumnAndHeader() throws IOException {
+    QuantityBatchParser parser = QuantityBatchParser.of(';', SimpleUnitFormat.getInstance()).column(1).skipLines(1);
+    QuantityColumns columns = parser.parse(new StringReader("time;pressure\n2016-10-18T10:00;101.3 kPa\n2016-10-18T10:01;101.4 kPa\n"));
+    assertArrayEquals(new double[] { 101.3, 101.4 }, columns.getValues(), 0);
+    assertEquals(Arrays.asList(KILO(PASCAL)), columns.getUnits());
+  }
+
+  @Test
+  public void testLongLines() throws IOException {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      text.append(i).append(" s,");
+    }
+    text.append("1 h");
+    QuantityColumns columns = QuantityBatchParser.of().parse(new StringReader(text.toString()));
+    assertEquals(20001, columns.size());
+    assertEquals(19999, columns.getValue(19999), 0);
+    assertEquals(Arrays.asList(SECOND, HOUR), columns.getUnits());
+  }
+
+  @Test
+  public void testInvalidLine() throws IOException {
+    try {
+      QuantityBatchParser.of().parse(new StringReader("1 m\n2 m x\n"));
+      fail();
+    } catch (ParserException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("line 2"));
+    }
+  }
+
+  @Test
+  public void testInvalidDelimiter() {
+    for (char delimiter : new char[] { '.', '-', '5', ' ', 'e', 'E', 'm', 'k', '/', '^', '*', '\n', '\u00b7' }) {
+      try {
+        QuantityBatchParser.of(delimiter, SimpleUnitFormat.getInstance());
+        fail(String.valueOf(delimiter));
+      } catch (IllegalArgumentException e) {
+        // Expected.
+      }
+    }
+  }
+
+  @Test
+  public void testDelimiters() throws IOException {
+    for (char delimiter : QuantityBatchParser.DELIMITERS.toCharArray()) {
+      QuantityColumns columns = QuantityBatchParser.of(delimiter, SimpleUnitFormat.getInstance()).column(1)
+          .parse(new StringReader("x" + delimiter + "2 km/h" + delimiter + "y\n"));
+      assertEquals(1, columns.size());
+      assertEquals(2d, columns.getValue(0), 0);
+    }
+  }
+
+  @Test
+  public void testParseFile() throws IOException {
+    Path file = Files.createTempFile("quantities", ".csv");
+    try {
+      String[] units = { "kPa", "m", "°C", "km/h", "kW" };
+      try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+        writer.write("value,other\n");
+        for (int i = 0; i < 300000; i++) {
+          writer.write(i * 0.5 + " " + units[i % units.length] + "," + i + "\n");
+        }
+      }
+      QuantityBatchParser parser = QuantityBatchParser.of().column(0).skipLines(1);
+      QuantityColumns sequential = parser.parse(file);
+      QuantityColumns parallel = parser.parse(file, true);
+      assertEquals(300000, sequential.size());
+      assertArrayEquals(sequential.getValues(), parallel.getValues(), 0);
+      assertEquals(sequential.getUnits(), parallel.getUnits());
+      assertArrayEquals(sequential.getUnitIds(), parallel.getUnitIds());
+      assertEquals(Quantities.getQuantity(1d, CELSIUS), sequential.get(2));
+      QuantityColumns fromReader = parser.parse(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+      assertArrayEquals(sequential.getValues(), fromReader.getValues(), 0);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testParseFileLongHeader() throws IOException {
+    Path file = Files.createTempFile("quantities", ".csv");
+    try {
+      int headerLines = 40000; // Past the first chunk parsed in parallel.
+      try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+        for (int i = 0; i < headerLines; i++) {
+          writer.write("header line " + i + ", not a quantity\n");
+        }
+        for (int i = 0; i < 1000; i++) {
+          writer.write(i + " m\n");
+        }
+      }
+      QuantityBatchParser parser = QuantityBatchParser.of().skipLines(headerLines);
+      for (boolean parallel : new boolean[] { false, true }) {
+        QuantityColumns columns = parser.parse(file, parallel);
+        assertEquals(1000, columns.size());
+        assertEquals(0d, columns.getValue(0), 0);
+        assertEquals(999d, columns.getValue(999), 0);
+      }
+      assertEquals(0, QuantityBatchParser.of().skipLines(headerLines + 1000).parse(file, true).size());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testParseEmptyFile() throws IOException {
+    Path file = Files.createTempFile("quantities", ".csv");
+    try {
+      assertEquals(0, QuantityBatchParser.of().parse(file, true).size());
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
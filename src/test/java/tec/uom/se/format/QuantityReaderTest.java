@@ -0,0 +1,172 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import static org.junit.Assert.*;
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import javax.measure.format.ParserException;
+
+import org.junit.Test;
+
+import tec.uom.se.AbstractUnit;
+import tec.uom.se.quantity.Quantities;
+
+public class QuantityReaderTest {
+  private final QuantityReader reader = QuantityReader.of();
+
+  @Test
+  public void testParseCharBuffer() {
+    CharBuffer buffer = CharBuffer.wrap("12.5 km");
+    assertEquals(Quantities.getQuantity(12.5d, KILO(METRE)), reader.parse(buffer));
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  public void testParseByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.wrap(" -3e2 °C ".getBytes(StandardCharsets.UTF_8));
+    assertEquals(Quantities.getQuantity(-300d, CELSIUS), reader.parse(buffer));
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  public void testReadRange() {
+    CharBuffer buffer = CharBuffer.wrap("[1 m, 2.5 s]");
+    buffer.position(1).limit(4);
+    reader.read(buffer);
+    assertEquals(1d, reader.getValue(), 0);
+    assertEquals(METRE, reader.getUnit());
+    buffer.limit(11).position(6);
+    reader.read(buffer);
+    assertEquals(2.5d, reader.getValue(), 0);
+    assertEquals(SECOND, reader.getUnit());
+    assertEquals(11, buffer.position());
+  }
+
+  @Test
+  public void testReadSequence() {
+    ByteBuffer buffer = ByteBuffer.wrap("1 m 2 µm\n.5 kW".getBytes(StandardCharsets.UTF_8));
+    reader.read(buffer);
+    assertEquals(METRE, reader.getUnit());
+    reader.read(buffer);
+    assertEquals(2d, reader.getValue(), 0);
+    assertEquals(MICRO(METRE), reader.getUnit());
+    reader.read(buffer);
+    assertEquals(0.5d, reader.getValue(), 0);
+    assertEquals(KILO(WATT), reader.getUnit());
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  public void testDimensionless() {
+    reader.read(CharBuffer.wrap("42"));
+    assertEquals(42d, reader.getValue(), 0);
+    assertEquals(AbstractUnit.ONE, reader.getUnit());
+  }
+
+  @Test
+  public void testNumbers() {
+    Random random = new Random(363);
+    String[] samples = { "0", "-0", "+7", "1.", ".25", "0.1", "123456789012345678901234", "1e22", "1e23", "4.9e-324", "1.7976931348623157e308",
+        "2.2250738585072014E-308", "0.000000000000000000000000001", "9007199254740993" };
+    for (String sample : samples) {
+      assertValue(sample);
+    }
+    for (int i = 0; i < 10000; i++) {
+      assertValue(Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20)));
+      assertValue(Long.toString(random.nextLong() >> random.nextInt(64)));
+    }
+  }
+
+  @Test
+  public void testInvalidNumber() {
+    CharBuffer buffer = CharBuffer.wrap("x m");
+    try {
+      reader.read(buffer);
+      fail();
+    } catch (ParserException e) {
+      assertEquals(0, buffer.position());
+    }
+    for (String source : new String[] { "", "-", ".", "1e", "1e+ m" }) {
+      try {
+        reader.read(ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8)));
+        fail(source);
+      } catch (ParserException e) {
+        // Expected.
+      }
+    }
+  }
+
+  @Test(expected = ParserException.class)
+  public void testInvalidUTF8() {
+    reader.read(ByteBuffer.wrap(new byte[] { '1', ' ', 'm', (byte) 0xc2 }));
+  }
+
+  @Test
+  public void testIllFormedUTF8() {
+    byte[][] units = { { (byte) 0xf5, (byte) 0x80, (byte) 0x80, (byte) 0x80 }, // Above U+10FFFF.
+        { (byte) 0xc0, (byte) 0xb5 }, // Overlong 'µ'.
+        { (byte) 0xe0, (byte) 0x82, (byte) 0xb5 }, // Overlong 'µ'.
+        { (byte) 0xed, (byte) 0xa0, (byte) 0x80 } }; // Surrogate U+D800.
+    for (byte[] unit : units) {
+      ByteBuffer buffer = ByteBuffer.allocate(2 + unit.length);
+      buffer.put((byte) '1').put((byte) ' ').put(unit).flip();
+      try {
+        reader.read(buffer);
+        fail();
+      } catch (ParserException e) {
+        assertEquals(0, buffer.position());
+      }
+    }
+  }
+
+  @Test
+  public void testUnitIndexInvalidatedOnAlias() {
+    reader.read(CharBuffer.wrap("1 km"));
+    SimpleUnitFormat.getInstance().alias(METRE, "metre");
+    reader.read(CharBuffer.wrap("1 metre"));
+    assertEquals(METRE, reader.getUnit());
+    reader.read(CharBuffer.wrap("1 km"));
+    assertEquals(KILO(METRE), reader.getUnit());
+  }
+
+  private void assertValue(String number) {
+    reader.read(ByteBuffer.wrap((number + " m").getBytes(StandardCharsets.US_ASCII)));
+    assertEquals(number, Double.parseDouble(number), reader.getValue(), 0);
+    reader.read(CharBuffer.wrap(number));
+    assertEquals(number, Double.parseDouble(number), reader.getValue(), 0);
+  }
+}
@@ -35,7 +35,10 @@ import static tec.uom.se.unit.Units.GRAM;
 import static tec.uom.se.unit.Units.HERTZ;
 import static tec.uom.se.unit.Units.KILOGRAM;
 
+import java.text.ParsePosition;
+
 import javax.measure.Unit;
+import javax.measure.format.ParserException;
 import javax.measure.quantity.Frequency;
 import javax.measure.quantity.Mass;
 import javax.measure.quantity.Speed;
@@ -108,4 +111,18 @@ public class SimpleFormatTest {
     String s = fmt.format(hz);
     assertEquals("kHz", s);
   }
+
+  @Test
+  public void testParseSingleUnit() {
+    ParsePosition pos = new ParsePosition(3);
+    assertEquals(MEGA(HERTZ), fmt.parseSingleUnit("12 MHz/s", pos));
+    assertEquals(6, pos.getIndex());
+    assertEquals(KILOGRAM, fmt.parseProductUnit("kg", new ParsePosition(0)));
+    assertEquals(Units.CELSIUS, fmt.parseProductUnit("\u00b0C", new ParsePosition(0)));
+  }
+
+  @Test(expected = ParserException.class)
+  public void testParseSingleUnitUnknown() {
+    fmt.parseSingleUnit("furlong", new ParsePosition(0));
+  }
 }
@@ -0,0 +1,122 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.format;
+
+import static org.junit.Assert.*;
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import java.util.ResourceBundle;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class SymbolMapTest {
+
+  @Test
+  public void testLabelAndAlias() {
+    SymbolMap map = SymbolMap.of();
+    map.label(METRE, "m");
+    map.alias(METRE, "metre");
+    assertEquals(METRE, map.getUnit("m"));
+    assertEquals(METRE, map.getUnit("metre"));
+    assertEquals("m", map.getSymbol(METRE));
+    assertNull(map.getUnit("s"));
+  }
+
+  @Test
+  public void testLongestPrefix() {
+    SymbolMap map = SymbolMap.of();
+    map.label(DECI, "d");
+    map.label(DEKA, "da");
+    assertEquals(DEKA, map.getPrefix("dam"));
+    assertEquals(DECI, map.getPrefix("dm"));
+    assertEquals(DECI, map.getPrefix("d"));
+    assertNull(map.getPrefix("m"));
+    assertEquals(DEKA, map.getPrefix(DEKA.getConverter()));
+    assertEquals("da", map.getSymbol(DEKA));
+  }
+
+  @Test
+  public void testCharSequenceLookup() {
+    SymbolMap map = SymbolMap.of();
+    map.label(KILO, "k");
+    map.label(METRE, "m");
+    map.label(PASCAL, "Pa");
+    map.alias(MINUTE, "min");
+    map.label(MILLI, "m");
+    StringBuilder text = new StringBuilder("1 km, 2 Pa, 3 min, 4 mm");
+    assertEquals(METRE, map.getUnit(text, 3, 4));
+    assertNull(map.getUnit(text, 2, 4));
+    assertEquals(KILO(METRE), map.getPrefixedUnit(text, 2, 4));
+    assertEquals(PASCAL, map.getPrefixedUnit(text, 8, 10));
+    assertEquals(MINUTE, map.getPrefixedUnit(text, 14, 17));
+    assertEquals(MILLI(METRE), map.getPrefixedUnit(text, 21, 23));
+    assertNull(map.getPrefixedUnit(text, 2, 3));
+    map.alias(METRE, "km");
+    assertEquals(METRE, map.getPrefixedUnit(text, 2, 4));
+  }
+
+  @Test
+  public void testFromBundle() {
+    SymbolMap map = SymbolMap.of(ResourceBundle.getBundle("tec.uom.se.format.messages"));
+    assertEquals(METRE, map.getUnit("m"));
+    assertEquals(KILO, map.getPrefix("km"));
+  }
+
+  @Test
+  public void testConcurrentUpdates() throws Exception {
+    final SymbolMap map = SymbolMap.of();
+    map.label(METRE, "m");
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<?> writer = executor.submit(() -> {
+        for (int i = 0; i < 1000; i++)
+          map.alias(SECOND, "s" + i);
+      });
+      Future<?>[] readers = new Future<?>[3];
+      for (int r = 0; r < readers.length; r++) {
+        readers[r] = executor.submit(() -> {
+          for (int i = 0; i < 10000; i++)
+            assertEquals(METRE, map.getUnit("m"));
+        });
+      }
+      writer.get(10, TimeUnit.SECONDS);
+      for (Future<?> reader : readers)
+        reader.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(SECOND, map.getUnit("s999"));
+  }
+}
@@ -36,6 +36,11 @@ import static tec.uom.se.unit.MetricPrefix.MEGA;
 import static tec.uom.se.unit.Units.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
@@ -179,4 +184,48 @@ public class UnitFormatTest {
     Unit<?> u = format.parse("bl//^--1a");
     // System.out.println(u);
   }
+
+  @Test
+  public void testParseEBNFReusesParser() throws Exception {
+    final UnitFormat format = EBNFUnitFormat.getInstance();
+    final String[] sources = { "m", " kg ", "m/s", "km", "s^2", "m*kg" };
+    final Unit<?>[] expected = new Unit<?>[sources.length];
+    for (int i = 0; i < sources.length; i++) {
+      expected[i] = format.parse(sources[i]);
+    }
+    assertEquals(METRE.divide(SECOND), expected[2]);
+    try {
+      format.parse("bl//^--1a");
+      fail();
+    } catch (ParserException e) {
+      // The parser of this thread is left in an error state, it must be reset by the next parse.
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Unit<?>[]>> results = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        results.add(executor.submit(() -> {
+          Unit<?>[] units = new Unit<?>[sources.length];
+          for (int n = 0; n < 100; n++) {
+            for (int i = 0; i < sources.length; i++) {
+              units[i] = format.parse(sources[i]);
+            }
+          }
+          return units;
+        }));
+      }
+      results.add(executor.submit(() -> {
+        Unit<?>[] units = new Unit<?>[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+          units[i] = format.parse(sources[i]);
+        }
+        return units;
+      }));
+      for (Future<Unit<?>[]> result : results) {
+        assertArrayEquals(expected, result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
 }
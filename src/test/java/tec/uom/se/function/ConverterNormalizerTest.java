@@ -0,0 +1,92 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import static org.junit.Assert.*;
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import javax.measure.IncommensurableException;
+import javax.measure.UnitConverter;
+
+import org.junit.Test;
+
+import tec.uom.se.AbstractConverter;
+
+public class ConverterNormalizerTest {
+
+  @Test
+  public void testRationalChainStaysExact() throws IncommensurableException {
+    UnitConverter converter = KILO(METRE).pow(3).getConverterToAny(CENTI(METRE).pow(3));
+    assertEquals(new RationalConverter(BigInteger.TEN.pow(15), BigInteger.ONE), converter);
+  }
+
+  @Test
+  public void testMixedFactorsFold() {
+    UnitConverter converter = new RationalConverter(1, 1000).concatenate(new MultiplyConverter(2.5)).concatenate(new RationalConverter(1000, 1));
+    assertEquals(new MultiplyConverter(2.5), converter);
+  }
+
+  @Test
+  public void testPiFactors() {
+    assertEquals(AbstractConverter.IDENTITY, new PiMultiplierConverter().concatenate(new PiMultiplierConverter().inverse()));
+    UnitConverter converter = new PiMultiplierConverter().concatenate(new RationalConverter(1, 180));
+    assertEquals(new PowerOfPiConverter(BigInteger.ONE, BigInteger.valueOf(180), 1), converter);
+    assertEquals(Math.PI, converter.convert(180d), 1e-15);
+    BigDecimal pi = ((AbstractConverter) converter).convert(BigDecimal.valueOf(180), MathContext.DECIMAL128);
+    assertEquals("3.141592653589793238462643383279503", pi.toString());
+  }
+
+  @Test
+  public void testAffineChain() {
+    UnitConverter converter = new AddConverter(32).concatenate(new RationalConverter(9, 5)).concatenate(new AddConverter(-273.15));
+    assertTrue(converter instanceof AffineConverter);
+    assertEquals(212d, converter.convert(373.15), 1e-12);
+    assertEquals(373.15, converter.inverse().convert(212d), 1e-12);
+    assertEquals(1, converter.getConversionSteps().size());
+  }
+
+  @Test
+  public void testOffsetsCancel() {
+    assertEquals(AbstractConverter.IDENTITY, CELSIUS.getConverterTo(KELVIN).concatenate(KELVIN.getConverterTo(CELSIUS)));
+  }
+
+  @Test
+  public void testNonLinearDelimitsRuns() {
+    UnitConverter converter = new RationalConverter(1, 10).concatenate(new RationalConverter(1, 10)).concatenate(new LogConverter(10)).concatenate(
+        new MultiplyConverter(2)).concatenate(new MultiplyConverter(5));
+    assertEquals(3, converter.getConversionSteps().size());
+    assertEquals(0.02, converter.convert(10d), 1e-15);
+  }
+}
@@ -200,6 +200,23 @@ public class QuantityFunctionsFilterTest {
 
   }
 
+  @Test
+  public void isBetweenQuantityMixedUnitsParallelTest() {
+    List<Quantity<Time>> times = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      times.add(timeFactory.create(i, Units.MINUTE));
+      times.add(timeFactory.create(i, Units.SECOND));
+      times.add(timeFactory.create(i, Units.HOUR));
+    }
+    Quantity<Time> min = timeFactory.create(10, Units.MINUTE);
+    Quantity<Time> max = timeFactory.create(1, Units.HOUR);
+    long count = times.parallelStream().filter(QuantityFunctions.isBetween(min, max)).count();
+    // 51 minutes, 400 seconds and 1 hour.
+    assertEquals(452, count);
+    assertEquals(times.stream().filter(QuantityFunctions.isGreaterThanOrEqualTo(min)).filter(QuantityFunctions.isLesserThanOrEqualTo(max)).count(),
+        count);
+  }
+
   private List<Quantity<Time>> getTimes() {
     return Arrays.asList(day, hours, minutes, seconds);
   }
@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import javax.measure.Dimension;
 import javax.measure.Quantity;
 import javax.measure.Unit;
 import javax.measure.quantity.Time;
@@ -45,6 +46,10 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.quantity.QuantityArray;
+import tec.uom.se.quantity.QuantityDimension;
+import tec.uom.se.unit.MetricPrefix;
 import tec.uom.se.unit.Units;
 
 public class QuantityFunctionsGroupTest {
@@ -101,6 +106,44 @@ public class QuantityFunctionsGroupTest {
     Assert.assertNotNull(summary.getSum());
   }
 
+  @Test
+  public void groupingByUnitTest() {
+    List<Quantity<Time>> times = createTimes();
+    times.add(timeFactory.create(30, Units.MINUTE));
+    Map<Unit<Time>, QuantityArray<Time>> timeMap = times.parallelStream().collect(QuantityFunctions.groupingByUnit());
+
+    Assert.assertEquals(4, timeMap.size());
+    Assert.assertArrayEquals(new double[] { 15, 30 }, timeMap.get(Units.MINUTE).toDoubleArray(), 0);
+    Assert.assertEquals(Units.MINUTE, timeMap.get(Units.MINUTE).getUnit());
+    Assert.assertArrayEquals(new double[] { 18 }, timeMap.get(Units.HOUR).toDoubleArray(), 0);
+  }
+
+  @Test
+  public void groupingByUnitNormalizedTest() {
+    Map<Unit<Time>, QuantityArray<Time>> timeMap = createTimes().stream().collect(QuantityFunctions.groupingByUnit(Units.SECOND));
+
+    Assert.assertEquals(4, timeMap.size());
+    Assert.assertEquals(Units.SECOND, timeMap.get(Units.MINUTE).getUnit());
+    Assert.assertEquals(900, timeMap.get(Units.MINUTE).doubleValue(0), 0);
+    Assert.assertEquals(86400, timeMap.get(Units.DAY).doubleValue(0), 0);
+  }
+
+  @Test
+  public void groupingByDimensionTest() {
+    List<Quantity<?>> quantities = new ArrayList<>(createTimes());
+    quantities.add(Quantities.getQuantity(2, MetricPrefix.KILO(Units.METRE)));
+    quantities.add(Quantities.getQuantity(5, Units.METRE));
+    Map<Dimension, QuantityArray<?>> byDimension = quantities.parallelStream().collect(QuantityFunctions.groupingByDimension());
+
+    Assert.assertEquals(2, byDimension.size());
+    QuantityArray<?> lengths = byDimension.get(QuantityDimension.LENGTH);
+    Assert.assertEquals(Units.METRE, lengths.getUnit());
+    Assert.assertArrayEquals(new double[] { 2000, 5 }, lengths.toDoubleArray(), 0);
+    QuantityArray<?> times = byDimension.get(QuantityDimension.TIME);
+    Assert.assertEquals(Units.SECOND, times.getUnit());
+    Assert.assertArrayEquals(new double[] { 86400, 64800, 900, 100 }, times.toDoubleArray(), 1e-9);
+  }
+
   private List<Quantity<Time>> createTimes() {
     List<Quantity<Time>> times = new ArrayList<>();
     times.add(day);
@@ -124,6 +124,20 @@ public class QuantityFunctionsSortTest {
     Assert.assertEquals(seconds, times.get(3));
   }
 
+  @Test
+  public void sortNaturalMixedUnitsTest() {
+    List<Quantity<Time>> times = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      times.add(timeFactory.create(i, Units.SECOND));
+      times.add(timeFactory.create(i, Units.MINUTE));
+      times.add(timeFactory.create(i, Units.HOUR));
+    }
+    List<Quantity<Time>> result = times.parallelStream().sorted(QuantityFunctions.sortNatural()).collect(Collectors.toList());
+    for (int i = 1; i < result.size(); i++) {
+      Assert.assertTrue(result.get(i - 1).to(Units.SECOND).getValue().doubleValue() <= result.get(i).to(Units.SECOND).getValue().doubleValue());
+    }
+  }
+
   @Test
   public void sortNaturalAndSymbolTest() {
     List<Quantity<Time>> times = new ArrayList<>(getTimes());
@@ -0,0 +1,144 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Temperature;
+import javax.measure.quantity.Time;
+
+import org.junit.Test;
+
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+public class QuantityHistogramTest {
+
+  private static List<Quantity<Time>> latencies() {
+    List<Quantity<Time>> latencies = new ArrayList<>();
+    for (int i = 1; i <= 10000; i++) {
+      latencies.add(Quantities.getQuantity(i, MetricPrefix.MILLI(Units.SECOND)));
+    }
+    return latencies;
+  }
+
+  private static void assertRelative(double expected, Quantity<?> actual, double accuracy) {
+    assertEquals(expected, actual.getValue().doubleValue(), Math.abs(expected) * accuracy);
+  }
+
+  @Test
+  public void testQuantiles() {
+    QuantityHistogram<Time> histogram = latencies().stream().collect(QuantityFunctions.histogram(Units.SECOND));
+    assertEquals(10000, histogram.getCount());
+    assertEquals(Units.SECOND, histogram.getQuantile(0.5).getUnit());
+    assertRelative(5, histogram.getQuantile(0.5), 0.01);
+    assertRelative(9.5, histogram.getQuantile(0.95), 0.01);
+    assertRelative(9.9, histogram.getQuantile(0.99), 0.01);
+    assertEquals(0.001, histogram.getQuantile(0).getValue().doubleValue(), 0);
+    assertEquals(10, histogram.getQuantile(1).getValue().doubleValue(), 0);
+    assertRelative(9900, histogram.getQuantile(0.99, MetricPrefix.MILLI(Units.SECOND)), 0.01);
+  }
+
+  @Test
+  public void testParallel() {
+    Quantity<Time> p99 = latencies().parallelStream().collect(QuantityFunctions.quantile(Units.SECOND, 0.99));
+    assertRelative(9.9, p99, 0.01);
+  }
+
+  @Test
+  public void testNegativeValues() {
+    QuantityHistogram<Temperature> histogram = QuantityHistogram.of(Units.CELSIUS);
+    for (int i = -50; i <= 50; i++) {
+      histogram.accept(Quantities.getQuantity(i, Units.CELSIUS));
+    }
+    assertEquals(101, histogram.getCount());
+    assertEquals(0, histogram.getQuantile(0.5).getValue().doubleValue(), 0);
+    assertRelative(-25, histogram.getQuantile(0.25), 0.01);
+    assertRelative(40, histogram.getQuantile(0.9), 0.01);
+    assertEquals(-50, histogram.getMin().getValue().doubleValue(), 0);
+  }
+
+  @Test
+  public void testCombineDifferentUnits() {
+    QuantityHistogram<Time> seconds = QuantityHistogram.of(Units.SECOND);
+    QuantityHistogram<Time> millis = QuantityHistogram.of(MetricPrefix.MILLI(Units.SECOND));
+    for (int i = 1; i <= 100; i++) {
+      seconds.accept(i);
+      millis.accept(1000 * (100 + i));
+    }
+    seconds.combine(millis);
+    assertEquals(200, seconds.getCount());
+    assertRelative(100, seconds.getQuantile(0.5), 0.02);
+    assertEquals(200, seconds.getMax().getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void testBoundedMemory() {
+    QuantityHistogram<Time> histogram = QuantityHistogram.of(Units.SECOND, 0.01, 512);
+    Random random = new Random(42);
+    double[] values = new double[100000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = Math.exp(random.nextGaussian() * 2);
+      histogram.accept(values[i]);
+    }
+    Arrays.sort(values);
+    assertEquals(100000, histogram.getCount());
+    // The lowest buckets are collapsed, the upper quantiles keep their accuracy.
+    assertRelative(values[(int) (0.99 * (values.length - 1))], histogram.getQuantile(0.99), 0.01);
+    assertRelative(values[(int) (0.9 * (values.length - 1))], histogram.getQuantile(0.9), 0.01);
+    assertRelative(values[(int) (0.5 * (values.length - 1))], histogram.getQuantile(0.5), 0.01);
+    assertTrue(histogram.getQuantile(0.01).getValue().doubleValue() > 1.1 * values[(int) (0.01 * (values.length - 1))]);
+  }
+
+  @Test
+  public void testEmpty() {
+    QuantityHistogram<Time> histogram = QuantityHistogram.of(Units.SECOND);
+    assertEquals(0, histogram.getCount());
+    assertNull(histogram.getQuantile(0.5));
+    assertNull(histogram.getMin());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidQuantile() {
+    QuantityHistogram.of(Units.SECOND).getQuantile(1.5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotFinite() {
+    QuantityHistogram.of(Units.SECOND).accept(Double.NaN);
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import static tec.uom.se.unit.MetricPrefix.KILO;
+import static tec.uom.se.unit.Units.METRE;
+
+import java.util.Spliterator;
+import java.util.stream.DoubleStream;
+
+import javax.measure.quantity.Length;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tec.uom.se.quantity.QuantityArray;
+
+public class QuantitySpliteratorTest {
+
+  private static double[] values(int size) {
+    return DoubleStream.iterate(1, d -> d + 1).limit(size).toArray();
+  }
+
+  @Test
+  public void splitEvenlyTest() {
+    QuantitySpliterator<Length> right = QuantitySpliterator.of(values(11), METRE);
+    QuantitySpliterator<Length> left = right.trySplit();
+    Assert.assertEquals(5, left.estimateSize());
+    Assert.assertEquals(6, right.estimateSize());
+    Assert.assertTrue(right.hasCharacteristics(Spliterator.SUBSIZED));
+    double[] first = new double[1];
+    Assert.assertTrue(right.tryAdvance((double d) -> first[0] = d));
+    Assert.assertEquals(6, first[0], 0);
+
+    QuantitySpliterator<Length> single = QuantitySpliterator.of(values(1), METRE);
+    Assert.assertNull(single.trySplit());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void invalidRangeTest() {
+    QuantitySpliterator.of(values(3), 2, 4, METRE);
+  }
+
+  @Test
+  public void sumTest() {
+    double[] values = values(100_000);
+    Assert.assertEquals(5_000_050_000d, QuantitySpliterator.of(values, METRE).sum(true).getValue().doubleValue(), 0);
+    Assert.assertEquals(METRE, QuantitySpliterator.of(values, METRE).sum(false).getUnit());
+  }
+
+  @Test
+  public void minMaxInOtherUnitTest() {
+    QuantitySpliterator<Length> kilometres = QuantitySpliterator.of(values(1000), 10, 20, KILO(METRE));
+    QuantitySpliterator<Length> metres = kilometres.to(METRE);
+    Assert.assertEquals(METRE, metres.getUnit());
+    Assert.assertEquals(20_000d, metres.max(true).get().getValue().doubleValue(), 0);
+    Assert.assertEquals(11_000d, QuantitySpliterator.of(values(1000), 10, 20, KILO(METRE)).to(METRE).min(true).get().getValue().doubleValue(), 0);
+    Assert.assertFalse(QuantitySpliterator.of(new double[0], METRE).min(true).isPresent());
+  }
+
+  @Test
+  public void summaryStatisticsTest() {
+    QuantitySummaryStatistics<Length> statistics = QuantitySpliterator.of(values(1000), KILO(METRE)).to(METRE).summaryStatistics(true);
+    Assert.assertEquals(1000, statistics.getCount());
+    Assert.assertEquals(1_000d, statistics.getMin().getValue().doubleValue(), 0);
+    Assert.assertEquals(1_000_000d, statistics.getMax().getValue().doubleValue(), 0);
+    Assert.assertEquals(500_500_000d, statistics.getSum().getValue().doubleValue(), 1e-6);
+    Assert.assertEquals(METRE, statistics.getSum().getUnit());
+  }
+
+  @Test
+  public void quantityArrayTest() {
+    QuantityArray<Length> array = QuantityArray.of(values(10), KILO(METRE)).subArray(2, 5).to(METRE);
+    Assert.assertArrayEquals(array.toDoubleArray(), array.doubleSpliterator().doubleStream(true).toArray(), 0);
+    Assert.assertEquals(12_000d, array.doubleSpliterator().sum(false).getValue().doubleValue(), 0);
+  }
+}
@@ -29,6 +29,12 @@
  */
 package tec.uom.se.function;
 
+import java.math.BigDecimal;
+import java.util.Collections;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Temperature;
 import javax.measure.quantity.Time;
 
 import org.junit.Assert;
@@ -122,6 +128,91 @@ public class QuantitySummaryStatisticsTest {
     Assert.assertEquals(4L, summary.getAverage().getValue().longValue());
   }
 
+  @Test
+  public void combineDifferentUnitsTest() {
+    QuantitySummaryStatistics<Time> summaryHour = new QuantitySummaryStatistics<>(Units.HOUR);
+    summaryHour.accept(Quantities.getQuantity(12, Units.HOUR));
+    QuantitySummaryStatistics<Time> summary = createSummaryTime().combine(summaryHour);
+
+    Assert.assertEquals(4L, summary.getCount());
+    Assert.assertEquals(0.5, summary.getMin().getValue().doubleValue(), 0);
+    Assert.assertEquals(9L, summary.getMax().getValue().longValue());
+    Assert.assertEquals(12.5, summary.getSum().getValue().doubleValue(), 0);
+    Assert.assertEquals(12.5 / 4, summary.getAverage().getValue().doubleValue(), 0);
+  }
+
+  @Test
+  public void combineEmptyTest() {
+    QuantitySummaryStatistics<Time> empty = new QuantitySummaryStatistics<>(Units.DAY);
+    QuantitySummaryStatistics<Time> summary = empty.combine(createSummaryTime()).combine(new QuantitySummaryStatistics<>(Units.HOUR));
+
+    Assert.assertEquals(3L, summary.getCount());
+    Assert.assertEquals(1L, summary.getMin().getValue().longValue());
+    Assert.assertEquals(9L, summary.getMax().getValue().longValue());
+    Assert.assertEquals(12L, summary.getSum().getValue().longValue());
+  }
+
+  @Test
+  public void parallelStreamTest() {
+    Quantity<Time> minute = Quantities.getQuantity(1, Units.MINUTE);
+    QuantitySummaryStatistics<Time> summary = Collections.nCopies(6000, minute).parallelStream()
+        .collect(QuantityFunctions.summarizeQuantity(Units.HOUR));
+
+    Assert.assertEquals(6000L, summary.getCount());
+    Assert.assertEquals(100, summary.getSum().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(1.0 / 60, summary.getAverage().getValue().doubleValue(), 1e-12);
+  }
+
+  @Test
+  public void convertAffineSummaryTest() {
+    QuantitySummaryStatistics<Temperature> summary = new QuantitySummaryStatistics<>(Units.CELSIUS);
+    summary.accept(Quantities.getQuantity(10, Units.CELSIUS));
+    summary.accept(Quantities.getQuantity(20, Units.CELSIUS));
+    QuantitySummaryStatistics<Temperature> kelvin = summary.to(Units.KELVIN);
+
+    Assert.assertEquals(283.15, kelvin.getMin().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(576.3, kelvin.getSum().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(288.15, kelvin.getAverage().getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void decimalPrecisionTest() {
+    QuantitySummaryStatistics<Length> summary = new QuantitySummaryStatistics<>(Units.METRE);
+    for (int i = 0; i < 10; i++) {
+      summary.accept(Quantities.getQuantity(new BigDecimal("0.1"), Units.METRE));
+    }
+    Number sum = summary.getSum().getValue();
+    Assert.assertTrue(sum instanceof BigDecimal);
+    Assert.assertEquals(0, BigDecimal.ONE.compareTo((BigDecimal) sum));
+  }
+
+  @Test
+  public void primitiveSummaryTest() {
+    QuantitySummaryStatistics<Time> summary = new QuantitySummaryStatistics<>(Units.DAY, Summation.NAIVE);
+    summary.accept(Quantities.getQuantity(9, Units.DAY));
+    summary.accept(Quantities.getQuantity(48, Units.HOUR));
+    summary.accept(1.0);
+    QuantitySummaryStatistics<Time> combined = summary.combine(createSummaryTime());
+
+    Assert.assertEquals(6L, combined.getCount());
+    Assert.assertTrue(combined.getSum().getValue() instanceof Double);
+    Assert.assertEquals(1.0, combined.getMin().getValue().doubleValue(), 0);
+    Assert.assertEquals(9.0, combined.getMax().getValue().doubleValue(), 0);
+    Assert.assertEquals(24.0, combined.getSum().getValue().doubleValue(), 1e-12);
+    Assert.assertEquals(4.0, combined.getAverage().getValue().doubleValue(), 1e-12);
+  }
+
+  @Test
+  public void convertAffinePrimitiveSummaryTest() {
+    QuantitySummaryStatistics<Temperature> summary = new QuantitySummaryStatistics<>(Units.CELSIUS, Summation.NAIVE);
+    summary.accept(10.0);
+    summary.accept(20.0);
+    QuantitySummaryStatistics<Temperature> kelvin = summary.to(Units.KELVIN);
+
+    Assert.assertEquals(576.3, kelvin.getSum().getValue().doubleValue(), 1e-9);
+    Assert.assertEquals(288.15, kelvin.getAverage().getValue().doubleValue(), 1e-9);
+  }
+
   private QuantitySummaryStatistics<Time> createSummaryTime() {
     QuantitySummaryStatistics<Time> summary = new QuantitySummaryStatistics<>(Units.DAY);
 
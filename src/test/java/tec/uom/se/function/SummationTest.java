@@ -0,0 +1,124 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.function;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.measure.Quantity;
+import javax.measure.Unit;
+import javax.measure.quantity.Dimensionless;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Time;
+
+import org.junit.Test;
+
+import tec.uom.se.quantity.Quantities;
+import tec.uom.se.unit.Units;
+
+public class SummationTest {
+
+  /**
+   * A logarithmic unit, 1 B being 10 (one).
+   */
+  private static final Unit<Dimensionless> BEL = Units.ONE.transform(new ExpConverter(10));
+
+  private final List<Quantity<Length>> deltas = Collections.nCopies(1_000_000, Quantities.getQuantity(0.1, Units.METRE));
+
+  @Test
+  public void testNaiveLosesPrecision() {
+    double sum = deltas.stream().collect(QuantityFunctions.summing(Units.METRE, Summation.NAIVE)).getValue().doubleValue();
+    assertTrue(Math.abs(sum - 100000) > 1e-7);
+  }
+
+  @Test
+  public void testCompensated() {
+    Quantity<Length> sum = deltas.stream().collect(QuantityFunctions.summing(Units.METRE, Summation.COMPENSATED));
+    assertEquals(Units.METRE, sum.getUnit());
+    assertEquals(100000, sum.getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void testCompensatedParallel() {
+    Quantity<Length> sum = deltas.parallelStream().collect(QuantityFunctions.summing(Units.METRE, Summation.COMPENSATED));
+    assertEquals(100000, sum.getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void testExact() {
+    Quantity<Length> sum = Collections.nCopies(10, Quantities.getQuantity(new BigDecimal("0.1"), Units.METRE)).parallelStream()
+        .collect(QuantityFunctions.summing(Units.METRE, Summation.EXACT));
+    assertEquals(0, BigDecimal.ONE.compareTo((BigDecimal) sum.getValue()));
+  }
+
+  @Test
+  public void testExactConverted() {
+    Quantity<Time> minute = Quantities.getQuantity(1, Units.MINUTE);
+    QuantitySummaryStatistics<Time> summary = Collections.nCopies(90, minute).stream()
+        .collect(QuantityFunctions.summarizeQuantity(Units.HOUR, Summation.exact(MathContext.DECIMAL64)));
+    assertEquals(90, summary.getCount());
+    assertEquals(0, new BigDecimal("1.5").compareTo((BigDecimal) summary.getSum().getValue()));
+    assertEquals(0, new BigDecimal("1").divide(new BigDecimal(60), MathContext.DECIMAL64).compareTo((BigDecimal) summary.getAverage().getValue()));
+    assertEquals(0, new BigDecimal("90").compareTo((BigDecimal) summary.to(Units.MINUTE).getSum().getValue()));
+  }
+
+  @Test
+  public void testCombineStrategies() {
+    QuantitySummaryStatistics<Length> exact = new QuantitySummaryStatistics<>(Units.METRE, Summation.EXACT);
+    exact.accept(Quantities.getQuantity(new BigDecimal("0.25"), Units.METRE));
+    QuantitySummaryStatistics<Length> compensated = new QuantitySummaryStatistics<>(Units.METRE, Summation.COMPENSATED);
+    compensated.accept(0.5);
+    compensated.combine(exact);
+    assertEquals(0.75, compensated.getSum().getValue().doubleValue(), 0);
+    assertEquals(2, compensated.getCount());
+  }
+
+  @Test
+  public void testExactNonLinear() {
+    List<Quantity<Dimensionless>> levels = Arrays.asList(Quantities.getQuantity(1, BEL), Quantities.getQuantity(2, BEL));
+    for (Summation summation : Arrays.asList(Summation.NAIVE, Summation.COMPENSATED, Summation.EXACT)) {
+      assertEquals(summation.toString(), 110, levels.stream().collect(QuantityFunctions.summing(Units.ONE, summation)).getValue().doubleValue(), 1e-9);
+    }
+    List<Quantity<Dimensionless>> ratios = Arrays.asList(Quantities.getQuantity(10, Units.ONE), Quantities.getQuantity(100, Units.ONE));
+    assertEquals(3, ratios.stream().collect(QuantityFunctions.summing(BEL, Summation.EXACT)).getValue().doubleValue(), 1e-9);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testConvertNonLinearSum() {
+    QuantitySummaryStatistics<Dimensionless> summary = new QuantitySummaryStatistics<>(BEL, Summation.EXACT);
+    summary.accept(2.0);
+    summary.to(Units.ONE);
+  }
+}
@@ -33,6 +33,9 @@ import static org.junit.Assert.*;
 import static tec.uom.se.unit.MetricPrefix.*;
 import static tec.uom.se.unit.Units.*;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
 import javax.measure.Quantity;
 import javax.measure.Unit;
 import javax.measure.UnitConverter;
@@ -40,6 +43,7 @@ import javax.measure.quantity.Length;
 
 import org.junit.Test;
 
+import tec.uom.se.AbstractConverter;
 import tec.uom.se.quantity.Quantities;
 
 public class UnitConverterTest {
@@ -67,4 +71,45 @@ public class UnitConverterTest {
     assertEquals(targetUnit, quantResult1.getUnit());
   }
 
+  @Test
+  public void testDoubleArray() {
+    AbstractConverter converter = (AbstractConverter) sourceUnit.getConverterTo(targetUnit);
+    double[] values = { 4.0, 6.0, -0.5 };
+    double[] result = converter.convert(values, new double[3]);
+    assertArrayEquals(new double[] { 400, 600, -50 }, result, 0);
+    assertSame(values, converter.convert(values));
+    assertArrayEquals(result, values, 0);
+    double[] range = { 1, 2, 3, 4 };
+    converter.convert(range, 1, range, 1, 2);
+    assertArrayEquals(new double[] { 1, 200, 300, 4 }, range, 0);
+  }
+
+  @Test
+  public void testDoubleArrayChain() {
+    AbstractConverter converter = (AbstractConverter) new LogConverter(10).concatenate(CELSIUS.getConverterTo(KELVIN));
+    double[] values = { 726.85, 9726.85 };
+    converter.convert(values);
+    assertEquals(3, values[0], 1e-12);
+    assertEquals(4, values[1], 1e-12);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testDoubleArrayOutOfBounds() {
+    ((AbstractConverter) sourceUnit.getConverterTo(targetUnit)).convert(new double[3], new double[2]);
+  }
+
+  @Test
+  public void testDoubleBuffer() {
+    AbstractConverter converter = (AbstractConverter) sourceUnit.getConverterTo(targetUnit);
+    DoubleBuffer heap = DoubleBuffer.wrap(new double[] { 1, 2, 3, 4 });
+    heap.position(1).limit(3);
+    converter.convert(heap, heap);
+    assertEquals(3, heap.position());
+    assertArrayEquals(new double[] { 1, 200, 300, 4 }, heap.array(), 0);
+    DoubleBuffer direct = ByteBuffer.allocateDirect(16).asDoubleBuffer();
+    converter.convert(DoubleBuffer.wrap(new double[] { 5, 7 }), direct);
+    assertEquals(500, direct.get(0), 0);
+    assertEquals(700, direct.get(1), 0);
+  }
+
 }
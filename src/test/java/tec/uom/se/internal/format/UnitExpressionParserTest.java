@@ -0,0 +1,142 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.internal.format;
+
+import static org.junit.Assert.*;
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import java.text.ParsePosition;
+import java.util.Random;
+import java.util.ResourceBundle;
+
+import javax.measure.Unit;
+
+import org.junit.Test;
+
+import tec.uom.se.format.SymbolMap;
+
+/**
+ * Differential tests of {@link UnitExpressionParser} against the JavaCC generated {@link UnitFormatParser}.
+ */
+@SuppressWarnings("deprecation")
+public class UnitExpressionParserTest {
+  private final SymbolMap symbols = SymbolMap.of(ResourceBundle.getBundle("tec.uom.se.internal.format.messages"));
+  private final UnitExpressionParser parser = new UnitExpressionParser(symbols);
+  private final UnitFormatParser reference = new UnitFormatParser(symbols);
+
+  private static final String[] EXPRESSIONS = { "m", "km", "kg", "m/s", "m/s²", "m·s⁻¹", "m*kg/s^2", "kg·m/s²", "m^-1", "m^+2", "m^(1/2)",
+      "m^(-3/2)", "m^(2/-1)", "(m/s)^2", "m³", "m²⁰", "dam", "cm", "mm", "µm", "°C", "K+273.15", "273.15+K", "2-K", "K-1", "2*m", "0.5*m", "1e3*m",
+      ".5*m", "1.5e-3*m", "2E2*s", "10^m", "2^m", "e^m", "log(m)", "log2(m)", "log10(m)", "ln(m)", "ln(m/s)", "m:", "m::", "(m)", "((m))", "3",
+      "1/s", "Hz", "kHz", "min", "h", "d", "N·m", "J/(kg·K)", "m·m·m/s/s", "", ":", "m/", "/m", "m^", "m^x", "m^(1", "m^(1/", "m^(1/2", "(m",
+      "m)", "x", "kx", "log", "log(m", "ln m", "m s", "1.", ".", "1..2", "m..", "2^", "e", "e^", "m^99999999999", "99999999999999999999*m",
+      "log99999999999(m)", "m¹²", "m⁰", "m^0", "m^(0/1)", "+m", "-m", "m+", "m-", "2+", "2+m+3", "2-m-3", "2+3", "·m", "m··m", "m**m" };
+
+  private static final String[] FRAGMENTS = { "m", "s", "kg", "km", "K", "°C", "Hz", "h", "x", "dam", "2", "10", "0.5", "1e3", ".5", "1.", "e",
+      "E", "log", "ln", "l", "(", ")", "*", "·", "/", "^", "+", "-", ":", "²", "³", "⁴", "⁰", " ", ".", "µ" };
+
+  @Test
+  public void testExpressions() {
+    for (String expression : EXPRESSIONS) {
+      assertSameResult(expression);
+    }
+  }
+
+  @Test
+  public void testRandomExpressions() {
+    Random random = new Random(363);
+    StringBuilder expression = new StringBuilder();
+    for (int n = 0; n < 20000; n++) {
+      expression.setLength(0);
+      for (int i = random.nextInt(7); i >= 0; i--) {
+        expression.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+      }
+      assertSameResult(expression.toString());
+    }
+  }
+
+  @Test
+  public void testUnits() {
+    assertEquals(KILO(METRE), parse("km"));
+    assertEquals(METRE.divide(SECOND.pow(2)), parse("m/s²"));
+    assertEquals(METRE.pow(-1), parse("m^-1"));
+    assertEquals(METRE.pow(3).root(2), parse("m^(3/2)"));
+    assertEquals(KELVIN.shift(273.15), parse("K+273.15"));
+  }
+
+  @Test
+  public void testParsePosition() {
+    ParsePosition cursor = new ParsePosition(2);
+    assertEquals(METRE.divide(SECOND), parser.parse("  m/s", cursor));
+    assertEquals(5, cursor.getIndex());
+    assertEquals(-1, cursor.getErrorIndex());
+    cursor = new ParsePosition(0);
+    assertEquals(KILO(GRAM), parser.parse("kg)", 2, cursor));
+    assertEquals(2, cursor.getIndex());
+  }
+
+  @Test
+  public void testErrorIndex() {
+    assertErrorIndex(2, "m/");
+    assertErrorIndex(1, "m s");
+    assertErrorIndex(4, "m^(1");
+    assertErrorIndex(3, "kg*)");
+    assertErrorIndex(0, "xyz");
+  }
+
+  private Unit<?> parse(String expression) {
+    return parser.parse(expression, new ParsePosition(0));
+  }
+
+  private void assertErrorIndex(int index, String expression) {
+    ParsePosition cursor = new ParsePosition(0);
+    assertNull(parser.parse(expression, cursor));
+    assertEquals(expression, index, cursor.getErrorIndex());
+    assertEquals(0, cursor.getIndex());
+  }
+
+  private void assertSameResult(String expression) {
+    Object expected;
+    try {
+      expected = reference.parseUnit(expression, 0, expression.length());
+    } catch (TokenException | TokenMgrError | NumberFormatException e) {
+      expected = null;
+    } catch (RuntimeException e) {
+      expected = e.getClass();
+    }
+    Object actual;
+    try {
+      actual = parser.parse(expression, new ParsePosition(0));
+    } catch (RuntimeException e) {
+      actual = e.getClass();
+    }
+    assertEquals(expression, expected, actual);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import java.math.BigDecimal;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Time;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tec.uom.se.unit.Units;
+
+public class IntegerQuantityTest {
+
+  @Test
+  public void getQuantityTest() {
+    Quantity<Length> m = Quantities.getQuantity(5, Units.METRE);
+    Assert.assertTrue(IntegerQuantity.class.isInstance(m));
+    Assert.assertEquals(Integer.valueOf(5), m.getValue());
+    Assert.assertTrue(NumberQuantity.class.isInstance(Quantities.getQuantity(Integer.valueOf(5), Units.METRE)));
+  }
+
+  @Test
+  public void addTest() {
+    Quantity<Length> m = Quantities.getQuantity(5, Units.METRE);
+    Assert.assertEquals(Integer.valueOf(12), m.add(Quantities.getQuantity(7, Units.METRE)).getValue());
+    Assert.assertEquals(Integer.valueOf(-2), m.subtract(Quantities.getQuantity(7, Units.METRE)).getValue());
+    Assert.assertEquals(Long.valueOf(12), m.add(Quantities.getQuantity(7L, Units.METRE)).getValue());
+  }
+
+  @Test
+  public void addOverflowTest() {
+    Quantity<Length> sum = Quantities.getQuantity(2_000_000_000, Units.METRE).add(Quantities.getQuantity(2_000_000_000, Units.METRE));
+    Assert.assertEquals(Long.valueOf(4_000_000_000L), sum.getValue());
+    Quantity<Length> difference = Quantities.getQuantity(Integer.MIN_VALUE, Units.METRE).subtract(Quantities.getQuantity(1, Units.METRE));
+    Assert.assertEquals(Long.valueOf(Integer.MIN_VALUE - 1L), difference.getValue());
+  }
+
+  @Test
+  public void multiplyOverflowTest() {
+    Assert.assertEquals(Long.valueOf(1L << 32), Quantities.getQuantity(1 << 16, Units.METRE).multiply(1 << 16).getValue());
+    Assert.assertEquals(Integer.valueOf(1 << 30), Quantities.getQuantity(1 << 15, Units.METRE).multiply(1 << 15).getValue());
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void longOverflowTest() {
+    Quantities.getQuantity(Integer.MAX_VALUE, Units.METRE).multiply(Integer.MAX_VALUE).multiply(Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void multiplyDivideTest() {
+    Quantity<Length> m = Quantities.getQuantity(6, Units.METRE);
+    Assert.assertEquals(Integer.valueOf(18), m.multiply(3).getValue());
+    Assert.assertEquals(Integer.valueOf(2), m.divide(3).getValue());
+    Assert.assertEquals(1.5, m.divide(4).getValue().doubleValue(), 0);
+    Assert.assertEquals(Long.valueOf(12_000_000_000L), m.multiply(2_000_000_000L).getValue());
+  }
+
+  @Test
+  public void addQuantityTest() {
+    Quantity<Time> day = Quantities.getQuantity(1, Units.DAY);
+    Quantity<Time> result = day.add(Quantities.getQuantity(12, Units.HOUR));
+    Assert.assertEquals(BigDecimal.valueOf(1.5), result.getValue());
+    Assert.assertEquals(Units.DAY, result.getUnit());
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import java.math.BigDecimal;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Area;
+import javax.measure.quantity.Length;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tec.uom.se.unit.MetricPrefix;
+import tec.uom.se.unit.Units;
+
+public class LongQuantityTest {
+
+  @Test
+  public void getQuantityTest() {
+    Quantity<Length> m = Quantities.getQuantity(5L, Units.METRE);
+    Assert.assertTrue(LongQuantity.class.isInstance(m));
+    Assert.assertEquals(Long.valueOf(5), m.getValue());
+  }
+
+  @Test
+  public void addExactTest() {
+    Quantity<Length> m = Quantities.getQuantity(9_007_199_254_740_993L, Units.METRE); // 2^53 + 1
+    Quantity<Length> result = m.add(Quantities.getQuantity(2, Units.METRE)).subtract(Quantities.getQuantity(1L, Units.METRE));
+    Assert.assertEquals(Long.valueOf(9_007_199_254_740_994L), result.getValue());
+    Assert.assertEquals(Units.METRE, result.getUnit());
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void addOverflowTest() {
+    Quantities.getQuantity(Long.MAX_VALUE, Units.METRE).add(Quantities.getQuantity(1L, Units.METRE));
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void multiplyOverflowTest() {
+    Quantities.getQuantity(Long.MAX_VALUE / 2 + 1, Units.METRE).multiply(2);
+  }
+
+  @Test
+  public void multiplyTest() {
+    Quantity<Length> m = Quantities.getQuantity(6L, Units.METRE);
+    Assert.assertEquals(Long.valueOf(18), m.multiply(3).getValue());
+    Quantity<Area> area = m.multiply(Quantities.getQuantity(2L, Units.METRE)).asType(Area.class);
+    Assert.assertEquals(Long.valueOf(12), area.getValue());
+    Assert.assertEquals(Units.SQUARE_METRE, area.getUnit());
+    Assert.assertEquals(0, BigDecimal.valueOf(1.5).compareTo((BigDecimal) m.multiply(0.25).getValue()));
+  }
+
+  @Test
+  public void divideTest() {
+    Quantity<Length> m = Quantities.getQuantity(12L, Units.METRE);
+    Assert.assertEquals(Long.valueOf(4), m.divide(3L).getValue());
+    Assert.assertEquals(2.4, m.divide(5L).getValue().doubleValue(), 0);
+    Assert.assertEquals(-Long.MAX_VALUE, Quantities.getQuantity(Long.MAX_VALUE, Units.METRE).divide(-1).getValue().longValue());
+  }
+
+  @Test
+  public void otherUnitTest() {
+    Quantity<Length> km = Quantities.getQuantity(2L, MetricPrefix.KILO(Units.METRE));
+    Quantity<Length> result = km.add(Quantities.getQuantity(500L, Units.METRE));
+    Assert.assertEquals(2.5, result.getValue().doubleValue(), 0);
+    Assert.assertEquals(MetricPrefix.KILO(Units.METRE), result.getUnit());
+    Assert.assertEquals(2000, Quantities.getQuantity(2L, MetricPrefix.KILO(Units.METRE)).to(Units.METRE).getValue().doubleValue(), 0);
+  }
+
+  @Test
+  public void inverseTest() {
+    Assert.assertEquals(0.25, Quantities.getQuantity(4L, Units.SECOND).inverse().getValue().doubleValue(), 0);
+    Assert.assertEquals(Long.valueOf(1), Quantities.getQuantity(1L, Units.SECOND).inverse().getValue());
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import static org.junit.Assert.*;
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import java.math.BigDecimal;
+
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Temperature;
+
+import org.junit.Test;
+
+import tec.uom.se.ComparableQuantity;
+
+public class MutableDoubleQuantityTest {
+
+  @Test
+  public void testAddAssign() {
+    MutableDoubleQuantity<Length> position = MutableDoubleQuantity.of(1, METRE);
+    assertSame(position, position.addAssign(Quantities.getQuantity(2, METRE)));
+    position.addAssign(Quantities.getQuantity(1.5, KILO(METRE))).addAssign(Quantities.getQuantity(BigDecimal.valueOf(0.5), KILO(METRE)));
+    position.addAssign(0.5);
+    assertEquals(2003.5, position.doubleValue(), 0);
+    assertEquals(METRE, position.getUnit());
+  }
+
+  @Test
+  public void testSubtractAssignAndScale() {
+    MutableDoubleQuantity<Length> length = MutableDoubleQuantity.of(Quantities.getQuantity(3, KILO(METRE)));
+    length.subtractAssign(Quantities.getQuantity(500, METRE)).subtractAssign(0.5).scale(4);
+    assertEquals(8, length.doubleValue(), 1e-12);
+  }
+
+  @Test
+  public void testConvertInPlace() {
+    MutableDoubleQuantity<Length> length = MutableDoubleQuantity.of(2, KILO(METRE));
+    length.addAssign(Quantities.getQuantity(500, METRE)); // Caches the converter from metres.
+    assertSame(length, length.convertInPlace(METRE));
+    assertEquals(METRE, length.getUnit());
+    assertEquals(2500, length.doubleValue(), 0);
+    length.addAssign(Quantities.getQuantity(500, METRE));
+    assertEquals(3000, length.doubleValue(), 0);
+    MutableDoubleQuantity<Temperature> temperature = MutableDoubleQuantity.of(0, CELSIUS).convertInPlace(KELVIN);
+    assertEquals(273.15, temperature.doubleValue(), 1e-12);
+  }
+
+  @Test
+  public void testFreeze() {
+    MutableDoubleQuantity<Length> length = MutableDoubleQuantity.of(2, METRE);
+    ComparableQuantity<Length> frozen = length.freeze();
+    length.addAssign(1);
+    assertEquals(Quantities.getQuantity(2d, METRE), frozen);
+    assertEquals(Quantities.getQuantity(3d, METRE), length.freeze());
+    assertEquals(Quantities.getQuantity(6d, METRE), length.add(Quantities.getQuantity(3, METRE)));
+    assertEquals(3, length.doubleValue(), 0);
+    assertEquals("3.0 m", length.toString());
+  }
+
+  @Test
+  public void testSetFromOtherMutable() {
+    MutableDoubleQuantity<Length> source = MutableDoubleQuantity.of(1.5, KILO(METRE));
+    MutableDoubleQuantity<Length> target = MutableDoubleQuantity.of(0, METRE).set(source);
+    assertEquals(1500, target.doubleValue(), 0);
+    assertEquals(7, target.set(7).doubleValue(), 0);
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import static org.junit.Assert.*;
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import java.lang.reflect.Proxy;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Mass;
+
+import org.junit.Test;
+
+import tec.uom.se.internal.quantity.OldProxyQuantityFactory;
+
+@SuppressWarnings("deprecation")
+public class ProxyQuantityFactoryTest {
+
+  @Test
+  public void testCreatesPrebuiltClass() {
+    Quantity<Mass> mass = ProxyQuantityFactory.getInstance(Mass.class).create(23.0, KILOGRAM);
+    assertTrue(mass instanceof Mass);
+    assertFalse(Proxy.isProxyClass(mass.getClass()));
+    assertEquals(23.0, mass.getValue());
+    assertEquals(KILOGRAM, mass.getUnit());
+    assertEquals(KILOGRAM, ProxyQuantityFactory.getInstance(Mass.class).getSystemUnit());
+    assertEquals(23000.0, mass.to(GRAM).getValue().doubleValue(), 1e-9);
+  }
+
+  @Test
+  public void testOldFactoryTypedAndProxy() {
+    Length length = OldProxyQuantityFactory.getInstance(Length.class).create(2, KILO(METRE));
+    assertFalse(Proxy.isProxyClass(length.getClass()));
+    assertEquals(2500, length.add(Quantities.getQuantity(500, METRE)).to(METRE).getValue().doubleValue(), 1e-9);
+
+    Length proxy = OldProxyQuantityFactory.getProxyInstance(Length.class).create(2, KILO(METRE));
+    assertTrue(Proxy.isProxyClass(proxy.getClass()));
+    assertEquals(length.getValue(), proxy.getValue());
+    assertEquals(length.getUnit(), proxy.getUnit());
+  }
+}
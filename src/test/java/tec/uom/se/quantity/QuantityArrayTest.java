@@ -0,0 +1,112 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import static org.junit.Assert.*;
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import java.util.Arrays;
+
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Time;
+
+import org.junit.Test;
+
+public class QuantityArrayTest {
+  private final QuantityArray<Length> lengths = QuantityArray.of(new double[] { 1.5, 2.5, 4 }, KILO(METRE));
+
+  @Test
+  public void testOf() {
+    assertEquals(3, lengths.size());
+    assertEquals(KILO(METRE), lengths.getUnit());
+    assertEquals(Quantities.getQuantity(2.5, KILO(METRE)), lengths.get(1));
+    QuantityArray<Length> fromList = QuantityArray.of(Arrays.asList(Quantities.getQuantity(1, METRE), Quantities.getQuantity(2, CENTI(METRE))),
+        CENTI(METRE));
+    assertArrayEquals(new double[] { 100, 2 }, fromList.toDoubleArray(), 0);
+  }
+
+  @Test
+  public void testTo() {
+    QuantityArray<Length> metres = lengths.to(METRE);
+    assertEquals(METRE, metres.getUnit());
+    assertArrayEquals(new double[] { 1500, 2500, 4000 }, metres.toDoubleArray(), 0);
+    assertArrayEquals(new double[] { 1.5, 2.5, 4 }, metres.to(KILO(METRE)).toDoubleArray(), 0);
+    assertSame(lengths, lengths.to(KILO(METRE)));
+  }
+
+  @Test
+  public void testSubArray() {
+    QuantityArray<Length> slice = lengths.to(METRE).subArray(1, 3);
+    assertEquals(2, slice.size());
+    assertEquals(2500, slice.doubleValue(0), 0);
+    assertEquals(4000, slice.doubleStream().max().getAsDouble(), 0);
+    assertTrue(lengths.subArray(1, 1).isEmpty());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testSubArrayOutOfBounds() {
+    lengths.subArray(2, 4);
+  }
+
+  @Test
+  public void testAddSubtract() {
+    QuantityArray<Length> metres = QuantityArray.of(new double[] { 500, 500, 1000 }, METRE);
+    assertArrayEquals(new double[] { 2, 3, 5 }, lengths.add(metres).toDoubleArray(), 1e-12);
+    assertArrayEquals(new double[] { 1, 2, 3 }, lengths.subtract(metres).toDoubleArray(), 1e-12);
+    assertEquals(KILO(METRE), lengths.add(metres).getUnit());
+  }
+
+  @Test
+  public void testMultiplyDivide() {
+    QuantityArray<Time> times = QuantityArray.of(new double[] { 0.5, 1, 2 }, HOUR);
+    QuantityArray<?> speeds = lengths.divide(times);
+    assertEquals(KILO(METRE).divide(HOUR), speeds.getUnit());
+    assertArrayEquals(new double[] { 3, 2.5, 2 }, speeds.toDoubleArray(), 0);
+    assertEquals(KILO(METRE).multiply(HOUR), lengths.multiply(times).getUnit());
+    assertArrayEquals(new double[] { 3, 5, 8 }, lengths.multiply(2).toDoubleArray(), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSizeMismatch() {
+    lengths.add(lengths.subArray(0, 2));
+  }
+
+  @Test
+  public void testIterator() {
+    double sum = 0;
+    for (Quantity<Length> q : lengths.to(METRE)) {
+      assertEquals(METRE, q.getUnit());
+      sum += q.getValue().doubleValue();
+    }
+    assertEquals(8000, sum, 0);
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.quantity;
+
+import static org.junit.Assert.*;
+import static tec.uom.se.quantity.QuantityDimension.*;
+import static tec.uom.se.unit.Units.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Constructor;
+import java.util.Map;
+
+import javax.measure.Dimension;
+
+import org.junit.Test;
+
+public class QuantityDimensionTest {
+
+  @Test
+  public void testArithmetic() {
+    Dimension speed = LENGTH.divide(TIME);
+    assertEquals(METRES_PER_SECOND.getDimension(), speed);
+    assertEquals(NEWTON.getDimension(), MASS.multiply(speed).divide(TIME));
+    assertEquals(NONE, LENGTH.divide(LENGTH));
+    assertEquals(NONE, LENGTH.pow(0));
+    assertEquals(LENGTH.pow(2), LENGTH.multiply(LENGTH));
+    assertEquals(LENGTH, LENGTH.pow(2).root(2));
+    assertEquals(LENGTH.pow(2).hashCode(), LENGTH.multiply(LENGTH).hashCode());
+  }
+
+  @Test
+  public void testRationalExponents() {
+    QuantityDimension sqrtLength = ((QuantityDimension) LENGTH).root(2);
+    assertEquals(2, sqrtLength.getRoot());
+    assertEquals(1, sqrtLength.getExponent(LENGTH));
+    assertEquals(LENGTH, sqrtLength.multiply(sqrtLength));
+    assertEquals(LENGTH.pow(3).root(2), sqrtLength.pow(3));
+    assertNotEquals(LENGTH, sqrtLength);
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void testRootOfZero() {
+    LENGTH.root(0);
+  }
+
+  @Test
+  public void testGetInstance() {
+    assertSame(LENGTH, QuantityDimension.getInstance('L'));
+    assertSame(TEMPERATURE, QuantityDimension.getInstance('\u0398'));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetInstanceUnknownSymbol() {
+    QuantityDimension.getInstance('X');
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void testExponentOverflow() {
+    LENGTH.pow(200);
+  }
+
+  @Test
+  public void testBaseDimensions() {
+    assertNull(LENGTH.getBaseDimensions());
+    assertTrue(NONE.getBaseDimensions().isEmpty());
+    Map<? extends Dimension, Integer> dims = LENGTH.multiply(MASS).divide(TIME.pow(2)).getBaseDimensions();
+    assertEquals(3, dims.size());
+    assertEquals(Integer.valueOf(1), dims.get(LENGTH));
+    assertEquals(Integer.valueOf(1), dims.get(MASS));
+    assertEquals(Integer.valueOf(-2), dims.get(TIME));
+  }
+
+  @Test
+  public void testToString() {
+    assertEquals("[L]", LENGTH.toString());
+    assertEquals("", NONE.toString());
+    assertEquals("[L]/[T]", LENGTH.divide(TIME).toString());
+    assertEquals("[L]²·[M]/[T]²", MASS.multiply(LENGTH.pow(2)).divide(TIME.pow(2)).toString());
+    assertEquals("1/([M]·[T])", MASS.multiply(TIME).pow(-1).toString());
+    assertEquals("[L]^1:2", LENGTH.root(2).toString());
+  }
+
+  @Test
+  public void testSerialization() throws Exception {
+    assertSame(LENGTH, roundTrip(LENGTH));
+    assertSame(NONE, roundTrip(NONE));
+    Dimension acceleration = LENGTH.divide(TIME.pow(2)).root(2);
+    assertEquals(acceleration, roundTrip(acceleration));
+  }
+
+  @Test(expected = InvalidObjectException.class)
+  public void testDeserializeInvalidRoot() throws Exception {
+    Constructor<QuantityDimension> constructor = QuantityDimension.class.getDeclaredConstructor(long.class, int.class);
+    constructor.setAccessible(true);
+    roundTrip(constructor.newInstance(1L, 0));
+  }
+
+  private static Object roundTrip(Object object) throws IOException, ClassNotFoundException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(object);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      return in.readObject();
+    }
+  }
+}
@@ -30,15 +30,25 @@
 package tec.uom.se.quantity;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static tec.uom.se.unit.Units.KILOGRAM;
 import static tec.uom.se.unit.Units.METRE;
 import static tec.uom.se.unit.Units.MINUTE;
+import static tec.uom.se.unit.Units.PASCAL;
 import static tec.uom.se.unit.Units.SECOND;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import javax.measure.Quantity;
 import javax.measure.quantity.Length;
 import javax.measure.quantity.Mass;
+import javax.measure.quantity.Pressure;
 import javax.measure.quantity.Time;
+import javax.measure.spi.QuantityFactory;
 import javax.measure.spi.ServiceProvider;
 
 import org.junit.BeforeClass;
@@ -90,4 +100,22 @@ public class QuantityFactoryProviderTest {
     // https://github.com/unitsofmeasurement/uom-se/issues/54
     assertEquals("40 min", t.toString());
   }
+
+  @Test
+  public void testConcurrentFirstUse() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<QuantityFactory<Pressure>>> factories = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        factories.add(executor.submit(() -> DefaultQuantityFactory.getInstance(Pressure.class)));
+      }
+      QuantityFactory<Pressure> first = factories.get(0).get();
+      for (Future<QuantityFactory<Pressure>> factory : factories) {
+        assertSame(first, factory.get());
+      }
+      assertEquals(PASCAL, first.getSystemUnit());
+    } finally {
+      executor.shutdown();
+    }
+  }
 }
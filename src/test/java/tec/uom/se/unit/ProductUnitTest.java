@@ -0,0 +1,77 @@
+/*
+ * Units of Measurement Implementation for Java SE
+ * Copyright (c) 2005-2016, Jean-Marie Dautelle, Werner Keil, V2COM.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions
+ *    and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of JSR-363 nor the names of its contributors may be used to endorse or promote products
+ *    derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package tec.uom.se.unit;
+
+import static org.junit.Assert.*;
+import static tec.uom.se.unit.MetricPrefix.*;
+import static tec.uom.se.unit.Units.*;
+
+import javax.measure.Unit;
+
+import org.junit.Test;
+
+public class ProductUnitTest {
+
+  @Test
+  public void testInterned() {
+    assertSame(METRE.divide(SECOND), METRE.divide(SECOND));
+    assertSame(KILO(METRE).multiply(HOUR), ProductUnit.getProductInstance(KILO(METRE), HOUR));
+    assertSame(METRE.pow(2).root(2), METRE);
+    assertSame(METRE.multiply(METRE), METRE.pow(2));
+  }
+
+  @Test
+  public void testEqualsIgnoresOrder() {
+    Unit<?> ms = METRE.multiply(SECOND);
+    Unit<?> sm = SECOND.multiply(METRE);
+    assertEquals(ms, sm);
+    assertEquals(ms.hashCode(), sm.hashCode());
+    assertEquals("m·s", ms.toString());
+    assertEquals("s·m", sm.toString());
+  }
+
+  @Test
+  public void testParameterizedCopy() {
+    Unit<?> copy = new ProductUnit<>(METRE.divide(SECOND));
+    assertEquals(METRES_PER_SECOND, copy);
+    assertEquals(METRE.divide(SECOND).hashCode(), copy.hashCode());
+  }
+
+  @Test
+  public void testSystemUnitAndConverterCached() {
+    Unit<?> kmh = KILO(METRE).divide(HOUR);
+    assertSame(kmh.getSystemUnit(), kmh.getSystemUnit());
+    assertSame(((ProductUnit<?>) kmh).getSystemConverter(), ((ProductUnit<?>) kmh).getSystemConverter());
+    assertSame(kmh.getDimension(), kmh.getDimension());
+    TransformedUnit<?> km = (TransformedUnit<?>) KILO(METRE);
+    assertSame(km.getSystemConverter(), km.getSystemConverter());
+    assertEquals(METRES_PER_SECOND, kmh.getSystemUnit());
+  }
+}